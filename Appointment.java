@@ -1,44 +1,123 @@
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-public class Appointment implements Serializable 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+
+public class Appointment implements Serializable
 {
+    // Pinned to the value of the original class shape so existing appointments.ser files keep loading
+    private static final long serialVersionUID = -4150109960554307207L;
+
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("d-M-yyyy");
+    public static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("H:mm");
+    private static final DateTimeFormatter TIME_DISPLAY_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    // Schema 0 = original free-form strings, 1 = canonical strings written from the typed fields
+    private static final int SCHEMA_VERSION = 1;
+
+    // Earliest first, by date then time; records with unparseable legacy dates sort last
+    private static final Comparator<When> WHEN_ORDER =
+        Comparator.comparing((When w) -> w.date, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(w -> w.time, Comparator.nullsLast(Comparator.naturalOrder()));
+    public static final Comparator<Appointment> CHRONOLOGICAL = (a, b) -> WHEN_ORDER.compare(a.when, b.when);
+
+    // The on-disk form keeps the original String fields, so old files still deserialize
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("appointmentId", String.class),
+        new ObjectStreamField("patientName", String.class),
+        new ObjectStreamField("doctorName", String.class),
+        new ObjectStreamField("itemName", String.class),
+        new ObjectStreamField("itemPrice", double.class),
+        new ObjectStreamField("date", String.class),
+        new ObjectStreamField("time", String.class),
+        new ObjectStreamField("status", String.class),
+        new ObjectStreamField("schemaVersion", int.class)
+    };
+
     private String appointmentId;
-    private String patientName; 
-    private String doctorName;  
+    private String patientName;
+    private String doctorName;
     private String itemName;    // Service or Package Name
     private double itemPrice;   // Final price of the Service or Package
-    private String date;        // Format: YYYY-MM-DD
-    private String time;        // Format: HH:MM
-    private String status;      // e.g., "BOOKED", "COMPLETED", "CANCELLED"
-    
-    public Appointment(String appointmentId, String patientName, String doctorName, String itemName, double itemPrice, String date, String time) 
+    // Date and time are swapped as one immutable value, and status is volatile: the manager changes
+    // them under a doctor lock while the EDT and other threads read the same object without it,
+    // and a reader must never see a rescheduled date paired with the old time
+    private volatile When when = When.UNSET;
+    private volatile AppointmentStatus status;
+    private transient boolean legacyRecord;
+
+    private static final class When
+    {
+        private static final When UNSET = new When(null, null, null, null);
+
+        private final LocalDate date;
+        private final LocalTime time;
+        // Original text kept only when a legacy record's date/time could not be parsed
+        private final String rawDate;
+        private final String rawTime;
+
+        private When(LocalDate date, LocalTime time, String rawDate, String rawTime)
+        {
+            this.date = date;
+            this.time = time;
+            this.rawDate = rawDate;
+            this.rawTime = rawTime;
+        }
+
+        private static When parse(String date, String time)
+        {
+            LocalDate parsedDate = parseDate(date);
+            LocalTime parsedTime = parseTime(time);
+            return new When(parsedDate, parsedTime, parsedDate == null ? date : null, parsedTime == null ? time : null);
+        }
+    }
+
+    public Appointment(String appointmentId, String patientName, String doctorName, String itemName, double itemPrice, String date, String time)
     {
         this.appointmentId = appointmentId;
         this.patientName = patientName;
         this.doctorName = doctorName;
         this.itemName = itemName;
         this.itemPrice = itemPrice;
-        this.date = date;
-        this.time = time;
-        this.status = "BOOKED"; 
+        this.when = When.parse(date, time);
+        this.status = AppointmentStatus.BOOKED;
+    }
+
+    public Appointment(String appointmentId, String patientName, String doctorName, String itemName, double itemPrice, LocalDate date, LocalTime time)
+    {
+        this.appointmentId = appointmentId;
+        this.patientName = patientName;
+        this.doctorName = doctorName;
+        this.itemName = itemName;
+        this.itemPrice = itemPrice;
+        this.when = new When(date, time, null, null);
+        this.status = AppointmentStatus.BOOKED;
     }
 
     // Getters
-    public String getAppointmentId() 
+    public String getAppointmentId()
     {
         return appointmentId;
     }
-    
-    public String getPatientName() 
+
+    public String getPatientName()
     {
         return patientName;
     }
 
-    public String getDoctorName() 
+    public String getDoctorName()
     {
         return doctorName;
     }
 
-    public String getItemName() 
+    public String getItemName()
     {
         return itemName;
     }
@@ -53,48 +132,180 @@ public class Appointment implements Serializable
         return itemPrice;
     }
 
-    public String getDate() 
+    // String views kept for the Swing tables ("d-M-yyyy" and "HH:mm")
+    public String getDate()
+    {
+        When w = when;
+        return w.date != null ? w.date.format(DATE_FORMAT) : w.rawDate;
+    }
+
+    public String getTime()
     {
-        return date;
+        When w = when;
+        return w.time != null ? w.time.format(TIME_DISPLAY_FORMAT) : w.rawTime;
     }
 
-    public String getTime() 
+    public String getStatus()
     {
-        return time;
+        return status.name();
     }
 
-    public String getStatus() 
+    public LocalDate getLocalDate()
+    {
+        return when.date;
+    }
+
+    public LocalTime getLocalTime()
+    {
+        return when.time;
+    }
+
+    // Minute of day of the start time, or -1 when the time is unknown
+    public int getMinuteOfDay()
+    {
+        LocalTime time = when.time;
+        return time != null ? time.getHour() * 60 + time.getMinute() : -1;
+    }
+
+    public AppointmentStatus getAppointmentStatus()
     {
         return status;
     }
 
-    // Setters 
-    public void setStatus(String status) 
+    // True when this record was read from a pre-typed appointments.ser and still needs rewriting
+    public boolean isLegacyRecord()
+    {
+        return legacyRecord;
+    }
+
+    // Setters
+    public void setStatus(String status)
+    {
+        this.status = AppointmentStatus.fromString(status);
+    }
+
+    public void setStatus(AppointmentStatus status)
     {
         this.status = status;
     }
-    
-    public void setDate(String date) 
+
+    public void setDate(String date)
+    {
+        When w = when;
+        LocalDate parsed = parseDate(date);
+        when = new When(parsed, w.time, parsed == null ? date : null, w.rawTime);
+    }
+
+    public void setDate(LocalDate date)
+    {
+        When w = when;
+        when = new When(date, w.time, null, w.rawTime);
+    }
+
+    public void setTime(String time)
+    {
+        When w = when;
+        LocalTime parsed = parseTime(time);
+        when = new When(w.date, parsed, w.rawDate, parsed == null ? time : null);
+    }
+
+    public void setTime(LocalTime time)
+    {
+        When w = when;
+        when = new When(w.date, time, w.rawDate, null);
+    }
+
+    // Moves the appointment in one step; use this rather than setDate then setTime on a shared instance
+    public void reschedule(String date, String time)
+    {
+        when = When.parse(date, time);
+    }
+
+    // Accepts the booking format (d-M-yyyy) and ISO dates; null when neither fits
+    private static LocalDate parseDate(String text)
+    {
+        if (text == null) return null;
+        try
+        {
+            return LocalDate.parse(text.trim(), DATE_FORMAT);
+        }
+        catch (DateTimeParseException e)
+        {
+            try
+            {
+                return LocalDate.parse(text.trim());
+            }
+            catch (DateTimeParseException ignored)
+            {
+                return null;
+            }
+        }
+    }
+
+    private static LocalTime parseTime(String text)
+    {
+        if (text == null) return null;
+        try
+        {
+            return LocalTime.parse(text.trim(), TIME_FORMAT);
+        }
+        catch (DateTimeParseException e)
+        {
+            return null;
+        }
+    }
+
+    // --- Serialization (string form on disk, typed fields in memory) ---
+
+    private void writeObject(ObjectOutputStream out) throws IOException
     {
-        this.date = date;
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("appointmentId", appointmentId);
+        fields.put("patientName", patientName);
+        fields.put("doctorName", doctorName);
+        fields.put("itemName", itemName);
+        fields.put("itemPrice", itemPrice);
+        fields.put("date", getDate());
+        fields.put("time", getTime());
+        fields.put("status", status.name());
+        fields.put("schemaVersion", SCHEMA_VERSION);
+        out.writeFields();
     }
 
-    public void setTime(String time) 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
     {
-        this.time = time;
+        ObjectInputStream.GetField fields = in.readFields();
+        appointmentId = (String) fields.get("appointmentId", null);
+        patientName = (String) fields.get("patientName", null);
+        doctorName = (String) fields.get("doctorName", null);
+        itemName = (String) fields.get("itemName", null);
+        itemPrice = fields.get("itemPrice", 0.0);
+        when = When.parse((String) fields.get("date", null), (String) fields.get("time", null));
+
+        String statusText = (String) fields.get("status", null);
+        try
+        {
+            status = AppointmentStatus.fromString(statusText);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new InvalidObjectException("Unknown appointment status: " + statusText);
+        }
+
+        legacyRecord = fields.get("schemaVersion", 0) < SCHEMA_VERSION;
     }
 
     @Override
-    public String toString() 
+    public String toString()
     {
         return "\n--- Appointment Details ---" +
                "\nID: " + appointmentId +
                "\nPatient: " + patientName +
                "\nDoctor: Dr. " + doctorName +
-               "\nItem: " + itemName + 
+               "\nItem: " + itemName +
                "\nPrice: Rs. " + String.format("%.2f", itemPrice) +
-               "\nDate: " + date +
-               "\nTime: " + time +
+               "\nDate: " + getDate() +
+               "\nTime: " + getTime() +
                "\nStatus: " + status;
     }
 }
\ No newline at end of file
@@ -0,0 +1,769 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+// Read-only, memory-mapped store for finished appointments that have left the active window.
+// Records are fixed width and decoded only when accessed, so a long history costs neither heap nor
+// startup time: opening a segment reads its header and (small) doctor directory, nothing else.
+//
+// The archive is a list of immutable segment files (<name>.1, <name>.2, ... and, from before
+// segments, <name> itself) named in a small manifest, <name>.segments. Archiving writes the new
+// records to a new segment and replaces only the manifest. A mapped file is never renamed over or
+// rewritten: Windows refuses to replace or delete a file while a mapping of it is open, and Java
+// cannot unmap one on demand. To keep the count low a new segment absorbs the newest existing ones
+// while they are no larger than it, so each record is rewritten O(log n) times over the archive's
+// life instead of on every append. Segments dropped that way are deleted when the platform allows
+// it and otherwise on the next open, before anything maps them.
+//
+// Segment layout, big-endian:
+//   header | records, sorted by doctor then date/time | ID index | patient index | doctor directory | string table
+// Records refer to their strings (IDs, names, items, statuses) by number in the segment's string table.
+public final class AppointmentArchive
+{
+    private static final int MAGIC = 0x44484152; // "DHAR"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int RECORD_BYTES = 48;
+    private static final int DOCTOR_ENTRY_BYTES = 12;
+    private static final String MANIFEST_SUFFIX = ".segments";
+
+    // Field offsets within a record
+    private static final int ID = 0;
+    private static final int PATIENT = 4;
+    private static final int DOCTOR = 8;
+    private static final int ITEM = 12;
+    private static final int PRICE = 16;
+    private static final int EPOCH_DAY = 24;
+    private static final int RAW_DATE = 28;
+    private static final int SECOND_OF_DAY = 32;
+    private static final int RAW_TIME = 36;
+    private static final int STATUS = 40;
+
+    private static final int NO_STRING = -1;
+    private static final int NO_TIME = -1;
+    // Sorts after every real date, matching Appointment.CHRONOLOGICAL's nulls-last order
+    private static final int NO_DATE = Integer.MAX_VALUE;
+
+    private static final Comparator<Appointment> STORAGE_ORDER =
+        Comparator.comparing((Appointment a) -> foldName(a.getDoctorName()))
+            .thenComparing(Appointment.CHRONOLOGICAL)
+            .thenComparing(a -> upperId(a.getAppointmentId()));
+
+    private static final AppointmentArchive EMPTY = new AppointmentArchive(Collections.emptyList(), true);
+    // Returned when a segment or the manifest exists but could not be read or moved aside: nothing may change the archive
+    private static final AppointmentArchive UNAVAILABLE = new AppointmentArchive(Collections.emptyList(), false);
+
+    // Oldest first
+    private final List<Segment> segments;
+    private final int recordCount;
+    private final int maxIdNumber;
+    private final boolean appendable;
+
+    private AppointmentArchive(List<Segment> segments, boolean appendable)
+    {
+        this.segments = segments;
+        this.appendable = appendable;
+        int records = 0;
+        int maxId = 0;
+        for (Segment segment : segments)
+            {
+                records += segment.recordCount;
+                maxId = Math.max(maxId, segment.maxIdNumber);
+            }
+        this.recordCount = records;
+        this.maxIdNumber = maxId;
+    }
+
+    // Maps every live segment; a missing archive is an empty one. A damaged segment is moved aside (so it
+    // is never overwritten) and the clinic runs without that part of its history rather than failing to start.
+    public static AppointmentArchive open(String fileName)
+    {
+        File manifest = manifestFile(fileName);
+        List<String> names;
+        try
+        {
+            names = readManifest(fileName, manifest);
+        }
+        catch (IOException e)
+        {
+            System.out.println("Error loading " + manifest.getName() + ": " + e.getMessage());
+            return UNAVAILABLE;
+        }
+        deleteUnlisted(fileName, names);
+
+        List<Segment> segments = new ArrayList<>();
+        boolean appendable = true;
+        for (String name : names)
+            {
+                File file = Persistence.resolve(name);
+                if (!file.exists())
+                    {
+                        System.out.println("Warning: Archive segment " + name + " is missing. Its appointments will be missing until it is restored.");
+                        // Writing a manifest without it would drop it for good
+                        appendable = false;
+                        continue;
+                    }
+                try
+                {
+                    segments.add(Segment.map(file));
+                }
+                catch (IOException | IndexOutOfBoundsException e)
+                {
+                    System.out.println("Error loading " + name + ": " + e.getMessage());
+                    File aside = new File(file.getPath() + ".corrupt-" + System.currentTimeMillis());
+                    if (file.renameTo(aside))
+                        {
+                            System.out.println("Moved the damaged archive segment to " + aside.getName() + ". Its appointments will be missing until it is restored.");
+                        }
+                    else
+                        {
+                            appendable = false;
+                        }
+                }
+            }
+        if (segments.isEmpty()) return appendable ? EMPTY : UNAVAILABLE;
+        return new AppointmentArchive(Collections.unmodifiableList(segments), appendable);
+    }
+
+    // Segment names in order; without a manifest, the single file from before segments (if any)
+    private static List<String> readManifest(String fileName, File manifest) throws IOException
+    {
+        List<String> names = new ArrayList<>();
+        if (!manifest.exists())
+            {
+                if (Persistence.resolve(fileName).exists()) names.add(fileName);
+                return names;
+            }
+        for (String line : Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8))
+            {
+                String name = line.trim();
+                if (name.isEmpty()) continue;
+                if (!name.equals(fileName) && segmentNumber(fileName, name) < 0) throw new StreamCorruptedException("not a segment of " + fileName + ": " + name);
+                names.add(name);
+            }
+        return names;
+    }
+
+    // Segments written by an append that stopped before its manifest, or dropped by a merge but still
+    // mapped at the time (Windows), are no longer listed and go before anything maps them
+    private static void deleteUnlisted(String fileName, List<String> listed)
+    {
+        File dir = Persistence.resolve(fileName).getAbsoluteFile().getParentFile();
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        for (File file : files)
+            {
+                String name = file.getName();
+                boolean segment = segmentNumber(fileName, name) >= 0 || (name.equals(fileName) && manifestFile(fileName).exists());
+                if (segment && !listed.contains(name) && !file.delete())
+                    {
+                        System.out.println("Warning: Could not delete unused archive segment " + name + ".");
+                    }
+            }
+    }
+
+    // n for "<fileName>.n", otherwise -1
+    private static int segmentNumber(String fileName, String name)
+    {
+        if (!name.startsWith(fileName + ".")) return -1;
+        String suffix = name.substring(fileName.length() + 1);
+        if (suffix.isEmpty() || suffix.length() > 9 || !suffix.chars().allMatch(Character::isDigit)) return -1;
+        return Integer.parseInt(suffix);
+    }
+
+    private static File manifestFile(String fileName)
+    {
+        return Persistence.resolve(fileName + MANIFEST_SUFFIX);
+    }
+
+    // --- Queries (all decode lazily) ---
+
+    public int size()
+    {
+        return recordCount;
+    }
+
+    // Highest numeric part of an "A<number>" ID in the archive, so new IDs never reuse one
+    public int getMaxIdNumber()
+    {
+        return maxIdNumber;
+    }
+
+    // False when part of the archive could not be opened; changing it then could lose that part for good
+    public boolean isAppendable()
+    {
+        return appendable;
+    }
+
+    public List<Appointment> getAll()
+    {
+        List<List<Appointment>> parts = new ArrayList<>();
+        for (Segment segment : segments)
+            {
+                parts.add(segment.getAll());
+            }
+        return concat(parts);
+    }
+
+    public Set<String> getDoctorKeys()
+    {
+        if (segments.size() == 1) return Collections.unmodifiableSet(segments.get(0).doctorSegments.keySet());
+        Set<String> keys = new HashSet<>();
+        for (Segment segment : segments)
+            {
+                keys.addAll(segment.doctorSegments.keySet());
+            }
+        return Collections.unmodifiableSet(keys);
+    }
+
+    public Appointment findById(String appointmentId)
+    {
+        if (appointmentId == null) return null;
+        String key = upperId(appointmentId);
+        for (Segment segment : segments)
+            {
+                Appointment found = segment.findById(key);
+                if (found != null) return found;
+            }
+        return null;
+    }
+
+    // Earliest first within each segment; callers that need one order across the archive sort the result
+    public List<Appointment> getByDoctor(String doctorName)
+    {
+        String key = foldName(doctorName);
+        List<List<Appointment>> parts = new ArrayList<>();
+        for (Segment segment : segments)
+            {
+                parts.add(segment.getByDoctor(key));
+            }
+        return concat(parts);
+    }
+
+    // A doctor's archived appointments dated between from and to (both inclusive), earliest first within each segment
+    public List<Appointment> getByDoctorBetween(String doctorName, LocalDate from, LocalDate to)
+    {
+        if (from == null || to == null || from.isAfter(to)) return Collections.emptyList();
+        String key = foldName(doctorName);
+        List<List<Appointment>> parts = new ArrayList<>();
+        for (Segment segment : segments)
+            {
+                parts.add(segment.getByDoctorBetween(key, from, to));
+            }
+        return concat(parts);
+    }
+
+    public List<Appointment> getByPatient(String patientName)
+    {
+        String key = foldName(patientName);
+        List<List<Appointment>> parts = new ArrayList<>();
+        for (Segment segment : segments)
+            {
+                parts.add(segment.getByPatient(key));
+            }
+        return concat(parts);
+    }
+
+    // One lazily decoded view over several; skips the wrapper for the common single-part case
+    private static List<Appointment> concat(List<List<Appointment>> parts)
+    {
+        parts.removeIf(List::isEmpty);
+        if (parts.isEmpty()) return Collections.emptyList();
+        if (parts.size() == 1) return parts.get(0);
+
+        int[] starts = new int[parts.size() + 1];
+        for (int p = 0; p < parts.size(); p++)
+            {
+                starts[p + 1] = starts[p] + parts.get(p).size();
+            }
+        return new ConcatenatedList(parts, starts);
+    }
+
+    private static final class ConcatenatedList extends AbstractList<Appointment> implements RandomAccess
+    {
+        private final List<List<Appointment>> parts;
+        private final int[] starts;
+
+        ConcatenatedList(List<List<Appointment>> parts, int[] starts)
+        {
+            this.parts = parts;
+            this.starts = starts;
+        }
+
+        @Override
+        public Appointment get(int i)
+        {
+            Objects.checkIndex(i, size());
+            int part = Arrays.binarySearch(starts, i);
+            // An exact hit is the first element of that part (empty parts were removed, so starts are distinct)
+            part = part >= 0 ? part : -part - 2;
+            return parts.get(part).get(i - starts[part]);
+        }
+
+        @Override
+        public int size()
+        {
+            return starts[starts.length - 1];
+        }
+    }
+
+    // --- Writing ---
+
+    // Adds the given records as a new segment and returns the archive that includes it. The new segment
+    // takes over the newest existing segments while they are no larger than what it already holds; only
+    // those are read and rewritten, never the whole archive, and no mapped file is replaced.
+    public AppointmentArchive append(String fileName, List<Appointment> added) throws IOException
+    {
+        if (!appendable) throw new IOException(fileName + " could not be opened, so it cannot be extended");
+        if (added.isEmpty()) return this;
+
+        List<Segment> kept = new ArrayList<>(segments);
+        List<Segment> merged = new ArrayList<>();
+        ArrayList<Appointment> records = new ArrayList<>(added);
+        while (!kept.isEmpty() && kept.get(kept.size() - 1).recordCount <= records.size())
+            {
+                Segment newest = kept.remove(kept.size() - 1);
+                records.addAll(newest.getAll());
+                merged.add(newest);
+            }
+        records.sort(STORAGE_ORDER);
+
+        File target = Persistence.resolve(fileName + "." + nextSegmentNumber(fileName)).getAbsoluteFile();
+        writeSegment(target, records);
+        kept.add(Segment.map(target));
+
+        // The manifest switch is the commit point: before it the new segment is an orphan, after it the merged ones are
+        List<String> names = new ArrayList<>();
+        for (Segment segment : kept)
+            {
+                names.add(segment.file.getName());
+            }
+        writeManifest(manifestFile(fileName).getAbsoluteFile(), names);
+
+        // This process may still map them (readers of the previous archive); Windows then keeps them until the next open
+        for (Segment old : merged)
+            {
+                old.file.delete();
+            }
+        return new AppointmentArchive(Collections.unmodifiableList(kept), true);
+    }
+
+    // One past the highest segment number on disk, listed or not, so no existing file is ever reused
+    private static int nextSegmentNumber(String fileName)
+    {
+        File dir = Persistence.resolve(fileName).getAbsoluteFile().getParentFile();
+        String[] names = dir.list();
+        int highest = 0;
+        if (names != null)
+            {
+                for (String name : names)
+                    {
+                        highest = Math.max(highest, segmentNumber(fileName, name));
+                    }
+            }
+        return highest + 1;
+    }
+
+    // Small and never mapped, so replacing it is allowed everywhere
+    private static void writeManifest(File manifest, List<String> names) throws IOException
+    {
+        File temp = File.createTempFile(manifest.getName() + ".", ".tmp", manifest.getParentFile());
+        try
+        {
+            try (FileOutputStream fos = new FileOutputStream(temp);
+                Writer out = new OutputStreamWriter(fos, StandardCharsets.UTF_8))
+            {
+                for (String name : names)
+                    {
+                        out.write(name);
+                        out.write('\n');
+                    }
+                out.flush();
+                fos.getChannel().force(true);
+            }
+            Files.move(temp.toPath(), manifest.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Persistence.forceDirectory(manifest.getParentFile());
+        }
+        finally
+        {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    // Writes records (already in storage order) as a segment file; target must not exist yet
+    private static void writeSegment(File target, List<Appointment> records) throws IOException
+    {
+        int n = records.size();
+
+        // String table, in first-use order
+        LinkedHashMap<String, Integer> refs = new LinkedHashMap<>();
+        int[][] fields = new int[n][];
+        int maxId = 0;
+        for (int i = 0; i < n; i++)
+            {
+                Appointment a = records.get(i);
+                fields[i] = new int[] {
+                    ref(refs, a.getAppointmentId()), ref(refs, a.getPatientName()), ref(refs, a.getDoctorName()), ref(refs, a.getItemName()),
+                    a.getLocalDate() == null ? ref(refs, a.getDate()) : NO_STRING,
+                    a.getLocalTime() == null ? ref(refs, a.getTime()) : NO_STRING,
+                    ref(refs, a.getStatus())
+                };
+                maxId = Math.max(maxId, idNumber(a.getAppointmentId()));
+            }
+
+        // Doctor segments are contiguous because of the storage order
+        LinkedHashMap<Integer, int[]> doctorRuns = new LinkedHashMap<>();
+        String previousDoctor = null;
+        for (int i = 0; i < n; i++)
+            {
+                String doctorKey = foldName(records.get(i).getDoctorName());
+                if (!doctorKey.equals(previousDoctor))
+                    {
+                        doctorRuns.put(ref(refs, doctorKey), new int[] {i, 0});
+                        previousDoctor = doctorKey;
+                    }
+                doctorRuns.get(refs.get(doctorKey))[1]++;
+            }
+
+        Integer[] byId = new Integer[n];
+        Integer[] byPatient = new Integer[n];
+        for (int i = 0; i < n; i++)
+            {
+                byId[i] = i;
+                byPatient[i] = i;
+            }
+        Arrays.sort(byId, Comparator.comparing(i -> upperId(records.get(i).getAppointmentId())));
+        // Stable sort on the name keeps each patient's records in storage (chronological) order within a doctor
+        Arrays.sort(byPatient, Comparator.comparing((Integer i) -> foldName(records.get(i).getPatientName()))
+            .thenComparing(i -> records.get(i), Appointment.CHRONOLOGICAL));
+
+        byte[][] strings = new byte[refs.size()][];
+        long stringBytes = 0;
+        int s = 0;
+        for (String value : refs.keySet())
+            {
+                strings[s] = value.getBytes(StandardCharsets.UTF_8);
+                stringBytes += strings[s++].length;
+            }
+
+        long idIndex = HEADER_BYTES + (long) n * RECORD_BYTES;
+        long patientIndex = idIndex + 4L * n;
+        long doctorDirectory = patientIndex + 4L * n;
+        long stringOffsets = doctorDirectory + (long) DOCTOR_ENTRY_BYTES * doctorRuns.size();
+        long stringData = stringOffsets + 4L * (strings.length + 1);
+        if (stringData + stringBytes > Integer.MAX_VALUE) throw new IOException("archive segments over 2 GB are not supported");
+
+        File temp = File.createTempFile(target.getName() + ".", ".tmp", target.getParentFile());
+        try
+        {
+            try (FileOutputStream fos = new FileOutputStream(temp);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16)))
+            {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(n);
+                out.writeInt(strings.length);
+                out.writeInt(doctorRuns.size());
+                out.writeInt(maxId);
+                out.writeLong(idIndex);
+                out.writeLong(patientIndex);
+                out.writeLong(doctorDirectory);
+                out.writeLong(stringOffsets);
+                out.writeLong(stringData);
+
+                for (int i = 0; i < n; i++)
+                    {
+                        Appointment a = records.get(i);
+                        int[] f = fields[i];
+                        out.writeInt(f[0]);
+                        out.writeInt(f[1]);
+                        out.writeInt(f[2]);
+                        out.writeInt(f[3]);
+                        out.writeDouble(a.getItemPrice());
+                        out.writeInt(a.getLocalDate() == null ? NO_DATE : (int) a.getLocalDate().toEpochDay());
+                        out.writeInt(f[4]);
+                        out.writeInt(a.getLocalTime() == null ? NO_TIME : a.getLocalTime().toSecondOfDay());
+                        out.writeInt(f[5]);
+                        out.writeInt(f[6]);
+                        out.writeInt(0); // padding to RECORD_BYTES
+                    }
+                for (Integer i : byId)
+                    {
+                        out.writeInt(i);
+                    }
+                for (Integer i : byPatient)
+                    {
+                        out.writeInt(i);
+                    }
+                for (Map.Entry<Integer, int[]> e : doctorRuns.entrySet())
+                    {
+                        out.writeInt(e.getKey());
+                        out.writeInt(e.getValue()[0]);
+                        out.writeInt(e.getValue()[1]);
+                    }
+                int offset = 0;
+                for (byte[] bytes : strings)
+                    {
+                        out.writeInt(offset);
+                        offset += bytes.length;
+                    }
+                out.writeInt(offset);
+                for (byte[] bytes : strings)
+                    {
+                        out.write(bytes);
+                    }
+
+                out.flush();
+                fos.getChannel().force(true);
+            }
+            // A fresh name, so this never replaces a file (mapped or not)
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            Persistence.forceDirectory(target.getParentFile());
+        }
+        finally
+        {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    // --- One mapped segment file ---
+
+    private static final class Segment
+    {
+        private final File file;
+        private final ByteBuffer map;
+        private final int recordCount;
+        private final int maxIdNumber;
+        private final int idIndexOffset;
+        private final int patientIndexOffset;
+        private final int stringOffsetsOffset;
+        private final int stringDataOffset;
+        // Folded doctor name -> {first record, record count}
+        private final HashMap<String, int[]> doctorSegments = new HashMap<>();
+
+        private static Segment map(File file) throws IOException
+        {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+            {
+                if (channel.size() > Integer.MAX_VALUE) throw new IOException("archive segments over 2 GB are not supported");
+                return new Segment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+
+        private Segment(File file, ByteBuffer map) throws IOException
+        {
+            this.file = file;
+            this.map = map;
+            if (map.capacity() < HEADER_BYTES || map.getInt(0) != MAGIC) throw new StreamCorruptedException("not an appointment archive");
+            if (map.getInt(4) != VERSION) throw new StreamCorruptedException("unsupported archive version " + map.getInt(4));
+
+            recordCount = map.getInt(8);
+            int stringCount = map.getInt(12);
+            int doctorCount = map.getInt(16);
+            maxIdNumber = map.getInt(20);
+            idIndexOffset = offsetAt(24);
+            patientIndexOffset = offsetAt(32);
+            int doctorDirectoryOffset = offsetAt(40);
+            stringOffsetsOffset = offsetAt(48);
+            stringDataOffset = offsetAt(56);
+
+            // Every section must sit exactly where the counts say, or the file was damaged
+            long expected = HEADER_BYTES + (long) recordCount * RECORD_BYTES;
+            boolean consistent = recordCount >= 0 && stringCount >= 0 && doctorCount >= 0
+                && idIndexOffset == expected
+                && patientIndexOffset == (expected += 4L * recordCount)
+                && doctorDirectoryOffset == (expected += 4L * recordCount)
+                && stringOffsetsOffset == (expected += (long) DOCTOR_ENTRY_BYTES * doctorCount)
+                && stringDataOffset == (expected += 4L * (stringCount + 1))
+                && expected + map.getInt(stringOffsetsOffset + 4 * stringCount) == map.capacity();
+            if (!consistent) throw new StreamCorruptedException("archive sections do not match its header");
+
+            for (int d = 0; d < doctorCount; d++)
+                {
+                    int entry = doctorDirectoryOffset + d * DOCTOR_ENTRY_BYTES;
+                    doctorSegments.put(string(map.getInt(entry)), new int[] {map.getInt(entry + 4), map.getInt(entry + 8)});
+                }
+        }
+
+        private int offsetAt(int headerPosition) throws IOException
+        {
+            long offset = map.getLong(headerPosition);
+            if (offset < HEADER_BYTES || offset > map.capacity()) throw new StreamCorruptedException("archive offset out of range");
+            return (int) offset;
+        }
+
+        private List<Appointment> getAll()
+        {
+            return new RecordList(-1, 0, recordCount);
+        }
+
+        // key is already upper-cased
+        private Appointment findById(String key)
+        {
+            int lo = 0;
+            int hi = recordCount - 1;
+            while (lo <= hi)
+                {
+                    int mid = (lo + hi) >>> 1;
+                    int record = map.getInt(idIndexOffset + 4 * mid);
+                    int cmp = upperId(string(field(record, ID))).compareTo(key);
+                    if (cmp == 0) return decode(record);
+                    if (cmp < 0) lo = mid + 1;
+                    else hi = mid - 1;
+                }
+            return null;
+        }
+
+        private List<Appointment> getByDoctor(String doctorKey)
+        {
+            int[] segment = doctorSegments.get(doctorKey);
+            return segment == null ? Collections.emptyList() : new RecordList(-1, segment[0], segment[1]);
+        }
+
+        private List<Appointment> getByDoctorBetween(String doctorKey, LocalDate from, LocalDate to)
+        {
+            int[] segment = doctorSegments.get(doctorKey);
+            if (segment == null) return Collections.emptyList();
+
+            int start = firstOnOrAfter(segment[0], segment[0] + segment[1], from.toEpochDay());
+            int end = firstOnOrAfter(start, segment[0] + segment[1], to.toEpochDay() + 1);
+            return new RecordList(-1, start, end - start);
+        }
+
+        private List<Appointment> getByPatient(String patientKey)
+        {
+            int start = patientBound(patientKey, false);
+            int end = patientBound(patientKey, true);
+            return new RecordList(patientIndexOffset, start, end - start);
+        }
+
+        // First record in [from, to) of a doctor segment dated on or after epochDay
+        private int firstOnOrAfter(int from, int to, long epochDay)
+        {
+            int lo = from;
+            int hi = to;
+            while (lo < hi)
+                {
+                    int mid = (lo + hi) >>> 1;
+                    if (field(mid, EPOCH_DAY) < epochDay) lo = mid + 1;
+                    else hi = mid;
+                }
+            return lo;
+        }
+
+        // Position in the patient index of the first entry whose name is >= key (or > key when upper)
+        private int patientBound(String key, boolean upper)
+        {
+            int lo = 0;
+            int hi = recordCount;
+            while (lo < hi)
+                {
+                    int mid = (lo + hi) >>> 1;
+                    int cmp = foldName(string(field(map.getInt(patientIndexOffset + 4 * mid), PATIENT))).compareTo(key);
+                    if (cmp < 0 || (upper && cmp == 0)) lo = mid + 1;
+                    else hi = mid;
+                }
+            return lo;
+        }
+
+        private int field(int record, int offset)
+        {
+            return map.getInt(HEADER_BYTES + record * RECORD_BYTES + offset);
+        }
+
+        private String string(int ref)
+        {
+            if (ref == NO_STRING) return null;
+            int start = map.getInt(stringOffsetsOffset + 4 * ref);
+            int end = map.getInt(stringOffsetsOffset + 4 * (ref + 1));
+            byte[] bytes = new byte[end - start];
+            map.get(stringDataOffset + start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private Appointment decode(int record)
+        {
+            int base = HEADER_BYTES + record * RECORD_BYTES;
+            int epochDay = map.getInt(base + EPOCH_DAY);
+            int secondOfDay = map.getInt(base + SECOND_OF_DAY);
+            LocalDate date = epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+            LocalTime time = secondOfDay == NO_TIME ? null : LocalTime.ofSecondOfDay(secondOfDay);
+
+            Appointment appt = new Appointment(string(map.getInt(base + ID)), string(map.getInt(base + PATIENT)), string(map.getInt(base + DOCTOR)),
+                string(map.getInt(base + ITEM)), map.getDouble(base + PRICE), date, time);
+            if (date == null) appt.setDate(string(map.getInt(base + RAW_DATE)));
+            if (time == null) appt.setTime(string(map.getInt(base + RAW_TIME)));
+            appt.setStatus(string(map.getInt(base + STATUS)));
+            return appt;
+        }
+
+        // Decodes records on get(); either a run of consecutive records or a run of an index section
+        private final class RecordList extends AbstractList<Appointment> implements RandomAccess
+        {
+            private final int indexOffset;
+            private final int first;
+            private final int size;
+
+            RecordList(int indexOffset, int first, int size)
+            {
+                this.indexOffset = indexOffset;
+                this.first = first;
+                this.size = size;
+            }
+
+            @Override
+            public Appointment get(int i)
+            {
+                Objects.checkIndex(i, size);
+                return decode(indexOffset < 0 ? first + i : map.getInt(indexOffset + 4 * (first + i)));
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        }
+    }
+
+    private static int ref(LinkedHashMap<String, Integer> refs, String value)
+    {
+        if (value == null) return NO_STRING;
+        Integer ref = refs.get(value);
+        if (ref == null)
+            {
+                ref = refs.size();
+                refs.put(value, ref);
+            }
+        return ref;
+    }
+
+    private static int idNumber(String appointmentId)
+    {
+        try
+        {
+            return Integer.parseInt(appointmentId.substring(1));
+        }
+        catch (RuntimeException e)
+        {
+            return 0;
+        }
+    }
+
+    private static String foldName(String name)
+    {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String upperId(String appointmentId)
+    {
+        return appointmentId == null ? "" : appointmentId.toUpperCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
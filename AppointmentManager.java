@@ -1,11 +1,16 @@
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
-import java.util.Comparator;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.time.DayOfWeek;
-import java.time.format.TextStyle;
 import java.util.Locale;
 
 public class AppointmentManager implements Serializable
@@ -13,149 +18,597 @@ public class AppointmentManager implements Serializable
     private ArrayList<Appointment> appointmentList;
     private DoctorManager doctorManager;
     private final String FILE_NAME = "appointments.ser";
-    private int appointmentCounter;
+    private static final DateTimeFormatter DATE_FORMAT = Appointment.DATE_FORMAT;
+    private static final DateTimeFormatter TIME_FORMAT = Appointment.TIME_FORMAT;
+    private final Journal<Appointment> journal = new Journal<>(FILE_NAME, Appointment::getAppointmentId, this::copyAppointments);
+    private final AtomicInteger appointmentCounter = new AtomicInteger(1);
+
+    // Storage mode: "snapshot" (default) keeps every appointment on the heap; "archive" moves finished
+    // appointments dated before the active window into a memory-mapped AppointmentArchive, leaving
+    // only the active window (and the archive's small directory) on the heap.
+    // An existing archive is always read, whatever the mode, so switching back loses nothing.
+    public static final String STORAGE_PROPERTY = "dermaheaven.appointmentStorage";
+    public static final String ACTIVE_WINDOW_PROPERTY = "dermaheaven.activeWindowDays";
+    public static final int DEFAULT_ACTIVE_WINDOW_DAYS = 30;
+    private final String ARCHIVE_FILE_NAME = "appointments.archive";
+    private volatile AppointmentArchive archive;
+    private final Object archiveLock = new Object();
+
+    // Lookup indexes, rebuilt on load and kept in step with every mutation
+    private HashMap<String, Appointment> appointmentsById;
+    private HashMap<String, List<Appointment>> appointmentsByDoctor;
+    private HashMap<String, List<Appointment>> appointmentsByPatient;
+    private ConcurrentHashMap<String, TreeMap<LocalDate, List<Appointment>>> appointmentsByDoctorDate;
+    private final SlotOccupancy occupancy = new SlotOccupancy();
+
+    // Concurrency: each doctor maps to one lock stripe guarding that doctor's date index, occupancy
+    // bitmap and appointment state changes, so a slot is claimed exactly once while unrelated doctors
+    // book in parallel. The shared list and ID/doctor/patient indexes sit behind indexLock, held briefly.
+    private static final int LOCK_STRIPES = 64;
+    private final ReentrantLock[] doctorLocks = new ReentrantLock[LOCK_STRIPES];
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    // Completes once the appointments are loaded; every public method waits on it
+    private final CompletableFuture<Void> loaded;
 
     // Constructor & Counter initialization 
-    @SuppressWarnings("unchecked")
     public AppointmentManager(DoctorManager doctorManager)
+    {
+        this(doctorManager, null);
+    }
+
+    // Returns at once and loads the appointments on the given executor, so startup can show the
+    // login screen while history is still being read; methods called meanwhile wait for the load
+    public AppointmentManager(DoctorManager doctorManager, Executor loader)
     {
         this.doctorManager = doctorManager;
-        appointmentList = Persistence.load(FILE_NAME);// because it is converted into list not object
+        for (int i = 0; i < LOCK_STRIPES; i++)
+            {
+                doctorLocks[i] = new ReentrantLock();
+            }
+        if (loader == null)
+            {
+                load();
+                loaded = CompletableFuture.completedFuture(null);
+            }
+        else
+            {
+                loaded = CompletableFuture.runAsync(this::load, loader);
+            }
+    }
+
+    private void load()
+    {
+        archive = AppointmentArchive.open(ARCHIVE_FILE_NAME);
+        appointmentList = journal.load(); // snapshot plus any journaled changes since it was taken
         if (appointmentList == null || appointmentList.isEmpty())
             {
                 appointmentList = new ArrayList<>();
             }
+        if (archive.size() > 0)
+            {
+                // Left behind if the app stopped between writing the archive and the next snapshot
+                appointmentList.removeIf(a -> archive.findById(a.getAppointmentId()) != null);
+            }
         initializeCounter();
+        rebuildIndexes();
+        upgradeLegacyRecords();
+        moveFinishedToArchive();
+    }
+
+    // Completes when the appointments have been loaded (at once for the single-argument constructor)
+    public CompletableFuture<Void> whenLoaded()
+    {
+        return loaded.copy();
+    }
+
+    private void awaitLoaded()
+    {
+        loaded.join();
+    }
+
+    // One-time migration: rewrite appointments.ser in the typed schema if it still holds legacy records
+    private void upgradeLegacyRecords()
+    {
+        long legacyCount = appointmentList.stream().filter(Appointment::isLegacyRecord).count();
+        if (legacyCount > 0)
+            {
+                journal.compact();
+                System.out.println("Upgraded " + legacyCount + " appointment record(s) in " + FILE_NAME + " to the typed schema.");
+            }
+    }
+
+    // --- Archive storage ---
+
+    public static boolean isArchiveStorageEnabled()
+    {
+        return "archive".equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY));
+    }
+
+    private static int getActiveWindowDays()
+    {
+        return Math.max(0, Integer.getInteger(ACTIVE_WINDOW_PROPERTY, DEFAULT_ACTIVE_WINDOW_DAYS));
+    }
+
+    // Finished appointments never change again, so the archive can hold them read-only
+    private static boolean isArchivable(Appointment appt, LocalDate cutoff)
+    {
+        AppointmentStatus status = appt.getAppointmentStatus();
+        return (status == AppointmentStatus.COMPLETED || status == AppointmentStatus.CANCELLED)
+            && appt.getLocalDate() != null && appt.getLocalDate().isBefore(cutoff);
+    }
+
+    // Moves finished appointments dated before the active window into the archive and drops them from
+    // the heap and appointments.ser. Returns how many moved; 0 unless archive storage is enabled.
+    public int archiveHistory()
+    {
+        awaitLoaded();
+        return moveFinishedToArchive();
+    }
+
+    private int moveFinishedToArchive()
+    {
+        if (!isArchiveStorageEnabled()) return 0;
+
+        synchronized (archiveLock)
+        {
+            if (!archive.isAppendable()) return 0;
+
+            LocalDate cutoff = LocalDate.now().minusDays(getActiveWindowDays());
+            List<Appointment> finished;
+            indexLock.readLock().lock();
+            try
+            {
+                finished = appointmentList.stream().filter(a -> isArchivable(a, cutoff)).collect(Collectors.toList());
+            }
+            finally
+            {
+                indexLock.readLock().unlock();
+            }
+            if (finished.isEmpty()) return 0;
+
+            // The archive comes first: if the app stops before the snapshot below, load drops the duplicates
+            AppointmentArchive updated;
+            try
+            {
+                updated = archive.append(ARCHIVE_FILE_NAME, finished);
+            }
+            catch (IOException e)
+            {
+                System.out.println("Error archiving appointments to " + ARCHIVE_FILE_NAME + ": " + e.getMessage());
+                return 0;
+            }
+
+            // Swapped under every lock, so no reader sees an appointment in both places or in neither
+            for (ReentrantLock lock : doctorLocks)
+                {
+                    lock.lock();
+                }
+            indexLock.writeLock().lock();
+            try
+            {
+                Set<Appointment> moved = Collections.newSetFromMap(new IdentityHashMap<>());
+                moved.addAll(finished);
+                removeFromIndexes(moved);
+                archive = updated;
+            }
+            finally
+            {
+                indexLock.writeLock().unlock();
+                for (ReentrantLock lock : doctorLocks)
+                    {
+                        lock.unlock();
+                    }
+            }
+
+            journal.compact();
+            System.out.println("Archived " + finished.size() + " finished appointment(s) to " + ARCHIVE_FILE_NAME + ".");
+            return finished.size();
+        }
+    }
+
+    // Caller holds every doctor lock stripe and the indexLock write lock
+    private void removeFromIndexes(Set<Appointment> moved)
+    {
+        appointmentList.removeIf(moved::contains);
+        appointmentsById.values().removeIf(moved::contains);
+        for (HashMap<String, List<Appointment>> index : Arrays.asList(appointmentsByDoctor, appointmentsByPatient))
+            {
+                for (List<Appointment> bucket : index.values())
+                    {
+                        bucket.removeIf(moved::contains);
+                    }
+                index.values().removeIf(List::isEmpty);
+            }
+        // Doctor entries stay (possibly with no days) so getAppointmentsBetween still visits the doctor
+        for (TreeMap<LocalDate, List<Appointment>> days : appointmentsByDoctorDate.values())
+            {
+                for (List<Appointment> day : days.values())
+                    {
+                        day.removeIf(moved::contains);
+                    }
+                days.values().removeIf(List::isEmpty);
+            }
+    }
+
+    // --- Locking ---
+
+    private ReentrantLock lockFor(String doctorName)
+    {
+        return doctorLocks[(normalizeName(doctorName).hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private ArrayList<Appointment> copyAppointments()
+    {
+        indexLock.readLock().lock();
+        try
+        {
+            return new ArrayList<>(appointmentList);
+        }
+        finally
+        {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Active bucket plus the matching archived records; archived ones are decoded after the lock is released
+    private List<Appointment> copyIndexBucket(HashMap<String, List<Appointment>> index, String name, boolean byDoctor)
+    {
+        List<Appointment> result;
+        AppointmentArchive current;
+        indexLock.readLock().lock();
+        try
+        {
+            List<Appointment> bucket = index.get(normalizeName(name));
+            result = bucket == null ? new ArrayList<>() : new ArrayList<>(bucket);
+            current = archive;
+        }
+        finally
+        {
+            indexLock.readLock().unlock();
+        }
+        result.addAll(byDoctor ? current.getByDoctor(name) : current.getByPatient(name));
+        return result;
+    }
+
+    // --- Index maintenance ---
+
+    private static String normalizeName(String name)
+    {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void rebuildIndexes()
+    {
+        appointmentsById = new HashMap<>(appointmentList.size() * 2);
+        appointmentsByDoctor = new HashMap<>();
+        appointmentsByPatient = new HashMap<>();
+        appointmentsByDoctorDate = new ConcurrentHashMap<>();
+        occupancy.clear();
+        for (Appointment appt : appointmentList)
+            {
+                indexAppointment(appt);
+                addToDoctorDateIndex(appt);
+                occupySlot(appt);
+            }
+    }
+
+    // Shared indexes; caller holds the indexLock write lock (or is the constructor)
+    private void indexAppointment(Appointment appt)
+    {
+        appointmentsById.put(appt.getAppointmentId().toUpperCase(Locale.ROOT), appt);
+        appointmentsByDoctor.computeIfAbsent(normalizeName(appt.getDoctorName()), k -> new ArrayList<>()).add(appt);
+        appointmentsByPatient.computeIfAbsent(normalizeName(appt.getPatientName()), k -> new ArrayList<>()).add(appt);
+    }
+
+    // Per-doctor index; caller holds the doctor's lock stripe (or is the constructor)
+    private void addToDoctorDateIndex(Appointment appt)
+    {
+        if (appt.getLocalDate() == null) return;
+        appointmentsByDoctorDate.computeIfAbsent(normalizeName(appt.getDoctorName()), k -> new TreeMap<>())
+            .computeIfAbsent(appt.getLocalDate(), k -> new ArrayList<>())
+            .add(appt);
+    }
+
+    private List<Appointment> getDoctorDay(String doctorName, LocalDate date)
+    {
+        TreeMap<LocalDate, List<Appointment>> days = appointmentsByDoctorDate.get(normalizeName(doctorName));
+        List<Appointment> bucket = days == null || date == null ? null : days.get(date);
+        return bucket == null ? Collections.emptyList() : bucket;
+    }
+
+    // Only the (doctor, date) bucket depends on mutable fields, so a reschedule just moves it between buckets
+    private void moveDoctorDateIndex(Appointment appt, LocalDate oldDate)
+    {
+        TreeMap<LocalDate, List<Appointment>> days = appointmentsByDoctorDate.get(normalizeName(appt.getDoctorName()));
+        List<Appointment> bucket = days == null || oldDate == null ? null : days.get(oldDate);
+        if (bucket != null)
+            {
+                bucket.remove(appt);
+                if (bucket.isEmpty())
+                    {
+                        days.remove(oldDate);
+                    }
+            }
+        addToDoctorDateIndex(appt);
     }
 
     // Counter initialization logic 
     private void initializeCounter()
     {
-        appointmentCounter = 1;
+        int nextId = archive.getMaxIdNumber() + 1;
         for (Appointment appt : appointmentList)
             {
                 try
                 {
                     String idNumStr = appt.getAppointmentId().substring(1);
                     int idNum = Integer.parseInt(idNumStr);
-                    if (idNum >= appointmentCounter)
+                    if (idNum >= nextId)
                         {
-                            appointmentCounter = idNum + 1;
+                            nextId = idNum + 1;
                         }
                 }
                 catch (Exception e)
                 {
                 }
             }
+        appointmentCounter.set(nextId);
+    }
+
+    // --- Slot occupancy maintenance ---
+
+    private static int toMinuteOfDay(String time)
+    {
+        LocalTime parsed = LocalTime.parse(time.trim(), TIME_FORMAT);
+        return parsed.getHour() * 60 + parsed.getMinute();
+    }
+
+    private void occupySlot(Appointment appt)
+    {
+        // Legacy records with an unparseable date/time cannot block a slot anyone could book
+        if (!appt.getAppointmentStatus().holdsSlot() || appt.getLocalDate() == null || appt.getMinuteOfDay() < 0) return;
+        occupancy.claim(normalizeName(appt.getDoctorName()), appt.getLocalDate(), appt.getMinuteOfDay());
+    }
+
+    // Frees the slot an appointment held at (date, minute), unless another active appointment still holds it
+    private void vacateSlot(Appointment appt, LocalDate date, int minuteOfDay)
+    {
+        if (date == null || minuteOfDay < 0) return;
+        for (Appointment other : getDoctorDay(appt.getDoctorName(), date))
+            {
+                if (other != appt && other.getAppointmentStatus().holdsSlot() && other.getMinuteOfDay() == minuteOfDay)
+                    {
+                        return;
+                    }
+            }
+        occupancy.release(normalizeName(appt.getDoctorName()), date, minuteOfDay);
+    }
+
+    // Active or archived appointment with this ID, or null
+    public Appointment getAppointmentById(String appointmentId)
+    {
+        awaitLoaded();
+        return findAppointmentById(appointmentId);
     }
 
     private Appointment findAppointmentById(String appointmentId) {
-        return appointmentList.stream()
-            .filter(a -> a.getAppointmentId().equalsIgnoreCase(appointmentId))
-            .findFirst()
-            .orElse(null);
+        if (appointmentId == null) return null;
+        indexLock.readLock().lock();
+        try
+        {
+            Appointment active = appointmentsById.get(appointmentId.toUpperCase(Locale.ROOT));
+            return active != null ? active : archive.findById(appointmentId);
+        }
+        finally
+        {
+            indexLock.readLock().unlock();
+        }
     }
 
     private List<Appointment> getPatientAppointments(String patientName, boolean includeAllStatus)
     {
-        return appointmentList.stream()
-            .filter(a -> a.getPatientName().equalsIgnoreCase(patientName))
-            .filter(a -> includeAllStatus || a.getStatus().equalsIgnoreCase("BOOKED"))
-            .sorted(Comparator.comparing(Appointment::getDate).thenComparing(Appointment::getTime))
+        return copyIndexBucket(appointmentsByPatient, patientName, false).stream()
+            .filter(a -> includeAllStatus || a.getAppointmentStatus() == AppointmentStatus.BOOKED)
+            .sorted(Appointment.CHRONOLOGICAL)
             .collect(Collectors.toList());
     }
 
     public boolean checkAvailability(Doctor doctor, String date, String time)
     {
+        awaitLoaded();
         if (doctor == null) return false;
 
         try
         {
-            // 1. Parse Date and Determine Day of Week
-            LocalDate apptDate = LocalDate.parse(date, DateTimeFormatter.ofPattern("d-M-yyyy"));
-            DayOfWeek dayOfWeek = apptDate.getDayOfWeek();
-            String apptDay = dayOfWeek.getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+            // 1. Parse Date and Time
+            LocalDate apptDate = LocalDate.parse(date, DATE_FORMAT);
+            int minuteOfDay = toMinuteOfDay(time);
 
-            // 2. Check Day of the Week against Doctor's Working Days
-            String workingDaysStr = doctor.getWorkingDays();
-            boolean dayFound = false;
-
-            String normalizedWorkingDays = workingDaysStr.toLowerCase().replace(",", "").trim();
-
-            if (workingDaysStr.contains(apptDay))
-                {
-                    dayFound = true;
-                }
-            else if (normalizedWorkingDays.contains(" to "))
+            // 2. Check against the doctor's compiled working days and hours
+            DoctorSchedule schedule = doctor.getSchedule();
+            if (!schedule.worksOn(apptDate.getDayOfWeek()) || !schedule.coversMinute(minuteOfDay))
                 {
-                    String[] parts = normalizedWorkingDays.split(" to ");
-                    if (parts.length == 2)
-                        {
-                            // Assuming days are correctly capitalized in Doctor's data (e.g., Monday, Tuesday)
-                            DayOfWeek startDay = DayOfWeek.valueOf(parts[0].trim().toUpperCase());
-                            DayOfWeek endDay = DayOfWeek.valueOf(parts[1].trim().toUpperCase());
-
-                            // Standard case (Mon to Fri)
-                            if (startDay.getValue() <= endDay.getValue())
-                                {
-                                    if (dayOfWeek.getValue() >= startDay.getValue() && dayOfWeek.getValue() <= endDay.getValue())
-                                        {
-                                            dayFound = true;
-                                        }
-                                }
-                            else 
-                                {
-                                    if (dayOfWeek.getValue() >= startDay.getValue() || dayOfWeek.getValue() <= endDay.getValue())
-                                        {
-                                            dayFound = true;
-                                        }
-                                }
-                        }
+                    return false;
                 }
-            else 
+
+            // 3. Check the occupancy bitmap for an active appointment at the exact date/time
+            ReentrantLock lock = lockFor(doctor.getDoctorName());
+            lock.lock();
+            try
+            {
+                return !occupancy.isTaken(normalizeName(doctor.getDoctorName()), apptDate, minuteOfDay);
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+        catch (Exception e)
+        {
+            return false;
+        }
+    }
+
+    // Free start times ("HH:mm") of the given slot length between from (inclusive) and to (exclusive)
+    public List<String> getFreeSlots(Doctor doctor, String date, LocalTime from, LocalTime to, int slotMinutes)
+    {
+        awaitLoaded();
+        List<String> slots = new ArrayList<>();
+        if (doctor == null || from == null || to == null) return slots;
+
+        LocalDate apptDate;
+        try
+        {
+            apptDate = LocalDate.parse(date, DATE_FORMAT);
+        }
+        catch (Exception e)
+        {
+            return slots;
+        }
+
+        int fromMinute = from.getHour() * 60 + from.getMinute();
+        int toMinute = to.equals(LocalTime.MIDNIGHT) ? SlotOccupancy.MINUTES_PER_DAY : to.getHour() * 60 + to.getMinute();
+        List<Integer> free;
+        ReentrantLock lock = lockFor(doctor.getDoctorName());
+        lock.lock();
+        try
+        {
+            free = occupancy.freeSlots(normalizeName(doctor.getDoctorName()), apptDate, fromMinute, toMinute, slotMinutes);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        for (int minute : free)
+            {
+                slots.add(String.format("%02d:%02d", minute / 60, minute % 60));
+            }
+        return slots;
+    }
+
+    // Free slots within the doctor's working hours on the given date (empty on non-working days)
+    public List<String> getFreeSlots(Doctor doctor, String date, int slotMinutes)
+    {
+        awaitLoaded();
+        List<String> slots = new ArrayList<>();
+        if (doctor == null) return slots;
+
+        LocalDate apptDate;
+        try
+        {
+            apptDate = LocalDate.parse(date, DATE_FORMAT);
+        }
+        catch (Exception e)
+        {
+            return slots;
+        }
+
+        DoctorSchedule schedule = doctor.getSchedule();
+        if (!schedule.worksOn(apptDate.getDayOfWeek())) return slots;
+
+        String doctorKey = normalizeName(doctor.getDoctorName());
+        ReentrantLock lock = lockFor(doctor.getDoctorName());
+        lock.lock();
+        try
+        {
+            for (int i = 0; i < schedule.getRangeCount(); i++)
                 {
-                    String[] workingDays = workingDaysStr.split("[,\\s\\-&]+");
-                    for (String day : workingDays)
+                    for (int minute : occupancy.freeSlots(doctorKey, apptDate, schedule.getRangeStart(i), schedule.getRangeEnd(i), slotMinutes))
                         {
-                            if (day.trim().equalsIgnoreCase(apptDay))
-                                {
-                                    dayFound = true;
-                                    break;
-                                }
+                            slots.add(String.format("%02d:%02d", minute / 60, minute % 60));
                         }
                 }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        return slots;
+    }
+
+    // How far ahead findNextAvailableSlots looks before giving up on a doctor
+    private static final int SLOT_SEARCH_DAYS = 90;
 
-            // 3. Check for existing appointments at the exact date/time
-            boolean timeSlotTaken = appointmentList.stream()
-                .filter(a -> a.getDoctorName().equalsIgnoreCase(doctor.getDoctorName()))
-                .filter(a -> a.getDate().equals(date))
-                .filter(a -> a.getTime().equals(time))
-                .filter(a -> a.getStatus().equalsIgnoreCase("BOOKED") || a.getStatus().equalsIgnoreCase("RESCHEDULED"))
-                .findAny().isPresent();
+    // Earliest free slots across one or more doctors, starting from fromDate (never earlier than now)
+    public List<AvailableSlot> findNextAvailableSlots(List<Doctor> doctors, LocalDate fromDate, int count, int slotMinutes)
+    {
+        awaitLoaded();
+        if (doctors == null || doctors.isEmpty() || count <= 0 || slotMinutes <= 0) return new ArrayList<>();
+
+        LocalDate today = LocalDate.now();
+        LocalDate start = fromDate == null || fromDate.isBefore(today) ? today : fromDate;
+        int nowMinute = LocalTime.now().getHour() * 60 + LocalTime.now().getMinute();
+
+        // Each doctor's search is independent, so larger doctor lists are walked in parallel
+        return (doctors.size() > 1 ? doctors.parallelStream() : doctors.stream())
+            .filter(Objects::nonNull)
+            .flatMap(d -> findNextSlotsForDoctor(d, start, today, nowMinute, count, slotMinutes).stream())
+            .sorted(AvailableSlot.EARLIEST_FIRST)
+            .limit(count)
+            .collect(Collectors.toList());
+    }
 
-            return dayFound && !timeSlotTaken;
+    public List<AvailableSlot> findNextAvailableSlots(Doctor doctor, LocalDate fromDate, int count, int slotMinutes)
+    {
+        awaitLoaded();
+        return findNextAvailableSlots(Collections.singletonList(doctor), fromDate, count, slotMinutes);
+    }
+
+    private List<AvailableSlot> findNextSlotsForDoctor(Doctor doctor, LocalDate start, LocalDate today, int nowMinute, int count, int slotMinutes)
+    {
+        List<AvailableSlot> found = new ArrayList<>(count);
+        DoctorSchedule schedule = doctor.getSchedule();
+        if (schedule.getWorkingDays().isEmpty()) return found;
+
+        ReentrantLock lock = lockFor(doctor.getDoctorName());
+        lock.lock();
+        try
+        {
+            collectFreeSlots(doctor, schedule, start, today, nowMinute, count, slotMinutes, found);
         }
-        catch (Exception e)
+        finally
         {
-            return false;
+            lock.unlock();
         }
+        return found;
+    }
+
+    // Caller holds the doctor's lock stripe
+    private void collectFreeSlots(Doctor doctor, DoctorSchedule schedule, LocalDate start, LocalDate today, int nowMinute, int count, int slotMinutes, List<AvailableSlot> found)
+    {
+        String doctorKey = normalizeName(doctor.getDoctorName());
+        LocalDate date = start;
+        for (int day = 0; day < SLOT_SEARCH_DAYS && found.size() < count; day++, date = date.plusDays(1))
+            {
+                if (!schedule.worksOn(date.getDayOfWeek())) continue;
+
+                for (int r = 0; r < schedule.getRangeCount() && found.size() < count; r++)
+                    {
+                        int end = schedule.getRangeEnd(r);
+                        for (int minute = schedule.getRangeStart(r); minute + slotMinutes <= end && found.size() < count; minute += slotMinutes)
+                            {
+                                if (date.equals(today) && minute <= nowMinute) continue;
+                                if (occupancy.isRangeFree(doctorKey, date, minute, slotMinutes))
+                                    {
+                                        found.add(new AvailableSlot(doctor.getDoctorName(), date, LocalTime.of(minute / 60, minute % 60)));
+                                    }
+                            }
+                    }
+            }
     }
 
     // NEW GUI-FOCUSED PUBLIC METHODS
+    // Each change returns an AppointmentResult: the outcome, the message the panels show, and the journal write
 
-    public String bookAppointment(String patientName, String doctorName, Bookable item, String date, String time)
+    public AppointmentResult book(String patientName, String doctorName, Bookable item, String date, String time)
     {
+        awaitLoaded();
         Doctor doctor = doctorManager.getDoctorByName(doctorName);
 
         if (doctor == null) {
-            return "Booking Failed: Doctor not found.";
+            return new AppointmentResult(AppointmentResult.Outcome.DOCTOR_NOT_FOUND, null, "Booking Failed: Doctor not found.");
         }
 
-        if (!checkAvailability(doctor, date, time))
-            {
-                return "Booking Failed: Dr. " + doctorName + " is not available on " + date + " at " + time + ".";
-            }
-
         double finalPrice = item.getFinalPrice();
 
         // Apply doctor's discount rate for custom packages
@@ -165,94 +618,260 @@ public class AppointmentManager implements Serializable
             finalPrice = finalPrice - discountAmount;
         }
 
-        String appointmentId = "A" + String.format("%04d", appointmentCounter++);
+        // Check-then-claim must be atomic per doctor, otherwise two terminals can take the same slot
+        Appointment newAppt;
+        CompletableFuture<Void> saved;
+        ReentrantLock lock = lockFor(doctorName);
+        lock.lock();
+        try
+        {
+            if (!checkAvailability(doctor, date, time))
+                {
+                    return new AppointmentResult(AppointmentResult.Outcome.SLOT_UNAVAILABLE, null,
+                        "Booking Failed: Dr. " + doctorName + " is not available on " + date + " at " + time + ".");
+                }
+
+            String appointmentId = "A" + String.format("%04d", appointmentCounter.getAndIncrement());
 
-        Appointment newAppt = new Appointment(appointmentId, patientName, doctorName, item.getItemName(), finalPrice, date, time);
+            newAppt = new Appointment(appointmentId, patientName, doctorName, item.getItemName(), finalPrice, date, time);
 
-        appointmentList.add(newAppt);
-        Persistence.save(appointmentList, FILE_NAME);
-        return "Appointment " + appointmentId + " successfully booked! Item: " + item.getItemName();
+            indexLock.writeLock().lock();
+            try
+            {
+                appointmentList.add(newAppt);
+                indexAppointment(newAppt);
+            }
+            finally
+            {
+                indexLock.writeLock().unlock();
+            }
+            addToDoctorDateIndex(newAppt);
+            occupySlot(newAppt);
+            saved = journal.record(newAppt);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        ClinicEventBus.publish(new ClinicEvent.AppointmentBooked(newAppt));
+        return new AppointmentResult(AppointmentResult.Outcome.SUCCESS, newAppt,
+            "Appointment " + newAppt.getAppointmentId() + " successfully booked! Item: " + item.getItemName(), saved);
     }
 
     // --- Viewing Methods ---
 
     public List<Appointment> getAppointmentsByPatient(String patientName, boolean includeAllStatus)
     {
+        awaitLoaded();
         return getPatientAppointments(patientName, includeAllStatus);
     }
 
     public List<Appointment> getAppointmentsByDoctor(String doctorName, boolean includeAllStatus)
     {
-        return appointmentList.stream()
-            .filter(a -> a.getDoctorName().equalsIgnoreCase(doctorName))
-            .filter(a -> includeAllStatus || a.getStatus().equalsIgnoreCase("BOOKED") || a.getStatus().equalsIgnoreCase("COMPLETED"))
-            .sorted(Comparator.comparing(Appointment::getDate).thenComparing(Appointment::getTime))
+        awaitLoaded();
+        return copyIndexBucket(appointmentsByDoctor, doctorName, true).stream()
+            .filter(a -> includeAllStatus || a.getAppointmentStatus() == AppointmentStatus.BOOKED || a.getAppointmentStatus() == AppointmentStatus.COMPLETED)
+            .sorted(Appointment.CHRONOLOGICAL)
             .collect(Collectors.toList());
     }
 
-    // --- Reschedule Method ---
+    // All of a doctor's appointments dated between from and to (both inclusive), earliest first
+    public List<Appointment> getAppointmentsByDoctorBetween(String doctorName, LocalDate from, LocalDate to)
+    {
+        awaitLoaded();
+        List<Appointment> result = new ArrayList<>();
+        if (from == null || to == null || from.isAfter(to)) return result;
+
+        collectDoctorDays(normalizeName(doctorName), from, to, result);
+        result.sort(Appointment.CHRONOLOGICAL);
+        return result;
+    }
 
-    public String rescheduleAppointment(String appointmentId, String newDate, String newTime)
+    // Clinic-wide appointments dated between from and to (both inclusive), earliest first
+    public List<Appointment> getAppointmentsBetween(LocalDate from, LocalDate to)
     {
-        Appointment selectedAppt = findAppointmentById(appointmentId);
+        awaitLoaded();
+        List<Appointment> result = new ArrayList<>();
+        if (from == null || to == null || from.isAfter(to)) return result;
 
-        if (selectedAppt == null || !selectedAppt.getStatus().equalsIgnoreCase("BOOKED"))
+        Set<String> doctorKeys = new HashSet<>(appointmentsByDoctorDate.keySet());
+        doctorKeys.addAll(archive.getDoctorKeys());
+        for (String doctorKey : doctorKeys)
             {
-                return "Reschedule Failed: Appointment ID " + appointmentId + " not found or is not currently BOOKED.";
+                collectDoctorDays(doctorKey, from, to, result);
             }
+        result.sort(Appointment.CHRONOLOGICAL);
+        return result;
+    }
 
-        Doctor doctor = doctorManager.getDoctorByName(selectedAppt.getDoctorName());
+    private void collectDoctorDays(String doctorKey, LocalDate from, LocalDate to, List<Appointment> result)
+    {
+        ReentrantLock lock = lockFor(doctorKey);
+        lock.lock();
+        try
+        {
+            TreeMap<LocalDate, List<Appointment>> days = appointmentsByDoctorDate.get(doctorKey);
+            if (days != null)
+                {
+                    for (List<Appointment> day : days.subMap(from, true, to, true).values())
+                        {
+                            result.addAll(day);
+                        }
+                }
+            result.addAll(archive.getByDoctorBetween(doctorKey, from, to));
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
 
-        if (!checkAvailability(doctor, newDate, newTime))
+    // --- Reschedule Method ---
+
+    public AppointmentResult reschedule(String appointmentId, String newDate, String newTime)
+    {
+        awaitLoaded();
+        String failure = "Reschedule Failed: Appointment ID " + appointmentId + " not found or is not currently BOOKED.";
+        Appointment selectedAppt = findAppointmentById(appointmentId);
+        if (selectedAppt == null)
             {
-                return "Reschedule Failed: Dr. " + selectedAppt.getDoctorName() + " is not available at the new time/date.";
+                return new AppointmentResult(AppointmentResult.Outcome.APPOINTMENT_NOT_FOUND, null, failure);
             }
 
-        selectedAppt.setDate(newDate);
-        selectedAppt.setTime(newTime);
+        CompletableFuture<Void> saved;
+        ReentrantLock lock = lockFor(selectedAppt.getDoctorName());
+        lock.lock();
+        try
+        {
+            // Status is re-read under the doctor's lock so a concurrent cancel cannot slip in between
+            if (selectedAppt.getAppointmentStatus() != AppointmentStatus.BOOKED)
+                {
+                    return new AppointmentResult(AppointmentResult.Outcome.NOT_BOOKED, selectedAppt, failure);
+                }
+
+            Doctor doctor = doctorManager.getDoctorByName(selectedAppt.getDoctorName());
+
+            if (!checkAvailability(doctor, newDate, newTime))
+                {
+                    return new AppointmentResult(AppointmentResult.Outcome.SLOT_UNAVAILABLE, selectedAppt,
+                        "Reschedule Failed: Dr. " + selectedAppt.getDoctorName() + " is not available at the new time/date.");
+                }
+
+            LocalDate oldDate = selectedAppt.getLocalDate();
+            int oldMinute = selectedAppt.getMinuteOfDay();
+            selectedAppt.reschedule(newDate, newTime);
+            moveDoctorDateIndex(selectedAppt, oldDate);
+            vacateSlot(selectedAppt, oldDate, oldMinute);
+            occupySlot(selectedAppt);
 
-        Persistence.save(appointmentList, FILE_NAME);
-        return "Appointment " + appointmentId + " successfully RESCHEDULED to " + newDate + " at " + newTime + ".";
+            saved = journal.record(selectedAppt);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        ClinicEventBus.publish(new ClinicEvent.AppointmentRescheduled(selectedAppt));
+        return new AppointmentResult(AppointmentResult.Outcome.SUCCESS, selectedAppt,
+            "Appointment " + appointmentId + " successfully RESCHEDULED to " + newDate + " at " + newTime + ".", saved);
     }
 
     // --- Cancel Method ---
 
-    public String cancelAppointment(String appointmentId)
+    public AppointmentResult cancel(String appointmentId)
     {
-        Appointment selectedAppt = findAppointmentById(appointmentId);
+        return finish(appointmentId, AppointmentStatus.CANCELLED, "Cancellation Failed",
+            "Appointment " + appointmentId + " successfully CANCELLED.");
+    }
+
+    // --- Doctor-Facing Update Method ---
+    public AppointmentResult complete(String appointmentId)
+    {
+        return finish(appointmentId, AppointmentStatus.COMPLETED, "Update Failed",
+            "Appointment " + appointmentId + " status updated to **" + AppointmentStatus.COMPLETED + "**.");
+    }
 
-        if (selectedAppt == null || !selectedAppt.getStatus().equalsIgnoreCase("BOOKED"))
+    // Moves a BOOKED appointment to a final status and frees its slot
+    private AppointmentResult finish(String appointmentId, AppointmentStatus newStatus, String failurePrefix, String successMessage)
+    {
+        awaitLoaded();
+        String failure = failurePrefix + ": Appointment ID " + appointmentId + " not found or is not currently BOOKED.";
+        Appointment selectedAppt = findAppointmentById(appointmentId);
+        if (selectedAppt == null)
             {
-                return "Cancellation Failed: Appointment ID " + appointmentId + " not found or is not currently BOOKED.";
+                return new AppointmentResult(AppointmentResult.Outcome.APPOINTMENT_NOT_FOUND, null, failure);
             }
 
-        // Update status
-        selectedAppt.setStatus("CANCELLED");
+        CompletableFuture<Void> saved;
+        ReentrantLock lock = lockFor(selectedAppt.getDoctorName());
+        lock.lock();
+        try
+        {
+            if (selectedAppt.getAppointmentStatus() != AppointmentStatus.BOOKED)
+                {
+                    return new AppointmentResult(AppointmentResult.Outcome.NOT_BOOKED, selectedAppt, failure);
+                }
 
-        Persistence.save(appointmentList, FILE_NAME);
-        return "Appointment " + appointmentId + " successfully CANCELLED.";
+            selectedAppt.setStatus(newStatus);
+            vacateSlot(selectedAppt, selectedAppt.getLocalDate(), selectedAppt.getMinuteOfDay());
+            saved = journal.record(selectedAppt);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        ClinicEventBus.publish(new ClinicEvent.AppointmentStatusChanged(selectedAppt));
+        return new AppointmentResult(AppointmentResult.Outcome.SUCCESS, selectedAppt, successMessage, saved);
     }
 
-    // --- Doctor-Facing Update Method ---
-    public String markAppointmentCompleted(String appointmentId)
+    // Folds the journal into a fresh appointments.ser snapshot (archiving finished history first, if enabled)
+    public void compactStorage()
     {
-        String newStatus = "COMPLETED"; // 
+        awaitLoaded();
+        if (moveFinishedToArchive() == 0)
+            {
+                journal.compact();
+            }
+    }
 
-        Appointment selectedAppt = findAppointmentById(appointmentId);
+    // Snapshot of all appointments (a copy, safe to iterate while bookings continue).
+    // Archived appointments follow the active ones and are decoded as the list is read.
+    public List<Appointment> getAllAppointments()
+    {
+        awaitLoaded();
+        List<Appointment> active;
+        AppointmentArchive current;
+        indexLock.readLock().lock();
+        try
+        {
+            active = new ArrayList<>(appointmentList);
+            current = archive;
+        }
+        finally
+        {
+            indexLock.readLock().unlock();
+        }
+        if (current.size() == 0) return active;
 
-        if (selectedAppt == null || !selectedAppt.getStatus().equalsIgnoreCase("BOOKED"))
+        List<Appointment> archived = current.getAll();
+        return new AbstractList<Appointment>()
+        {
+            @Override
+            public Appointment get(int index)
             {
-                return "Update Failed: Appointment ID " + appointmentId + " not found or is not currently BOOKED.";
+                return index < active.size() ? active.get(index) : archived.get(index - active.size());
             }
 
-        selectedAppt.setStatus(newStatus.toUpperCase());
-        Persistence.save(appointmentList, FILE_NAME);
-        return "Appointment " + appointmentId + " status updated to **" + newStatus.toUpperCase() + "**.";
+            @Override
+            public int size()
+            {
+                return active.size() + archived.size();
+            }
+        };
     }
 
-    // Getter for all appointments 
-    public List<Appointment> getAllAppointments()
+    public int getArchivedCount()
     {
-        return appointmentList;
+        awaitLoaded();
+        return archive.size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+import java.util.concurrent.CompletableFuture;
+
+// What a booking, reschedule, cancellation or completion did. Callers that act on the result
+// (the HTTP API, load tests) switch on the outcome; getMessage() is the text the Swing panels show.
+// whenSaved() completes once a successful change is journaled to disk (at once for failures).
+public final class AppointmentResult
+{
+    private static final CompletableFuture<Void> NOTHING_TO_SAVE = CompletableFuture.completedFuture(null);
+
+    public enum Outcome
+    {
+        SUCCESS,
+        DOCTOR_NOT_FOUND,
+        APPOINTMENT_NOT_FOUND,
+        // The appointment exists but is already CANCELLED or COMPLETED
+        NOT_BOOKED,
+        // The doctor does not work then, or the slot is taken
+        SLOT_UNAVAILABLE
+    }
+
+    private final Outcome outcome;
+    private final Appointment appointment;
+    private final String message;
+    private final CompletableFuture<Void> whenSaved;
+
+    AppointmentResult(Outcome outcome, Appointment appointment, String message)
+    {
+        this(outcome, appointment, message, NOTHING_TO_SAVE);
+    }
+
+    AppointmentResult(Outcome outcome, Appointment appointment, String message, CompletableFuture<Void> whenSaved)
+    {
+        this.outcome = outcome;
+        this.appointment = appointment;
+        this.message = message;
+        this.whenSaved = whenSaved;
+    }
+
+    public Outcome getOutcome()
+    {
+        return outcome;
+    }
+
+    public boolean isSuccess()
+    {
+        return outcome == Outcome.SUCCESS;
+    }
+
+    // The appointment acted on; null when it (or its doctor) was not found
+    public Appointment getAppointment()
+    {
+        return appointment;
+    }
+
+    public String getAppointmentId()
+    {
+        return appointment == null ? null : appointment.getAppointmentId();
+    }
+
+    public String getMessage()
+    {
+        return message;
+    }
+
+    public CompletableFuture<Void> whenSaved()
+    {
+        return whenSaved;
+    }
+
+    @Override
+    public String toString()
+    {
+        return outcome + ": " + message;
+    }
+}
\ No newline at end of file
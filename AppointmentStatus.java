@@ -0,0 +1,25 @@
+import java.util.Locale;
+
+public enum AppointmentStatus 
+{
+    BOOKED,
+    RESCHEDULED,
+    COMPLETED,
+    CANCELLED;
+
+    // Whether an appointment in this state keeps its doctor's slot taken
+    public boolean holdsSlot()
+    {
+        return this == BOOKED || this == RESCHEDULED;
+    }
+
+    // Case-insensitive parse of the legacy status strings ("BOOKED", "Completed", ...)
+    public static AppointmentStatus fromString(String status)
+    {
+        if (status == null)
+            {
+                throw new IllegalArgumentException("Appointment status cannot be null.");
+            }
+        return valueOf(status.trim().toUpperCase(Locale.ROOT));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,300 @@
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Table model over one patient's or one doctor's appointments, earliest first.
+ * Rows are the manager's own Appointment objects, so cells are read (and prices formatted) only when painted.
+ * After the initial load it follows the appointment events on ClinicEventBus and inserts, updates or deletes
+ * just the affected rows, instead of clearing and refilling the whole table after every booking.
+ * A reload is stamped with the event sequence read before its snapshot, so events the snapshot already
+ * reflects are dropped and events that arrive while it is being installed are replayed on top of it.
+ */
+public class AppointmentTableModel extends AbstractTableModel
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final int ID_COLUMN = 0;
+    private static final int DATE_COLUMN = 1;
+    private static final int TIME_COLUMN = 2;
+    private static final int COUNTERPART_COLUMN = 3;
+    private static final int ITEM_COLUMN = 4;
+    private static final int PRICE_COLUMN = 5;
+    private static final int STATUS_COLUMN = 6;
+
+    // Rows are ordered by the date and time captured when each was placed, not the live values: the manager
+    // changes an appointment before its event reaches the EDT, and a search over live values would see a
+    // list that is briefly out of order. The row's own event re-places it with the new values.
+    private static final class Row
+    {
+        private final Appointment appointment;
+        private final LocalDate date;
+        private final LocalTime time;
+
+        private Row(Appointment appointment)
+        {
+            this.appointment = appointment;
+            this.date = appointment.getLocalDate();
+            this.time = appointment.getLocalTime();
+        }
+    }
+
+    // Same order as Appointment.CHRONOLOGICAL, which the managers' lists are sorted by
+    private static final Comparator<Row> ROW_ORDER =
+        Comparator.comparing((Row r) -> r.date, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(r -> r.time, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final String[] columnNames;
+    private final Supplier<List<Appointment>> source;
+    private final Predicate<Appointment> belongs;
+    private final Function<Appointment, String> counterpart;
+
+    // Only touched on the EDT
+    private final ArrayList<Row> rows = new ArrayList<>();
+    private final List<ClinicEventBus.Subscription> subscriptions = new ArrayList<>();
+    // Events delivered while a reload is between its snapshot and its install (EDT only)
+    private final List<ClinicEvent> heldEvents = new ArrayList<>();
+    private final AtomicInteger reloadsInFlight = new AtomicInteger();
+
+    private AppointmentTableModel(String[] columnNames, Supplier<List<Appointment>> source,
+                                  Predicate<Appointment> belongs, Function<Appointment, String> counterpart)
+    {
+        this.columnNames = columnNames;
+        this.source = source;
+        this.belongs = belongs;
+        this.counterpart = counterpart;
+        subscriptions.add(ClinicEventBus.subscribe(ClinicEvent.AppointmentBooked.class,
+            events -> events.forEach(e -> receive(e, e.getAppointment()))));
+        subscriptions.add(ClinicEventBus.subscribe(ClinicEvent.AppointmentRescheduled.class,
+            events -> events.forEach(e -> receive(e, e.getAppointment()))));
+        subscriptions.add(ClinicEventBus.subscribe(ClinicEvent.AppointmentStatusChanged.class,
+            events -> events.forEach(e -> receive(e, e.getAppointment()))));
+    }
+
+    // All of a patient's appointments, whatever their status; the counterpart column is the doctor
+    public static AppointmentTableModel forPatient(AppointmentManager appointmentManager, String patientName)
+    {
+        String key = fold(patientName);
+        return new AppointmentTableModel(
+            new String[]{"ID", "Date", "Time", "Doctor", "Item", "Price", "Status"},
+            () -> appointmentManager.getAppointmentsByPatient(patientName, true),
+            a -> key.equals(fold(a.getPatientName())),
+            Appointment::getDoctorName);
+    }
+
+    // A doctor's BOOKED and COMPLETED appointments; the counterpart column is the patient
+    public static AppointmentTableModel forDoctor(AppointmentManager appointmentManager, String doctorName)
+    {
+        String key = fold(doctorName);
+        return new AppointmentTableModel(
+            new String[]{"ID", "Date", "Time", "Patient Name", "Item/Package", "Price", "Status"},
+            () -> appointmentManager.getAppointmentsByDoctor(doctorName, false),
+            a -> key.equals(fold(a.getDoctorName()))
+                && (a.getAppointmentStatus() == AppointmentStatus.BOOKED || a.getAppointmentStatus() == AppointmentStatus.COMPLETED),
+            Appointment::getPatientName);
+    }
+
+    /**
+     * Replaces every row from the manager. Only needed for the initial load; later changes arrive as events.
+     * Call on the EDT. The snapshot is read on a worker thread, since the manager may still be loading its
+     * history and would hold the caller until it finishes; the rows are replaced on the EDT once it arrives.
+     */
+    public void reload()
+    {
+        reloadsInFlight.incrementAndGet();
+        // Read before the snapshot: every event numbered up to here describes a change the snapshot already holds
+        long stamp = ClinicEvent.lastSequence();
+        new SwingWorker<List<Appointment>, Void>()
+        {
+            @Override
+            protected List<Appointment> doInBackground()
+            {
+                return source.get();
+            }
+
+            @Override
+            protected void done()
+            {
+                List<Appointment> loaded = null;
+                try
+                {
+                    loaded = get();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                catch (ExecutionException e)
+                {
+                    System.out.println("Error loading appointments: " + (e.getCause() != null ? e.getCause() : e));
+                }
+                install(loaded, stamp);
+            }
+        }.execute();
+    }
+
+    // loaded is null when the snapshot failed: the rows stay as they are (events kept them current)
+    private void install(List<Appointment> loaded, long stamp)
+    {
+        if (loaded != null)
+            {
+                rows.clear();
+                for (Appointment appointment : loaded)
+                    {
+                        rows.add(new Row(appointment));
+                    }
+                // The source is sorted by live values; sort again by the captured ones in case one moved meanwhile
+                rows.sort(ROW_ORDER);
+                fireTableDataChanged();
+
+                // Events newer than the snapshot that reached the old rows first would otherwise be lost
+                for (ClinicEvent event : heldEvents)
+                    {
+                        if (event.getSequence() > stamp) apply(appointmentOf(event));
+                    }
+            }
+        if (reloadsInFlight.decrementAndGet() == 0)
+            {
+                heldEvents.clear();
+            }
+    }
+
+    // Stops listening; call when the dashboard is discarded so the event bus does not keep it alive
+    public void dispose()
+    {
+        subscriptions.forEach(ClinicEventBus.Subscription::cancel);
+        subscriptions.clear();
+    }
+
+    private void receive(ClinicEvent event, Appointment appointment)
+    {
+        if (reloadsInFlight.get() > 0)
+            {
+                heldEvents.add(event);
+            }
+        apply(appointment);
+    }
+
+    private static Appointment appointmentOf(ClinicEvent event)
+    {
+        if (event instanceof ClinicEvent.AppointmentBooked) return ((ClinicEvent.AppointmentBooked) event).getAppointment();
+        if (event instanceof ClinicEvent.AppointmentRescheduled) return ((ClinicEvent.AppointmentRescheduled) event).getAppointment();
+        return ((ClinicEvent.AppointmentStatusChanged) event).getAppointment();
+    }
+
+    // Brings the one row for this appointment in line with its current state: the old row is
+    // removed and, if the appointment still belongs here, a new one goes in at its sorted place
+    private void apply(Appointment appointment)
+    {
+        int current = indexOf(appointment.getAppointmentId());
+        if (current >= 0)
+            {
+                rows.remove(current);
+            }
+        if (!belongs.test(appointment))
+            {
+                // e.g. a cancelled booking leaving the doctor's view
+                if (current >= 0) fireTableRowsDeleted(current, current);
+                return;
+            }
+
+        Row row = new Row(appointment);
+        int target = insertionPoint(row);
+        rows.add(target, row);
+
+        if (current == target)
+            {
+                fireTableRowsUpdated(target, target);
+            }
+        else
+            {
+                // New, or a reschedule moved it
+                if (current >= 0) fireTableRowsDeleted(current, current);
+                fireTableRowsInserted(target, target);
+            }
+    }
+
+    private int indexOf(String appointmentId)
+    {
+        for (int i = 0; i < rows.size(); i++)
+            {
+                if (rows.get(i).appointment.getAppointmentId().equalsIgnoreCase(appointmentId)) return i;
+            }
+        return -1;
+    }
+
+    // After any rows with the same date and time, matching the order a full reload would give
+    private int insertionPoint(Row row)
+    {
+        int index = Collections.binarySearch(rows, row, ROW_ORDER);
+        if (index < 0) return -index - 1;
+        while (index < rows.size() && ROW_ORDER.compare(rows.get(index), row) == 0)
+            {
+                index++;
+            }
+        return index;
+    }
+
+    public Appointment getAppointmentAt(int row)
+    {
+        return rows.get(row).appointment;
+    }
+
+    @Override
+    public int getRowCount()
+    {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount()
+    {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column)
+    {
+        return columnNames[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column)
+    {
+        return false;
+    }
+
+    // Every cell is a String, as the old DefaultTableModel rows were
+    @Override
+    public Object getValueAt(int row, int column)
+    {
+        Appointment appt = rows.get(row).appointment;
+        switch (column)
+        {
+            case ID_COLUMN: return appt.getAppointmentId();
+            case DATE_COLUMN: return appt.getDate();
+            case TIME_COLUMN: return appt.getTime();
+            case COUNTERPART_COLUMN: return counterpart.apply(appt);
+            case ITEM_COLUMN: return appt.getItemName();
+            case PRICE_COLUMN: return String.format("%.2f", appt.getPrice());
+            case STATUS_COLUMN: return appt.getStatus();
+            default: return null;
+        }
+    }
+
+    private static String fold(String name)
+    {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+
+// A free booking slot returned by AppointmentManager.findNextAvailableSlots
+public class AvailableSlot 
+{
+    // Earliest first; ties broken by doctor name so results are stable
+    public static final Comparator<AvailableSlot> EARLIEST_FIRST =
+        Comparator.comparing(AvailableSlot::getLocalDate)
+            .thenComparing(AvailableSlot::getLocalTime)
+            .thenComparing(AvailableSlot::getDoctorName);
+
+    private final String doctorName;
+    private final LocalDate date;
+    private final LocalTime time;
+
+    public AvailableSlot(String doctorName, LocalDate date, LocalTime time)
+    {
+        this.doctorName = doctorName;
+        this.date = date;
+        this.time = time;
+    }
+
+    public String getDoctorName()
+    {
+        return doctorName;
+    }
+
+    public LocalDate getLocalDate()
+    {
+        return date;
+    }
+
+    public LocalTime getLocalTime()
+    {
+        return time;
+    }
+
+    // Same string formats the booking dialog and checkAvailability accept
+    public String getDate()
+    {
+        return date.format(Appointment.DATE_FORMAT);
+    }
+
+    public String getTime()
+    {
+        return String.format("%02d:%02d", time.getHour(), time.getMinute());
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Dr. " + doctorName + " - " + date.getDayOfWeek().toString().substring(0, 3) + " " + getDate() + " at " + getTime();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Runs manager calls (bookings, cancellations, sign-ups, logins...) on a SwingWorker thread so the
+// EDT never waits on hashing, locks or disk I/O. While a task runs, the owner's window shows a busy
+// overlay that takes the mouse and keyboard, so the same action cannot be fired twice. The result
+// is handed back on the EDT; a failure is reported in a dialog instead of being lost, and so is
+// a change whose write to disk fails after the fact.
+public final class BackgroundTask
+{
+    private static final String BUSY_COUNT_KEY = "dermaheaven.busyCount";
+    private static final String SAVED_GLASS_PANE_KEY = "dermaheaven.savedGlassPane";
+
+    private BackgroundTask()
+    {
+    }
+
+    // busyMessage is shown over the window while work runs; onSuccess runs on the EDT with its result
+    public static <T> void run(Component owner, String busyMessage, Callable<T> work, Consumer<T> onSuccess)
+    {
+        JRootPane rootPane = SwingUtilities.getRootPane(owner);
+        showBusy(rootPane, busyMessage);
+
+        new SwingWorker<T, Void>()
+        {
+            @Override
+            protected T doInBackground() throws Exception
+            {
+                return work.call();
+            }
+
+            @Override
+            protected void done()
+            {
+                hideBusy(rootPane);
+                T result;
+                try
+                {
+                    result = get();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                catch (ExecutionException e)
+                {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.out.println("Error: " + busyMessage + " failed: " + cause);
+                    JOptionPane.showMessageDialog(owner, "The operation failed: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                onSuccess.accept(result);
+            }
+        }.execute();
+    }
+
+    // For changes: whenSaved picks the result's disk write. onSuccess runs as soon as the change is
+    // applied; if the write fails later, a dialog tells the user the change was not kept
+    public static <T> void run(Component owner, String busyMessage, Callable<T> work, Function<T, CompletableFuture<?>> whenSaved, Consumer<T> onSuccess)
+    {
+        run(owner, busyMessage, work, result ->
+            {
+                onSuccess.accept(result);
+                reportSaveFailure(owner, busyMessage, whenSaved.apply(result));
+            });
+    }
+
+    public static void reportSaveFailure(Component owner, String action, CompletableFuture<?> saved)
+    {
+        saved.whenComplete((ignored, error) ->
+            {
+                if (error == null) return;
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                System.out.println("Error: " + action + " was applied but not saved: " + cause);
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(owner,
+                    action + " could not be saved to disk: " + cause.getMessage() + "\nThe change is in effect now but will be lost when the system closes.",
+                    "Save Failed", JOptionPane.ERROR_MESSAGE));
+            });
+    }
+
+    // Nested tasks on one window share the overlay; the original glass pane returns when the last one ends
+    private static void showBusy(JRootPane rootPane, String message)
+    {
+        if (rootPane == null) return;
+
+        int count = busyCount(rootPane);
+        if (count == 0)
+            {
+                rootPane.putClientProperty(SAVED_GLASS_PANE_KEY, rootPane.getGlassPane());
+                rootPane.setGlassPane(new BusyGlassPane());
+            }
+        rootPane.putClientProperty(BUSY_COUNT_KEY, count + 1);
+
+        BusyGlassPane glassPane = (BusyGlassPane) rootPane.getGlassPane();
+        glassPane.message = message;
+        glassPane.setVisible(true);
+        glassPane.requestFocusInWindow();
+        glassPane.repaint();
+    }
+
+    private static void hideBusy(JRootPane rootPane)
+    {
+        if (rootPane == null) return;
+
+        int count = busyCount(rootPane) - 1;
+        rootPane.putClientProperty(BUSY_COUNT_KEY, count);
+        if (count == 0)
+            {
+                Component saved = (Component) rootPane.getClientProperty(SAVED_GLASS_PANE_KEY);
+                rootPane.getGlassPane().setVisible(false);
+                rootPane.setGlassPane(saved);
+                rootPane.putClientProperty(SAVED_GLASS_PANE_KEY, null);
+            }
+    }
+
+    private static int busyCount(JRootPane rootPane)
+    {
+        Object count = rootPane.getClientProperty(BUSY_COUNT_KEY);
+        return count instanceof Integer ? (Integer) count : 0;
+    }
+
+    // Dims the window, shows what is running and swallows input until the task ends
+    private static final class BusyGlassPane extends JComponent
+    {
+        private static final long serialVersionUID = 1L;
+
+        private String message;
+
+        private BusyGlassPane()
+        {
+            setOpaque(false);
+            setFocusable(true);
+            setFocusTraversalKeysEnabled(false);
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            addMouseListener(new MouseAdapter() {});
+            addMouseMotionListener(new MouseAdapter() {});
+            addMouseWheelListener(e -> e.consume());
+            addKeyListener(new KeyAdapter()
+            {
+                @Override
+                public void keyPressed(KeyEvent e)
+                {
+                    e.consume();
+                }
+            });
+        }
+
+        @Override
+        protected void paintComponent(Graphics g)
+        {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setColor(new Color(255, 255, 255, 140));
+            g2.fillRect(0, 0, getWidth(), getHeight());
+            if (message != null)
+                {
+                    g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                    g2.setFont(new Font("SansSerif", Font.BOLD, 16));
+                    g2.setColor(new Color(60, 60, 60));
+                    String text = message + "...";
+                    FontMetrics fm = g2.getFontMetrics();
+                    g2.drawString(text, (getWidth() - fm.stringWidth(text)) / 2, getHeight() / 2);
+                }
+            g2.dispose();
+        }
+    }
+}
\ No newline at end of file
@@ -31,6 +31,9 @@ public class ClinicDashboardPanel extends JPanel
     private JTextField patientNameField;
     private JPasswordField patientPasswordField;
 
+    // Public feedback view, updated from FeedbackSubmitted events
+    private JTextArea feedbackTextArea;
+
     // Store last logged-in patient name for convenience during registration
     private String lastPatientNameAttempt = "";
 
@@ -54,6 +57,10 @@ public class ClinicDashboardPanel extends JPanel
                                     this.doctorManager = doctorManager;
 
                                     setupLayout();
+
+                                    // This panel lives as long as the window, so the subscriptions are never cancelled
+                                    ClinicEventBus.subscribe(ClinicEvent.DoctorRegistered.class, this::onDoctorsRegistered);
+                                    ClinicEventBus.subscribe(ClinicEvent.FeedbackSubmitted.class, events -> refreshFeedbackText());
                                 }
 
     // --- Layout Setup ---
@@ -327,44 +334,49 @@ public class ClinicDashboardPanel extends JPanel
         panel.setBackground(new Color(240, 248, 255));
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
-        // Get data
-        List<Feedback> allFeedbacks = feedbackManager.getAllFeedbacks();
-        double avgRating = feedbackManager.getOverallAverageRating();
+        feedbackTextArea = new JTextArea();
+        feedbackTextArea.setEditable(false);
+        feedbackTextArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        feedbackTextArea.setBackground(new Color(255, 255, 255));
+        refreshFeedbackText();
 
-        JTextArea textArea = new JTextArea();
-        textArea.setEditable(false);
-        textArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
-        textArea.setBackground(new Color(255, 255, 255));
+        JScrollPane scrollPane = new JScrollPane(feedbackTextArea);
+        panel.add(scrollPane, BorderLayout.CENTER);
 
-        if (allFeedbacks.isEmpty())
+        return panel;
+    }
+
+    // Re-renders the 10 most recent reviews; runs once per batch of new feedback, not per review
+    private void refreshFeedbackText()
+    {
+        List<Feedback> recentFeedbacks = feedbackManager.getTopFeedbacks(10, FeedbackOrdering.MOST_RECENT);
+        long reviewCount = feedbackManager.getOverallRatingCount();
+        double avgRating = feedbackManager.getOverallAverageRating();
+
+        if (recentFeedbacks.isEmpty())
             {
-                textArea.setText("No feedbacks yet. Be the first to leave one!");
+                feedbackTextArea.setText("No feedbacks yet. Be the first to leave one!");
             }
         else
             {
                 StringBuilder sb = new StringBuilder();
-                sb.append(String.format("Overall Average Rating: %.2f / 5.0 (from %d reviews)\n", avgRating, allFeedbacks.size()));
+                sb.append(String.format("Overall Average Rating: %.2f / 5.0 (from %d reviews)\n", avgRating, reviewCount));
                 sb.append("----------------------------------------\n");
 
-                for (int i = 0; i < Math.min(10, allFeedbacks.size()); i++)
-                    { // Show top 10
-                        Feedback fb = allFeedbacks.get(i);
+                for (Feedback fb : recentFeedbacks)
+                    { // Show the 10 most recent
                         sb.append(String.format("Rating: %.1f / 5.0 | Doctor: %s\n", fb.getRating(), fb.getDoctorName()));
                         sb.append(String.format("Treatment: %s\n", fb.getServiceName()));
                         sb.append(String.format("Comment: \"%s\"\n", fb.getFeedbackText()));
                         sb.append("----------------------------------------\n");
                     }
-                if (allFeedbacks.size() > 10)
+                if (reviewCount > recentFeedbacks.size())
                     {
                         sb.append("... and more.\n");
                     }
-                textArea.setText(sb.toString());
+                feedbackTextArea.setText(sb.toString());
+                feedbackTextArea.setCaretPosition(0);
             }
-
-        JScrollPane scrollPane = new JScrollPane(textArea);
-        panel.add(scrollPane, BorderLayout.CENTER);
-
-        return panel;
     }
 
     // --- Doctor Panel (Sub-menu for Login/Signup) ---
@@ -646,8 +658,13 @@ public class ClinicDashboardPanel extends JPanel
                 return;
             }
 
-        Doctor loggedInDoctor = doctorAccessManager.attemptLogin(doctorName, password);
+        // Password hashing runs off the EDT
+        BackgroundTask.run(this, "Signing in", () -> doctorAccessManager.attemptLogin(doctorName, password),
+            loggedInDoctor -> showDoctorDashboard(doctorName, loggedInDoctor));
+    }
 
+    private void showDoctorDashboard(String doctorName, Doctor loggedInDoctor)
+    {
         if (loggedInDoctor != null) 
             {
                 JOptionPane.showMessageDialog(this, "Login successful! Welcome, Dr. " + doctorName + ".");
@@ -678,8 +695,13 @@ public class ClinicDashboardPanel extends JPanel
                 return;
             }
 
-        Patient loggedInPatient = patientManager.attemptLogin(name, password);
+        // Password hashing runs off the EDT
+        BackgroundTask.run(this, "Signing in", () -> patientManager.attemptLogin(name, password),
+            loggedInPatient -> showPatientDashboard(name, loggedInPatient));
+    }
 
+    private void showPatientDashboard(String name, Patient loggedInPatient)
+    {
         if (loggedInPatient != null) 
             {
                 JOptionPane.showMessageDialog(this, "Login successful! Welcome, " + name + ".");
@@ -739,27 +761,35 @@ public class ClinicDashboardPanel extends JPanel
             return;
         }
 
+        double discountRate;
+        int age;
         try
         {
-            double discountRate = Double.parseDouble(discountStr);
-            int age = Integer.parseInt(ageStr);
-            Doctor newDoctor = doctorManager.registerDoctor(name, password, specialization, workingDaysStr, startTime, endTime, discountRate, age, gender);
-
-            if (newDoctor != null)
-            {
-                JOptionPane.showMessageDialog(this, "Doctor registration successful! Welcome, Dr. " + name + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
-                refreshDoctorComboBox();
-                mainContentCardLayout.show(mainContentPanel, "DOCTOR_LOGIN");
-            }
-            else
-            {
-                JOptionPane.showMessageDialog(this, "Registration failed. Name may be taken.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            discountRate = Double.parseDouble(discountStr);
+            age = Integer.parseInt(ageStr);
         }
         catch (NumberFormatException e)
         {
             JOptionPane.showMessageDialog(this, "Invalid discount rate or age.", "Input Error", JOptionPane.ERROR_MESSAGE);
+            return;
         }
+
+        String doctorGender = gender;
+        BackgroundTask.run(this, "Registering doctor",
+            () -> doctorManager.registerDoctor(name, password, specialization, workingDaysStr, startTime, endTime, discountRate, age, doctorGender),
+            Saved::whenSaved,
+            registration ->
+            {
+                if (registration.get() != null)
+                {
+                    JOptionPane.showMessageDialog(this, "Doctor registration successful! Welcome, Dr. " + name + ".", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    mainContentCardLayout.show(mainContentPanel, "DOCTOR_LOGIN");
+                }
+                else
+                {
+                    JOptionPane.showMessageDialog(this, "Registration failed. Name may be taken.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
     }
 
     private void handlePatientSignup(JTextField nameField, JPasswordField passwordField, JTextField contactField, JTextField emailField, JTextField ageField, ButtonGroup genderGroup)
@@ -797,25 +827,33 @@ public class ClinicDashboardPanel extends JPanel
             return;
         }
 
+        int age;
         try
         {
-            int age = Integer.parseInt(ageStr);
-            Patient newPatient = patientManager.registerPatient(name, password, contact, email, age, gender);
-
-            if (newPatient != null)
-            {
-                JOptionPane.showMessageDialog(this, "Registration successful! Welcome, " + name + ". Please log in.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                mainContentCardLayout.show(mainContentPanel, "PATIENT_LOGIN");
-            }
-            else
-            {
-                JOptionPane.showMessageDialog(this, "Registration failed. Name may be taken.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            age = Integer.parseInt(ageStr);
         }
         catch (NumberFormatException e)
         {
             JOptionPane.showMessageDialog(this, "Invalid age.", "Input Error", JOptionPane.ERROR_MESSAGE);
+            return;
         }
+
+        String patientGender = gender;
+        BackgroundTask.run(this, "Registering patient",
+            () -> patientManager.registerPatient(name, password, contact, email, age, patientGender),
+            Saved::whenSaved,
+            registration ->
+            {
+                if (registration.get() != null)
+                {
+                    JOptionPane.showMessageDialog(this, "Registration successful! Welcome, " + name + ". Please log in.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    mainContentCardLayout.show(mainContentPanel, "PATIENT_LOGIN");
+                }
+                else
+                {
+                    JOptionPane.showMessageDialog(this, "Registration failed. Name may be taken.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
     }
 
     private void handlePatientSignup(ActionEvent e)
@@ -899,26 +937,34 @@ public class ClinicDashboardPanel extends JPanel
                 return;
             }
 
+            int age;
             try
             {
-                int age = Integer.parseInt(ageStr);
-                Patient newPatient = patientManager.registerPatient(newName, newPassword, contact, email, age, gender);
-
-                if (newPatient != null)
-                {
-                    JOptionPane.showMessageDialog(this, "Registration successful! Welcome, " + newName + ". Please log in.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                    patientNameField.setText(newName);
-                    patientPasswordField.setText(newPassword);
-                }
-                else
-                {
-                    JOptionPane.showMessageDialog(this, "Registration failed. Name may be taken.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                age = Integer.parseInt(ageStr);
             }
             catch (NumberFormatException ex)
             {
                 JOptionPane.showMessageDialog(this, "Invalid age.", "Input Error", JOptionPane.ERROR_MESSAGE);
+                return;
             }
+
+            String patientGender = gender;
+            BackgroundTask.run(this, "Registering patient",
+                () -> patientManager.registerPatient(newName, newPassword, contact, email, age, patientGender),
+                Saved::whenSaved,
+                registration ->
+                {
+                    if (registration.get() != null)
+                    {
+                        JOptionPane.showMessageDialog(this, "Registration successful! Welcome, " + newName + ". Please log in.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        patientNameField.setText(newName);
+                        patientPasswordField.setText(newPassword);
+                    }
+                    else
+                    {
+                        JOptionPane.showMessageDialog(this, "Registration failed. Name may be taken.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
         }
     }
 
@@ -932,6 +978,15 @@ public class ClinicDashboardPanel extends JPanel
         }
     }
 
+    // Newly registered doctors (from this window or any other) are appended to the login list
+    private void onDoctorsRegistered(List<ClinicEvent.DoctorRegistered> events)
+    {
+        for (ClinicEvent.DoctorRegistered event : events)
+        {
+            doctorNameComboBox.addItem(event.getDoctor().getDoctorName());
+        }
+    }
+
     private void handleViewPublicFeedback(ActionEvent e)
     {
         // Switch to feedback panel
@@ -0,0 +1,140 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+// Change events published by the managers on ClinicEventBus. Each carries the live entity that
+// changed; subscribers read its current state when the batch reaches them on the EDT.
+public abstract class ClinicEvent
+{
+    private static final AtomicLong LAST_SEQUENCE = new AtomicLong();
+
+    // Numbered when created, which the managers do right after applying the change
+    private final long sequence = LAST_SEQUENCE.incrementAndGet();
+
+    public final long getSequence()
+    {
+        return sequence;
+    }
+
+    // The newest number handed out so far; every event created after this call is numbered higher
+    public static long lastSequence()
+    {
+        return LAST_SEQUENCE.get();
+    }
+
+    // Events of the same type and key that are waiting in one batch collapse into the latest;
+    // null means every event is delivered
+    Object getCoalesceKey()
+    {
+        return null;
+    }
+
+    public static final class AppointmentBooked extends ClinicEvent
+    {
+        private final Appointment appointment;
+
+        public AppointmentBooked(Appointment appointment)
+        {
+            this.appointment = appointment;
+        }
+
+        public Appointment getAppointment()
+        {
+            return appointment;
+        }
+    }
+
+    // Cancelled or completed; carries the status it was published with
+    public static final class AppointmentStatusChanged extends ClinicEvent
+    {
+        private final Appointment appointment;
+        private final AppointmentStatus status;
+
+        public AppointmentStatusChanged(Appointment appointment)
+        {
+            this.appointment = appointment;
+            this.status = appointment.getAppointmentStatus();
+        }
+
+        public Appointment getAppointment()
+        {
+            return appointment;
+        }
+
+        public AppointmentStatus getStatus()
+        {
+            return status;
+        }
+
+        @Override
+        Object getCoalesceKey()
+        {
+            return appointment.getAppointmentId();
+        }
+    }
+
+    // Moved to a new date and/or time; the status stays BOOKED
+    public static final class AppointmentRescheduled extends ClinicEvent
+    {
+        private final Appointment appointment;
+
+        public AppointmentRescheduled(Appointment appointment)
+        {
+            this.appointment = appointment;
+        }
+
+        public Appointment getAppointment()
+        {
+            return appointment;
+        }
+
+        @Override
+        Object getCoalesceKey()
+        {
+            return appointment.getAppointmentId();
+        }
+    }
+
+    public static final class FeedbackSubmitted extends ClinicEvent
+    {
+        private final Feedback feedback;
+
+        public FeedbackSubmitted(Feedback feedback)
+        {
+            this.feedback = feedback;
+        }
+
+        public Feedback getFeedback()
+        {
+            return feedback;
+        }
+    }
+
+    public static final class DoctorRegistered extends ClinicEvent
+    {
+        private final Doctor doctor;
+
+        public DoctorRegistered(Doctor doctor)
+        {
+            this.doctor = doctor;
+        }
+
+        public Doctor getDoctor()
+        {
+            return doctor;
+        }
+    }
+
+    public static final class PatientRegistered extends ClinicEvent
+    {
+        private final Patient patient;
+
+        public PatientRegistered(Patient patient)
+        {
+            this.patient = patient;
+        }
+
+        public Patient getPatient()
+        {
+            return patient;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Publish/subscribe between the managers and the Swing panels. Managers publish from whatever
+// thread made the change; the event is queued and one task on the EDT delivers everything queued
+// since the last delivery, so a burst of changes reaches each view as a single batch. Subscribers
+// get only the events of the type they asked for, in publish order. Publishing with no subscribers
+// costs one list check.
+public final class ClinicEventBus
+{
+    // Returned by subscribe; cancel it when the view is discarded
+    public interface Subscription
+    {
+        void cancel();
+    }
+
+    private static final class Subscriber<E extends ClinicEvent> implements Subscription
+    {
+        private final Class<E> type;
+        private final Consumer<List<E>> handler;
+        private volatile boolean cancelled;
+
+        private Subscriber(Class<E> type, Consumer<List<E>> handler)
+        {
+            this.type = type;
+            this.handler = handler;
+        }
+
+        private void deliver(List<ClinicEvent> batch)
+        {
+            // Cancelled by an earlier subscriber in this same batch (e.g. a dashboard closing)
+            if (cancelled) return;
+
+            List<E> matching = new ArrayList<>();
+            for (ClinicEvent event : batch)
+                {
+                    if (type.isInstance(event)) matching.add(type.cast(event));
+                }
+            if (!matching.isEmpty())
+                {
+                    handler.accept(matching);
+                }
+        }
+
+        @Override
+        public void cancel()
+        {
+            cancelled = true;
+            subscribers.remove(this);
+        }
+    }
+
+    private static final CopyOnWriteArrayList<Subscriber<?>> subscribers = new CopyOnWriteArrayList<>();
+
+    private static final Object QUEUE_LOCK = new Object();
+    private static ArrayList<ClinicEvent> pending = new ArrayList<>();
+    // Position in pending of each coalescible event, keyed by [type, coalesce key]
+    private static HashMap<List<Object>, Integer> pendingByKey = new HashMap<>();
+    private static boolean deliveryScheduled;
+
+    private ClinicEventBus()
+    {
+    }
+
+    // The handler runs on the EDT with every event of this type from one batch
+    public static <E extends ClinicEvent> Subscription subscribe(Class<E> type, Consumer<List<E>> handler)
+    {
+        Subscriber<E> subscriber = new Subscriber<>(type, handler);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    public static void publish(ClinicEvent event)
+    {
+        if (subscribers.isEmpty()) return;
+
+        synchronized (QUEUE_LOCK)
+        {
+            Object key = event.getCoalesceKey();
+            Integer position = key == null ? null : pendingByKey.get(Arrays.asList(event.getClass(), key));
+            if (position != null)
+                {
+                    pending.set(position, event);
+                }
+            else
+                {
+                    if (key != null) pendingByKey.put(Arrays.asList(event.getClass(), key), pending.size());
+                    pending.add(event);
+                }
+
+            if (!deliveryScheduled)
+                {
+                    deliveryScheduled = true;
+                    EventQueue.invokeLater(ClinicEventBus::deliver);
+                }
+        }
+    }
+
+    public static int getSubscriberCount()
+    {
+        return subscribers.size();
+    }
+
+    private static void deliver()
+    {
+        List<ClinicEvent> batch;
+        synchronized (QUEUE_LOCK)
+        {
+            batch = pending;
+            pending = new ArrayList<>();
+            pendingByKey = new HashMap<>();
+            deliveryScheduled = false;
+        }
+
+        for (Subscriber<?> subscriber : subscribers)
+            {
+                try
+                {
+                    subscriber.deliver(batch);
+                }
+                catch (RuntimeException e)
+                {
+                    // One failing view must not keep the others from updating
+                    System.out.println("Error delivering clinic events: " + e);
+                }
+            }
+    }
+}
\ No newline at end of file
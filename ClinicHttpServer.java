@@ -0,0 +1,762 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Headless server mode: the managers behind a JSON HTTP API for the front desk, kiosk and website.
+//
+//   java -cp target/classes ClinicHttpServer --port=8080 [--host=127.0.0.1] [--maxInFlight=256] [--threads=64] [--apiKey=KEY]
+//
+//   GET  /api/health                               store sizes and server load
+//   GET  /api/doctors                              doctors with their working days and hours
+//   GET  /api/services                             bookable services
+//   GET  /api/slots?doctor=NAME&from=d-M-yyyy&count=5    earliest free 30-minute slots (doctor optional)
+//   GET  /api/appointments?patient=NAME[&all=false]      a patient's appointments (all statuses by default)   patient or staff
+//   GET  /api/appointments?doctor=NAME[&all=true]        a doctor's BOOKED/COMPLETED appointments by default  staff
+//   POST /api/appointments                         {"patient","doctor","service" (ID or name),"date","time"}   patient or staff
+//   POST /api/appointments/{id}/reschedule         {"date","time"}                                             patient or staff
+//   POST /api/appointments/{id}/cancel                                                                         patient or staff
+//   POST /api/appointments/{id}/complete                                                                       staff
+//   POST /api/patients                             {"name","password","contact","email","age","gender"}        staff
+//   GET  /api/feedback?doctor=NAME
+//   POST /api/feedback                             {"patient","doctor","service","comment","rating"}           patient or staff
+//
+// Changes and appointment lists need credentials. A patient sends HTTP Basic (their name and password, checked like a GUI login)
+// and may only act in their own name and see or change their own appointments. Staff (the front desk, or the website's
+// backend registering patients) send the API key in an X-Api-Key header; the key comes from --apiKey or the
+// dermaheaven.apiKey system property, and without one staff actions are refused. Missing or wrong
+// credentials get 401, acting for someone else 403.
+//
+// Requests run one per virtual thread when the JVM has them (Java 21+), otherwise on a fixed pool.
+// Either way at most maxInFlight requests are inside the managers at once; the rest get 503 with
+// Retry-After instead of queueing without bound. Consistency comes from the managers themselves
+// (per-doctor booking locks, synchronized patient and feedback stores). A change is answered once it
+// is on disk (the journal's or write-behind persistence's next group write, normally within 50 ms);
+// if that write fails the answer is 500, as the change will not survive a restart.
+// Credentials travel in clear text, and the server binds to localhost by default: put it behind the clinic's own TLS gateway.
+public class ClinicHttpServer
+{
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 256;
+    public static final int DEFAULT_POOL_THREADS = 64;
+    private static final int SLOT_MINUTES = 30;
+    private static final int MAX_SLOT_COUNT = 50;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int SAVE_TIMEOUT_SECONDS = 30;
+    public static final String API_KEY_PROPERTY = "dermaheaven.apiKey";
+    private static final String API_KEY_HEADER = "X-Api-Key";
+
+    private final AppointmentManager appointmentManager;
+    private final DoctorManager doctorManager;
+    private final PatientManager patientManager;
+    private final ServiceManager serviceManager;
+    private final FeedbackManager feedbackManager;
+    // Null or empty: no staff key configured, staff-only routes are refused
+    private final byte[] apiKey;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String executorDescription;
+    private final Semaphore admission;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Thrown by a route to answer with an error status and message
+    private static final class ApiException extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        private ApiException(int status, String message)
+        {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private static final class Reply
+    {
+        private final int status;
+        private final Object body;
+
+        private Reply(int status, Object body)
+        {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    public ClinicHttpServer(AppointmentManager appointmentManager, DoctorManager doctorManager, PatientManager patientManager,
+                            ServiceManager serviceManager, FeedbackManager feedbackManager,
+                            String host, int port, int maxInFlight, int poolThreads, String apiKey) throws IOException
+    {
+        this.appointmentManager = appointmentManager;
+        this.doctorManager = doctorManager;
+        this.patientManager = patientManager;
+        this.serviceManager = serviceManager;
+        this.feedbackManager = feedbackManager;
+        this.apiKey = apiKey == null || apiKey.isEmpty() ? null : apiKey.getBytes(StandardCharsets.UTF_8);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.admission = new Semaphore(this.maxInFlight);
+
+        ExecutorService virtualThreads = newVirtualThreadExecutor();
+        if (virtualThreads != null)
+            {
+                executor = virtualThreads;
+                executorDescription = "virtual thread per request";
+            }
+        else
+            {
+                int threads = Math.max(1, poolThreads);
+                AtomicInteger threadNumber = new AtomicInteger(1);
+                executor = Executors.newFixedThreadPool(threads, r ->
+                    {
+                        Thread t = new Thread(r, "http-worker-" + threadNumber.getAndIncrement());
+                        t.setDaemon(true);
+                        return t;
+                    });
+                executorDescription = "pool of " + threads + " threads (virtual threads need Java 21)";
+            }
+
+        // Headers and body go out in separate writes; without TCP_NODELAY each small reply waits ~40 ms
+        // on Nagle's algorithm and delayed ACKs. Read when the JDK server is first used, so set it before then.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null)
+            {
+                System.setProperty("sun.net.httpserver.nodelay", "true");
+            }
+        server = HttpServer.create(new InetSocketAddress(host, port), 1024);
+        server.createContext("/api/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor, looked up at run time so the code still builds for Java 17
+    private static ExecutorService newVirtualThreadExecutor()
+    {
+        try
+        {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            // Not available (before Java 21, or a preview feature that is switched off)
+            return null;
+        }
+    }
+
+    public void start()
+    {
+        server.start();
+    }
+
+    // Stops accepting requests, gives running ones up to delaySeconds to finish, then stops the workers
+    public void stop(int delaySeconds)
+    {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int getPort()
+    {
+        return server.getAddress().getPort();
+    }
+
+    public String getExecutorDescription()
+    {
+        return executorDescription;
+    }
+
+    // --- Request handling ---
+
+    private void handle(HttpExchange exchange) throws IOException
+    {
+        try
+        {
+            if (!admission.tryAcquire())
+                {
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    send(exchange, new Reply(503, error("Server busy, retry shortly.")));
+                    return;
+                }
+            inFlight.incrementAndGet();
+            Reply reply;
+            try
+            {
+                reply = route(exchange);
+            }
+            catch (ApiException e)
+            {
+                if (e.status == 401) exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"DermaHeaven\", charset=\"UTF-8\"");
+                reply = new Reply(e.status, error(e.getMessage()));
+            }
+            catch (IllegalArgumentException e)
+            {
+                reply = new Reply(400, error(e.getMessage()));
+            }
+            catch (RuntimeException e)
+            {
+                System.out.println("Error: " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed: " + e);
+                reply = new Reply(500, error("Internal error."));
+            }
+            finally
+            {
+                inFlight.decrementAndGet();
+                admission.release();
+            }
+            send(exchange, reply);
+        }
+        finally
+        {
+            exchange.close();
+        }
+    }
+
+    private Reply route(HttpExchange exchange) throws IOException
+    {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        switch (path[0])
+        {
+            case "health":
+                requireMethod(method, "GET");
+                return new Reply(200, health());
+            case "doctors":
+                requireMethod(method, "GET");
+                return new Reply(200, listDoctors());
+            case "services":
+                requireMethod(method, "GET");
+                return new Reply(200, listServices());
+            case "slots":
+                requireMethod(method, "GET");
+                return new Reply(200, findSlots(query));
+            case "appointments":
+                if (path.length == 1)
+                    {
+                        if ("POST".equals(method)) return bookAppointment(exchange, readBody(exchange));
+                        requireMethod(method, "GET");
+                        return new Reply(200, listAppointments(exchange, query));
+                    }
+                if (path.length == 3)
+                    {
+                        requireMethod(method, "POST");
+                        return changeAppointment(path[1], path[2], exchange);
+                    }
+                break;
+            case "patients":
+                if (path.length == 1)
+                    {
+                        requireMethod(method, "POST");
+                        requireStaff(exchange);
+                        return registerPatient(readBody(exchange));
+                    }
+                break;
+            case "feedback":
+                if ("POST".equals(method)) return submitFeedback(exchange, readBody(exchange));
+                requireMethod(method, "GET");
+                return new Reply(200, listFeedback(query));
+            default:
+                break;
+        }
+        throw new ApiException(404, "No such endpoint: " + exchange.getRequestURI().getPath());
+    }
+
+    private Map<String, Object> health()
+    {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "ok");
+        body.put("doctors", doctorManager.getAllDoctors().size());
+        body.put("services", serviceManager.getAllServices().size());
+        body.put("archivedAppointments", appointmentManager.getArchivedCount());
+        body.put("inFlight", inFlight.get());
+        body.put("maxInFlight", maxInFlight);
+        body.put("executor", executorDescription);
+        return body;
+    }
+
+    private List<Object> listDoctors()
+    {
+        List<Object> doctors = new ArrayList<>();
+        for (Doctor d : doctorManager.getAllDoctors())
+            {
+                Map<String, Object> doctor = new LinkedHashMap<>();
+                doctor.put("id", d.getDoctorId());
+                doctor.put("name", d.getDoctorName());
+                doctor.put("specialization", d.getDoctorSpecialization());
+                doctor.put("workingDays", d.getWorkingDays());
+                doctor.put("workingHours", d.getWorkingHours());
+                doctors.add(doctor);
+            }
+        return doctors;
+    }
+
+    private List<Object> listServices()
+    {
+        List<Object> services = new ArrayList<>();
+        for (Service s : serviceManager.getAllServices())
+            {
+                Map<String, Object> service = new LinkedHashMap<>();
+                service.put("id", s.getServiceId());
+                service.put("name", s.getServiceName());
+                service.put("category", s.getServiceCategory());
+                service.put("price", s.getServicePrice());
+                services.add(service);
+            }
+        return services;
+    }
+
+    private List<Object> findSlots(Map<String, String> query)
+    {
+        List<Doctor> doctors;
+        String doctorName = query.get("doctor");
+        if (doctorName != null)
+            {
+                doctors = Collections.singletonList(requireDoctor(doctorName));
+            }
+        else
+            {
+                doctors = new ArrayList<>(doctorManager.getAllDoctors());
+            }
+        LocalDate from = query.containsKey("from") ? parseDate(query.get("from")) : LocalDate.now();
+        int count = Math.min(MAX_SLOT_COUNT, parseInt(query.getOrDefault("count", "5"), "count"));
+
+        List<Object> slots = new ArrayList<>();
+        for (AvailableSlot slot : appointmentManager.findNextAvailableSlots(doctors, from, count, SLOT_MINUTES))
+            {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("doctor", slot.getDoctorName());
+                entry.put("date", slot.getDate());
+                entry.put("time", slot.getTime());
+                slots.add(entry);
+            }
+        return slots;
+    }
+
+    // Appointments carry treatments, prices and dates: a patient sees only their own, a doctor's list is for staff
+    private List<Object> listAppointments(HttpExchange exchange, Map<String, String> query)
+    {
+        List<Appointment> appointments;
+        if (query.containsKey("patient"))
+            {
+                requirePatientOrStaff(exchange, query.get("patient"));
+                boolean all = !"false".equalsIgnoreCase(query.get("all"));
+                appointments = appointmentManager.getAppointmentsByPatient(query.get("patient"), all);
+            }
+        else if (query.containsKey("doctor"))
+            {
+                requireStaff(exchange);
+                boolean all = "true".equalsIgnoreCase(query.get("all"));
+                appointments = appointmentManager.getAppointmentsByDoctor(query.get("doctor"), all);
+            }
+        else
+            {
+                throw new IllegalArgumentException("Give a patient or doctor parameter.");
+            }
+
+        List<Object> result = new ArrayList<>(appointments.size());
+        for (Appointment appt : appointments)
+            {
+                result.add(toJson(appt));
+            }
+        return result;
+    }
+
+    private Reply bookAppointment(HttpExchange exchange, Map<String, Object> body)
+    {
+        String patient = requireField(body, "patient");
+        requirePatientOrStaff(exchange, patient);
+        String doctor = requireField(body, "doctor");
+        String serviceKey = requireField(body, "service");
+        String date = requireField(body, "date");
+        String time = requireField(body, "time");
+        parseDate(date);
+        parseTime(time);
+
+        if (!patientManager.isPatientRegistered(patient)) throw new ApiException(404, "Unknown patient: " + patient);
+        requireDoctor(doctor);
+        Service service = serviceManager.searchServiceById(serviceKey);
+        if (service == null) service = serviceManager.searchServiceByName(serviceKey);
+        if (service == null) throw new ApiException(404, "Unknown service: " + serviceKey);
+
+        AppointmentResult result = appointmentManager.book(patient, doctor, service, date, time);
+        if (!result.isSuccess()) return new Reply(statusFor(result), error(result.getMessage()));
+        awaitSaved(result.whenSaved());
+
+        Map<String, Object> reply = new LinkedHashMap<>();
+        reply.put("appointmentId", result.getAppointmentId());
+        reply.put("message", result.getMessage());
+        return new Reply(201, reply);
+    }
+
+    private Reply changeAppointment(String appointmentId, String action, HttpExchange exchange) throws IOException
+    {
+        // A patient may cancel or move only their own appointments; completing one is the doctor's side
+        if ("complete".equals(action))
+            {
+                requireStaff(exchange);
+            }
+        else
+            {
+                Appointment appt = appointmentManager.getAppointmentById(appointmentId);
+                if (appt == null) throw new ApiException(404, "Unknown appointment: " + appointmentId);
+                requirePatientOrStaff(exchange, appt.getPatientName());
+            }
+
+        AppointmentResult result;
+        switch (action)
+        {
+            case "cancel":
+                result = appointmentManager.cancel(appointmentId);
+                break;
+            case "complete":
+                result = appointmentManager.complete(appointmentId);
+                break;
+            case "reschedule":
+                Map<String, Object> body = readBody(exchange);
+                String date = requireField(body, "date");
+                String time = requireField(body, "time");
+                parseDate(date);
+                parseTime(time);
+                result = appointmentManager.reschedule(appointmentId, date, time);
+                break;
+            default:
+                throw new ApiException(404, "Unknown appointment action: " + action);
+        }
+
+        if (!result.isSuccess()) return new Reply(statusFor(result), error(result.getMessage()));
+        awaitSaved(result.whenSaved());
+        Map<String, Object> reply = new LinkedHashMap<>();
+        reply.put("appointment", toJson(result.getAppointment()));
+        reply.put("message", result.getMessage());
+        return new Reply(200, reply);
+    }
+
+    // Missing things are 404; an appointment that exists but cannot change (taken slot, already
+    // cancelled or completed) is a conflict with the current state
+    private static int statusFor(AppointmentResult result)
+    {
+        switch (result.getOutcome())
+        {
+            case SUCCESS:
+                return 200;
+            case DOCTOR_NOT_FOUND:
+            case APPOINTMENT_NOT_FOUND:
+                return 404;
+            case NOT_BOOKED:
+            case SLOT_UNAVAILABLE:
+                return 409;
+            default:
+                return 500;
+        }
+    }
+
+    private Reply registerPatient(Map<String, Object> body)
+    {
+        String name = requireField(body, "name");
+        String password = requireField(body, "password");
+        String contact = requireField(body, "contact");
+        String email = optionalField(body, "email");
+        String gender = optionalField(body, "gender");
+        int age = parseInt(requireField(body, "age"), "age");
+
+        Saved<Patient> registration = patientManager.registerPatient(name, password, contact, email, age, gender);
+        Patient patient = registration.get();
+        if (patient == null) return new Reply(409, error("Registration failed. Name may be taken."));
+        awaitSaved(registration.whenSaved());
+
+        Map<String, Object> reply = new LinkedHashMap<>();
+        reply.put("id", patient.getPatientId());
+        reply.put("name", patient.getPatientName());
+        return new Reply(201, reply);
+    }
+
+    private List<Object> listFeedback(Map<String, String> query)
+    {
+        String doctor = query.get("doctor");
+        if (doctor == null) throw new IllegalArgumentException("Give a doctor parameter.");
+
+        List<Object> result = new ArrayList<>();
+        for (Feedback fb : feedbackManager.getFeedbacksForDoctor(doctor))
+            {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("patient", fb.getPatientName());
+                entry.put("service", fb.getServiceName());
+                entry.put("rating", fb.getRating());
+                entry.put("comment", fb.getFeedbackText());
+                result.add(entry);
+            }
+        return result;
+    }
+
+    private Reply submitFeedback(HttpExchange exchange, Map<String, Object> body)
+    {
+        String patient = requireField(body, "patient");
+        requirePatientOrStaff(exchange, patient);
+        String doctor = requireField(body, "doctor");
+        String service = requireField(body, "service");
+        String comment = requireField(body, "comment");
+        double rating;
+        try
+        {
+            rating = Double.parseDouble(requireField(body, "rating"));
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException("rating must be a number.");
+        }
+
+        Saved<String> submission = feedbackManager.submitFeedback(patient, doctor, service, comment, rating);
+        if (submission.isRejected()) return new Reply(400, error(submission.get()));
+        awaitSaved(submission.whenSaved());
+        return new Reply(201, Collections.singletonMap("message", submission.get()));
+    }
+
+    // --- Authentication ---
+
+    private boolean isStaff(HttpExchange exchange)
+    {
+        String key = exchange.getRequestHeaders().getFirst(API_KEY_HEADER);
+        // Constant-time comparison so response timing does not leak the key
+        return apiKey != null && key != null && MessageDigest.isEqual(apiKey, key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void requireStaff(HttpExchange exchange)
+    {
+        if (isStaff(exchange)) return;
+        if (apiKey == null) throw new ApiException(403, "Staff actions are disabled: the server has no API key configured.");
+        throw new ApiException(401, "This action needs the staff API key in the " + API_KEY_HEADER + " header.");
+    }
+
+    // Staff may act for any patient; a patient only for themselves
+    private void requirePatientOrStaff(HttpExchange exchange, String patientName)
+    {
+        if (isStaff(exchange)) return;
+        Patient caller = authenticatePatient(exchange);
+        if (!caller.getPatientName().equalsIgnoreCase(patientName.trim()))
+            {
+                throw new ApiException(403, "Patients may only see or act on their own appointments and feedback.");
+            }
+    }
+
+    // HTTP Basic credentials checked the same way as a GUI login (including its verified-login cache)
+    private Patient authenticatePatient(HttpExchange exchange)
+    {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Basic ", 0, 6))
+            {
+                throw new ApiException(401, "Log in with your patient name and password (HTTP Basic) or use the staff API key.");
+            }
+        String credentials;
+        try
+        {
+            credentials = new String(Base64.getDecoder().decode(header.substring(6).trim()), StandardCharsets.UTF_8);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new ApiException(401, "Malformed Authorization header.");
+        }
+        int colon = credentials.indexOf(':');
+        Patient patient = colon < 0 ? null : patientManager.attemptLogin(credentials.substring(0, colon), credentials.substring(colon + 1));
+        if (patient == null) throw new ApiException(401, "Invalid patient name or password.");
+        return patient;
+    }
+
+    // --- Helpers ---
+
+    private static Map<String, Object> toJson(Appointment appt)
+    {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("id", appt.getAppointmentId());
+        entry.put("patient", appt.getPatientName());
+        entry.put("doctor", appt.getDoctorName());
+        entry.put("item", appt.getItemName());
+        entry.put("price", appt.getPrice());
+        entry.put("date", appt.getDate());
+        entry.put("time", appt.getTime());
+        entry.put("status", appt.getStatus());
+        return entry;
+    }
+
+    // Holds the answer until the change is on disk; a write that fails or hangs is a server error
+    private static void awaitSaved(CompletableFuture<Void> saved)
+    {
+        try
+        {
+            saved.get(SAVE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new ApiException(500, "Interrupted before the change was saved.");
+        }
+        catch (ExecutionException | TimeoutException e)
+        {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.out.println("Error: a change was applied but not saved: " + cause);
+            throw new ApiException(500, "The change was applied but could not be saved to disk.");
+        }
+    }
+
+    private Doctor requireDoctor(String name)
+    {
+        Doctor doctor = doctorManager.getDoctorByName(name);
+        if (doctor == null) throw new ApiException(404, "Unknown doctor: " + name);
+        return doctor;
+    }
+
+    private static void requireMethod(String method, String expected)
+    {
+        if (!expected.equals(method)) throw new ApiException(405, "Use " + expected + " for this endpoint.");
+    }
+
+    private static String requireField(Map<String, Object> body, String name)
+    {
+        String value = optionalField(body, name);
+        if (value == null || value.trim().isEmpty()) throw new IllegalArgumentException("Missing field: " + name);
+        return value.trim();
+    }
+
+    // Numbers arrive as doubles; whole ones are given back without the ".0"
+    private static String optionalField(Map<String, Object> body, String name)
+    {
+        Object value = body.get(name);
+        if (value == null) return null;
+        if (value instanceof Double && (Double) value == Math.rint((Double) value)) return String.valueOf(((Double) value).longValue());
+        return value.toString();
+    }
+
+    private static LocalDate parseDate(String date)
+    {
+        try
+        {
+            return LocalDate.parse(date.trim(), Appointment.DATE_FORMAT);
+        }
+        catch (DateTimeParseException e)
+        {
+            throw new IllegalArgumentException("Dates are d-M-yyyy, e.g. 5-11-2026: " + date);
+        }
+    }
+
+    private static LocalTime parseTime(String time)
+    {
+        try
+        {
+            return LocalTime.parse(time.trim(), Appointment.TIME_FORMAT);
+        }
+        catch (DateTimeParseException e)
+        {
+            throw new IllegalArgumentException("Times are H:mm, e.g. 14:30: " + time);
+        }
+    }
+
+    private static int parseInt(String value, String name)
+    {
+        try
+        {
+            return Integer.parseInt(value.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException(name + " must be a whole number.");
+        }
+    }
+
+    private static Map<String, Object> error(String message)
+    {
+        return Collections.singletonMap("error", message);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery)
+    {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&"))
+            {
+                int eq = pair.indexOf('=');
+                String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+                String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                query.put(key, value);
+            }
+        return query;
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException
+    {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = exchange.getRequestBody())
+        {
+            int read;
+            while ((read = in.read(buffer)) != -1)
+                {
+                    body.write(buffer, 0, read);
+                    if (body.size() > MAX_BODY_BYTES) throw new ApiException(413, "Request body too large.");
+                }
+        }
+        if (body.size() == 0) return new HashMap<>();
+        return Json.parseObject(body.toString(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, Reply reply) throws IOException
+    {
+        byte[] bytes = Json.write(reply.body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(reply.status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody())
+        {
+            out.write(bytes);
+        }
+    }
+
+    // --- Command line ---
+
+    public static void main(String[] args) throws IOException
+    {
+        String host = "127.0.0.1";
+        int port = DEFAULT_PORT;
+        int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        int threads = DEFAULT_POOL_THREADS;
+        String apiKey = System.getProperty(API_KEY_PROPERTY);
+        for (String arg : args)
+            {
+                String[] kv = arg.split("=", 2);
+                String value = kv.length > 1 ? kv[1] : "";
+                switch (kv[0])
+                {
+                    case "--host": host = value; break;
+                    case "--port": port = Integer.parseInt(value); break;
+                    case "--maxInFlight": maxInFlight = Integer.parseInt(value); break;
+                    case "--threads": threads = Integer.parseInt(value); break;
+                    case "--apiKey": apiKey = value; break;
+                    default:
+                        System.out.println("Unknown option: " + arg);
+                        return;
+                }
+            }
+
+        StartupOrchestrator startup = new StartupOrchestrator();
+        ClinicHttpServer server = new ClinicHttpServer(startup.getAppointmentManager(), startup.getDoctorManager(),
+            startup.getPatientManager(), startup.getServiceManager(), startup.getFeedbackManager(),
+            host, port, maxInFlight, threads, apiKey);
+        server.start();
+        if (apiKey == null || apiKey.isEmpty()) System.out.println("No API key configured (--apiKey or -D" + API_KEY_PROPERTY + "): staff actions are disabled.");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1), "http-server-shutdown"));
+        startup.logMilestone("HTTP API listening on http://" + host + ":" + server.getPort() + "/api/ (" + server.getExecutorDescription() + ")");
+    }
+}
\ No newline at end of file
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class CustomPackageManager 
 {
@@ -17,16 +18,16 @@ public class CustomPackageManager
             }
     }
 
-    public String saveNewCustomPackage(String packageName, List<Service> selectedServices) 
+    public synchronized Saved<String> saveNewCustomPackage(String packageName, List<Service> selectedServices) 
     {
         // 1. INPUT VALIDATION
         if (packageName == null || packageName.trim().isEmpty()) 
             {
-                return "Error: Package name cannot be empty.";
+                return Saved.unchanged("Error: Package name cannot be empty.");
             }
         if (selectedServices == null || selectedServices.isEmpty()) 
             {
-                return "Error: A custom package must include at least one service.";
+                return Saved.unchanged("Error: A custom package must include at least one service.");
             }
         
         // 2. CREATION LOGIC
@@ -39,10 +40,10 @@ public class CustomPackageManager
         // 3. PERSISTENCE LOGIC 
         customPackageList.add(newPackage);
         
-        // Assuming Persistence.save handles the serialization correctly
-        Persistence.save(customPackageList, FILE_NAME); 
+        // Saved in the background so the GUI does not wait for serialization
+        CompletableFuture<Void> saved = WriteBehindPersistence.save(this::copyCustomPackages, FILE_NAME); 
         
-        return "Success: Custom package '" + packageName + "' created and saved! Final Price: Rs. " + String.format("%.2f", newPackage.getPackageGrandPrice());
+        return new Saved<>("Success: Custom package '" + packageName + "' created and saved! Final Price: Rs. " + String.format("%.2f", newPackage.getPackageGrandPrice()), saved);
     }
 
     public List<CustomPackage> getAllCustomPackages() 
@@ -70,10 +71,14 @@ public class CustomPackageManager
     }
 
     // Method to save a custom package
-    public CustomPackage saveCustomPackage(CustomPackage customPackage) 
+    public synchronized Saved<CustomPackage> saveCustomPackage(CustomPackage customPackage) 
     {
         customPackageList.add(customPackage);
-        Persistence.save(customPackageList, FILE_NAME);
-        return customPackage;
+        return new Saved<>(customPackage, WriteBehindPersistence.save(this::copyCustomPackages, FILE_NAME));
+    }
+
+    private synchronized ArrayList<CustomPackage> copyCustomPackages()
+    {
+        return new ArrayList<>(customPackageList);
     }
 }
\ No newline at end of file
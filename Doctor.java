@@ -2,6 +2,9 @@ import java.io.Serializable;
 
 public class Doctor implements Serializable 
 {
+    // Pinned to the value of the original class shape so existing doctors.ser files keep loading
+    private static final long serialVersionUID = 2417243208337415895L;
+
     private String doctorId;
     private String doctorName;
     private String doctorSpecialization;
@@ -12,6 +15,9 @@ public class Doctor implements Serializable
     private double discountRate;
     private int doctorAge;
     private String doctorGender;
+
+    // Compiled from workingDays/workingHours on first use; not persisted
+    private transient DoctorSchedule schedule;
     
     // Default constructor (Needed for deserialization)
     public Doctor() 
@@ -70,11 +76,13 @@ public class Doctor implements Serializable
     public void setWorkingDays(String workingDays) 
     {
         this.workingDays = workingDays;
+        this.schedule = null;
     }
 
     public void setWorkingHours(String workingHours) 
     {
         this.workingHours = workingHours;
+        this.schedule = null;
     }
 
     public void setPassword(String password) 
@@ -113,6 +121,18 @@ public class Doctor implements Serializable
         return workingHours;
     }
     
+    // Parsed working days/hours, rebuilt only after setWorkingDays/setWorkingHours
+    public DoctorSchedule getSchedule()
+    {
+        DoctorSchedule compiled = schedule;
+        if (compiled == null)
+            {
+                compiled = DoctorSchedule.compile(workingDays, workingHours);
+                schedule = compiled;
+            }
+        return compiled;
+    }
+
     public String getPassword()
     {
         return password;
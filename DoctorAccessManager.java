@@ -19,16 +19,10 @@ public class DoctorAccessManager
 
     public Doctor attemptLogin(String doctorName, String password) 
     {
-        // 1. Check if a Doctor object exists for the given name
-        Doctor selectedDoctor = doctorManager.getDoctorByName(doctorName);
+        // AUTHENTICATION CHECK: DoctorManager verifies the password against the stored hash
+        Doctor selectedDoctor = doctorManager.authenticate(doctorName, password);
         
-        if (selectedDoctor == null) 
-        {
-            return null;
-        }
-        
-        // 2. AUTHENTICATION CHECK: Compare entered password with stored password 
-        if (password != null && password.equals(selectedDoctor.getPassword())) 
+        if (selectedDoctor != null) 
         {
             this.loggedInDoctorName = doctorName;
             return selectedDoctor; 
@@ -21,9 +21,11 @@ public class DoctorDashboardPanel extends JPanel
     private final FeedbackManager feedbackManager;
     
     // --- Components ---
-    private DefaultTableModel appointmentsTableModel;
+    private AppointmentTableModel appointmentsTableModel;
     private DefaultTableModel feedbackTableModel;
+    private JLabel ratingLabel;
     private JTabbedPane tabbedPane;
+    private ClinicEventBus.Subscription feedbackSubscription;
 
     // --- Constructor ---
     public DoctorDashboardPanel(JPanel mainPanelContainer, CardLayout cardLayout, 
@@ -39,6 +41,9 @@ public class DoctorDashboardPanel extends JPanel
                                     setupLayout();
                                     refreshAppointmentData();
                                     refreshFeedbackData();
+
+                                    // New reviews for this doctor appear without reloading the tab
+                                    feedbackSubscription = ClinicEventBus.subscribe(ClinicEvent.FeedbackSubmitted.class, this::onFeedbackSubmitted);
                                 }
 
     // --- Layout Setup ---
@@ -76,16 +81,8 @@ public class DoctorDashboardPanel extends JPanel
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBorder(new EmptyBorder(15, 15, 15, 15));
 
-        // Table Model Setup
-        String[] columnNames = {"ID", "Date", "Time", "Patient Name", "Item/Package", "Price", "Status"};
-        appointmentsTableModel = new DefaultTableModel(columnNames, 0) 
-        {
-            @Override
-            public boolean isCellEditable(int row, int column) 
-            {
-                return false;
-            }
-        };
+        // Table Model Setup (read-only, kept current by the AppointmentManager's change events)
+        appointmentsTableModel = AppointmentTableModel.forDoctor(appointmentManager, loggedInDoctor.getDoctorName());
         JTable appointmentsTable = new JTable(appointmentsTableModel);
         appointmentsTable.setFont(new Font("Monospaced", Font.PLAIN, 12));
         
@@ -110,8 +107,7 @@ public class DoctorDashboardPanel extends JPanel
         panel.setBorder(new EmptyBorder(15, 15, 15, 15));
 
         // Display Average Rating
-        double avgRating = feedbackManager.getDoctorAverageRating(loggedInDoctor.getDoctorName());
-        JLabel ratingLabel = new JLabel(String.format("<html><h2>Your Average Rating: <span style='color: #4CAF50;'>%.2f / 5.0</span></h2></html>", avgRating));
+        ratingLabel = new JLabel();
         ratingLabel.setHorizontalAlignment(SwingConstants.CENTER);
         panel.add(ratingLabel, BorderLayout.NORTH);
 
@@ -140,36 +136,16 @@ public class DoctorDashboardPanel extends JPanel
     // ===============================================
 
     /**
-     * Refreshes the Appointments table with the latest data for the logged-in doctor.
+     * Loads the Appointments table for the logged-in doctor (BOOKED and COMPLETED only).
+     * Later changes, including bookings made by patients, arrive as single-row updates.
      */
     private void refreshAppointmentData() 
     {
-        appointmentsTableModel.setRowCount(0); 
-        
-        // Get only BOOKED appointments for the doctor's schedule view (or all, depending on design)
-        // We get all to show history/full calendar, then filter by date if needed.
-        List<Appointment> appts = appointmentManager.getAppointmentsByDoctor(loggedInDoctor.getDoctorName(), false); // Only Booked/Completed
-        
-        if (appts != null) 
-            {
-                for (Appointment appt : appts) 
-                    {
-                        appointmentsTableModel.addRow(new Object[]
-                            {
-                                appt.getAppointmentId(), 
-                                appt.getDate(), 
-                                appt.getTime(), 
-                                appt.getPatientName(), 
-                                appt.getItemName(), 
-                                String.format("%.2f", appt.getPrice()),
-                                appt.getStatus()
-                            });
-                    }
-            }
+        appointmentsTableModel.reload();
     }
 
     /**
-     * Refreshes the Feedback table with data relevant to the logged-in doctor.
+     * Refreshes the Feedback table and average rating with data relevant to the logged-in doctor.
      */
     private void refreshFeedbackData() 
     {
@@ -180,16 +156,50 @@ public class DoctorDashboardPanel extends JPanel
         
         for (Feedback fb : feedbacks) 
             {
-                feedbackTableModel.addRow(new Object[]
+                feedbackTableModel.addRow(feedbackRow(fb));
+            }
+        refreshRatingLabel();
+    }
+
+    /**
+     * Adds this doctor's new reviews from one event batch at the top (most recent first).
+     */
+    private void onFeedbackSubmitted(List<ClinicEvent.FeedbackSubmitted> events) 
+    {
+        boolean added = false;
+        for (ClinicEvent.FeedbackSubmitted event : events) 
+            {
+                Feedback fb = event.getFeedback();
+                if (fb.getDoctorName() != null && fb.getDoctorName().equalsIgnoreCase(loggedInDoctor.getDoctorName())) 
                     {
-                        String.format("%.1f / 5.0", fb.getRating()), 
-                        fb.getPatientName(), 
-                        fb.getServiceName(), 
-                        fb.getFeedbackText()
-                    });
+                        feedbackTableModel.insertRow(0, feedbackRow(fb));
+                        added = true;
+                    }
+            }
+        if (added) 
+            {
+                refreshRatingLabel();
             }
     }
 
+    private Object[] feedbackRow(Feedback fb) 
+    {
+        return new Object[]
+            {
+                String.format("%.1f / 5.0", fb.getRating()), 
+                fb.getPatientName(), 
+                fb.getServiceName(), 
+                fb.getFeedbackText()
+            };
+    }
+
+    private void refreshRatingLabel() 
+    {
+        double avgRating = feedbackManager.getDoctorAverageRating(loggedInDoctor.getDoctorName());
+        long ratingCount = feedbackManager.getDoctorRatingCount(loggedInDoctor.getDoctorName());
+        ratingLabel.setText(String.format("<html><h2>Your Average Rating: <span style='color: #4CAF50;'>%.2f / 5.0</span> (from %d reviews)</h2></html>", avgRating, ratingCount));
+    }
+
     // ===============================================
     // --- Action Handlers ---
     // ===============================================
@@ -217,12 +227,12 @@ public class DoctorDashboardPanel extends JPanel
             
         if (confirm == JOptionPane.YES_OPTION) 
             {
-                // Call refactored Manager method
-                String message = appointmentManager.markAppointmentCompleted(apptId);
-            
-                // Display result and refresh data
-                JOptionPane.showMessageDialog(this, message);
-                refreshAppointmentData();
+                // Call refactored Manager method off the EDT, then display the result;
+                // the table updates itself from the manager's change event
+                BackgroundTask.run(this, "Updating appointment",
+                    () -> appointmentManager.complete(apptId),
+                    AppointmentResult::whenSaved,
+                    result -> JOptionPane.showMessageDialog(this, result.getMessage()));
             }
     }
 
@@ -232,6 +242,8 @@ public class DoctorDashboardPanel extends JPanel
         cardLayout.show(mainPanelContainer, "LOGIN_SCREEN");
         
         // Clean up the dashboard instance (as done in Patient Dashboard)
+        appointmentsTableModel.dispose();
+        feedbackSubscription.cancel();
         Component[] components = mainPanelContainer.getComponents();
         for (Component comp : components) 
             {
@@ -1,11 +1,16 @@
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 public class DoctorManager implements Serializable 
 { 
-     private ArrayList<Doctor> doctorList;
+     // Copy-on-write: every booking looks doctors up by name, registrations are rare, and the
+     // booking threads (Swing workers, the HTTP server) must never see the list mid-append
+     private CopyOnWriteArrayList<Doctor> doctorList;
      private final String FILE_NAME = "doctors.ser";
+     private final transient LoginCache loginCache = new LoginCache();
 
      private void loadDefaultDoctors()
      {
@@ -48,12 +53,68 @@ public class DoctorManager implements Serializable
      @SuppressWarnings("unchecked")
      public DoctorManager()
      {
-          doctorList = Persistence.load(FILE_NAME);
-          if (doctorList == null)
+          ArrayList<Doctor> loaded = Persistence.load(FILE_NAME);
+          if (loaded == null)
                {
-                    doctorList = new ArrayList<>();
-                    Persistence.save(doctorList, FILE_NAME);
+                    loaded = new ArrayList<>();
+                    Persistence.save(loaded, FILE_NAME);
                }
+          doctorList = new CopyOnWriteArrayList<>(loaded);
+
+          // Compile every working schedule once up front instead of on each availability check
+          for (Doctor doctor : doctorList)
+               {
+                    doctor.getSchedule();
+               }
+
+          migratePlaintextPasswords();
+     }
+
+     // One-time migration: hash any plaintext passwords left from before PBKDF2, then rewrite doctors.ser
+     private void migratePlaintextPasswords()
+     {
+          List<Doctor> plaintext = doctorList.stream()
+          .filter(d -> d.getPassword() != null && !PasswordHasher.isHashed(d.getPassword()))
+          .collect(Collectors.toList());
+          if (plaintext.isEmpty()) return;
+
+          plaintext.parallelStream().forEach(d -> d.setPassword(PasswordHasher.hash(d.getPassword())));
+          Persistence.save(copyDoctors(), FILE_NAME);
+          System.out.println("Migrated " + plaintext.size() + " doctor password(s) in " + FILE_NAME + " to salted PBKDF2 hashes.");
+     }
+
+     // Returns the doctor if the password matches the stored hash, otherwise null
+     public Doctor authenticate(String name, String password)
+     {
+          Doctor doctor = getDoctorByName(name);
+          if (doctor == null || password == null) return null;
+
+          String account = name.trim().toLowerCase(Locale.ROOT);
+          String stored = doctor.getPassword();
+          if (loginCache.isVerified(account, stored, password)) return doctor;
+          if (!PasswordHasher.verify(password, stored)) return null;
+
+          // Hashed at an older cost setting: upgrade now that the plaintext is at hand
+          if (PasswordHasher.needsRehash(stored))
+               {
+                    String upgraded = PasswordHasher.hash(password);
+                    synchronized (this)
+                    {
+                         if (stored.equals(doctor.getPassword()))
+                              {
+                                   doctor.setPassword(upgraded);
+                                   // Nobody waits on a login's rehash: log a failed save, the old hash still verifies
+                                   WriteBehindPersistence.save(this::copyDoctors, FILE_NAME)
+                                   .exceptionally(e ->
+                                        {
+                                             System.out.println("Warning: Upgraded password hash for Dr. " + doctor.getDoctorName() + " was not saved: " + e);
+                                             return null;
+                                        });
+                              }
+                    }
+               }
+          loginCache.remember(account, doctor.getPassword(), password);
+          return doctor;
      }
 
      // doctor names list
@@ -73,19 +134,18 @@ public class DoctorManager implements Serializable
           .orElse(null);
      }
  
-     public Doctor addDoctor(String name, String specialization, String workingDays, String workingHours, String contact, String password)
+     // The doctor (null if the input is rejected) and the write of doctors.ser holding them
+     public Saved<Doctor> addDoctor(String name, String specialization, String workingDays, String workingHours, String contact, String password)
      {
           if (name == null || name.trim().isEmpty() || password == null || password.isEmpty())
                {
-                    return null;
+                    return Saved.unchanged(null);
                }
 
-          String newId = "D" + String.format("%03d", doctorList.size() + 1);
-          Doctor newDoctor = new Doctor(newId, name, specialization, workingDays, workingHours, contact, password, 0, "Not Specified");
-          doctorList.add(newDoctor);
-          Persistence.save(doctorList, FILE_NAME);
-
-          return newDoctor;
+          // Hash before taking the lock; only numbering and adding the doctor need to be atomic
+          Doctor newDoctor = new Doctor(null, name, specialization, workingDays, workingHours, contact, PasswordHasher.hash(password), 0, "Not Specified");
+          newDoctor.getSchedule();
+          return insertDoctor(newDoctor);
      }
  
      public List<Doctor> getAllDoctors()
@@ -93,20 +153,32 @@ public class DoctorManager implements Serializable
                return doctorList;
           }
 
-     public Doctor registerDoctor(String name, String password, String specialization, String workingDays, String startTime, String endTime, double discountRate, int age, String gender)
+     public Saved<Doctor> registerDoctor(String name, String password, String specialization, String workingDays, String startTime, String endTime, double discountRate, int age, String gender)
      {
           if (name == null || name.trim().isEmpty() || password == null || password.isEmpty())
           {
-               return null;
+               return Saved.unchanged(null);
           }
 
+          // Hash before taking the lock, as in addDoctor
           String workingHours = startTime + " to " + endTime;
-          String newId = "D" + String.format("%03d", doctorList.size() + 1);
-          Doctor newDoctor = new Doctor(name, password, specialization, workingDays, workingHours, discountRate, age, gender);
-          newDoctor.setDoctorId(newId);
+          Doctor newDoctor = new Doctor(name, PasswordHasher.hash(password), specialization, workingDays, workingHours, discountRate, age, gender);
+          newDoctor.getSchedule();
+          return insertDoctor(newDoctor);
+     }
+
+     private synchronized Saved<Doctor> insertDoctor(Doctor newDoctor)
+     {
+          newDoctor.setDoctorId("D" + String.format("%03d", doctorList.size() + 1));
           doctorList.add(newDoctor);
-          Persistence.save(doctorList, FILE_NAME);
+          CompletableFuture<Void> saved = WriteBehindPersistence.save(this::copyDoctors, FILE_NAME);
+          ClinicEventBus.publish(new ClinicEvent.DoctorRegistered(newDoctor));
 
-          return newDoctor;
+          return new Saved<>(newDoctor, saved);
+     }
+
+     private synchronized ArrayList<Doctor> copyDoctors()
+     {
+          return new ArrayList<>(doctorList);
      }
 }
\ No newline at end of file
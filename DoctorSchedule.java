@@ -0,0 +1,185 @@
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.*;
+
+// Compiled form of a doctor's free-text working days/hours, so availability checks
+// never have to re-parse strings like "Wednesday to Friday" or "9:00am to 1:00pm".
+public final class DoctorSchedule
+{
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final EnumSet<DayOfWeek> workingDays;
+    // Working hour ranges as [start, end) minute-of-day pairs; empty means hours are not restricted
+    private final int[] rangeStarts;
+    private final int[] rangeEnds;
+
+    private DoctorSchedule(EnumSet<DayOfWeek> workingDays, int[] rangeStarts, int[] rangeEnds)
+    {
+        this.workingDays = workingDays;
+        this.rangeStarts = rangeStarts;
+        this.rangeEnds = rangeEnds;
+    }
+
+    public static DoctorSchedule compile(String workingDays, String workingHours)
+    {
+        return new DoctorSchedule(parseDays(workingDays), new int[0], new int[0]).withHours(workingHours);
+    }
+
+    public boolean worksOn(DayOfWeek day)
+    {
+        return workingDays.contains(day);
+    }
+
+    public boolean coversMinute(int minuteOfDay)
+    {
+        if (rangeStarts.length == 0) return true;
+        for (int i = 0; i < rangeStarts.length; i++)
+            {
+                if (minuteOfDay >= rangeStarts[i] && minuteOfDay < rangeEnds[i])
+                    {
+                        return true;
+                    }
+            }
+        return false;
+    }
+
+    public boolean hasRestrictedHours()
+    {
+        return rangeStarts.length > 0;
+    }
+
+    public int getRangeCount()
+    {
+        return rangeStarts.length == 0 ? 1 : rangeStarts.length;
+    }
+
+    public int getRangeStart(int index)
+    {
+        return rangeStarts.length == 0 ? 0 : rangeStarts[index];
+    }
+
+    public int getRangeEnd(int index)
+    {
+        return rangeEnds.length == 0 ? MINUTES_PER_DAY : rangeEnds[index];
+    }
+
+    public Set<DayOfWeek> getWorkingDays()
+    {
+        return Collections.unmodifiableSet(workingDays);
+    }
+
+    // --- Parsing (runs once per doctor, not per availability check) ---
+
+    private static EnumSet<DayOfWeek> parseDays(String text)
+    {
+        EnumSet<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        if (text == null) return days;
+
+        String[] tokens = text.toLowerCase(Locale.ROOT).trim().split("[,\\s\\-&]+");
+        for (int i = 0; i < tokens.length; i++)
+            {
+                DayOfWeek day = parseDay(tokens[i]);
+                if (day == null) continue;
+
+                // "Wednesday to Friday" style ranges, wrapping past Sunday if needed
+                if (i + 2 < tokens.length && tokens[i + 1].equals("to"))
+                    {
+                        DayOfWeek end = parseDay(tokens[i + 2]);
+                        if (end != null)
+                            {
+                                for (DayOfWeek d = day; ; d = d.plus(1))
+                                    {
+                                        days.add(d);
+                                        if (d == end) break;
+                                    }
+                                i += 2;
+                                continue;
+                            }
+                    }
+                days.add(day);
+            }
+        return days;
+    }
+
+    private static DayOfWeek parseDay(String token)
+    {
+        if (token.length() < 3) return null;
+        for (DayOfWeek day : DayOfWeek.values())
+            {
+                String name = day.name().toLowerCase(Locale.ROOT);
+                if (name.equals(token) || (token.length() == 3 && name.startsWith(token)))
+                    {
+                        return day;
+                    }
+            }
+        return null;
+    }
+
+    private DoctorSchedule withHours(String text)
+    {
+        if (text == null || text.trim().isEmpty()) return this;
+
+        List<int[]> ranges = new ArrayList<>();
+        for (String part : text.toLowerCase(Locale.ROOT).split("[,;]"))
+            {
+                String[] bounds = part.split("\\s+to\\s+|\\s*-\\s*");
+                if (bounds.length != 2) continue;
+                int start = parseMinute(bounds[0]);
+                int end = parseMinute(bounds[1]);
+                if (start < 0 || end < 0 || start == end) continue;
+
+                if (start < end)
+                    {
+                        ranges.add(new int[] {start, end});
+                    }
+                else
+                    {
+                        // Overnight shift: split at midnight
+                        ranges.add(new int[] {start, MINUTES_PER_DAY});
+                        ranges.add(new int[] {0, end});
+                    }
+            }
+
+        // Unparseable hours leave the day unrestricted rather than blocking every booking
+        if (ranges.isEmpty()) return this;
+
+        int[] starts = new int[ranges.size()];
+        int[] ends = new int[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++)
+            {
+                starts[i] = ranges.get(i)[0];
+                ends[i] = ranges.get(i)[1];
+            }
+        return new DoctorSchedule(workingDays, starts, ends);
+    }
+
+    // Accepts "9:00am", "1pm", "09:00", "14:30"; returns minute of day or -1
+    private static int parseMinute(String text)
+    {
+        String value = text.replace(" ", "").replace(".", "");
+        boolean pm = value.endsWith("pm");
+        boolean am = value.endsWith("am");
+        if (pm || am)
+            {
+                value = value.substring(0, value.length() - 2);
+            }
+
+        try
+        {
+            String[] hm = value.split(":");
+            int hour = Integer.parseInt(hm[0]);
+            int minute = hm.length > 1 ? Integer.parseInt(hm[1]) : 0;
+            if (am || pm)
+                {
+                    if (hour < 1 || hour > 12) return -1;
+                    hour = hour % 12 + (pm ? 12 : 0);
+                }
+            if (hour == 24 && minute == 0) return MINUTES_PER_DAY;
+            return LocalTime.of(hour, minute).toSecondOfDay() / 60;
+        }
+        catch (RuntimeException e)
+        {
+            return -1;
+        }
+    }
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 import java.io.Serializable;
 class Feedback implements Serializable
 {
+    // Pinned to the value of the original class shape so existing feedbacks.ser files keep loading
+    private static final long serialVersionUID = -2703712569684840787L;
+
     private String feedbackId;
     private String patientName;
     private String serviceName;
@@ -57,6 +60,19 @@ class Feedback implements Serializable
         return feedbackText;
     }
 
+    // Numeric part of the ID ("F1024" -> 1024), i.e. submission order; -1 if the ID is malformed
+    public long getSequenceNumber()
+    {
+        try
+        {
+            return Long.parseLong(feedbackId.substring(1));
+        }
+        catch (RuntimeException e)
+        {
+            return -1;
+        }
+    }
+
 
     // Setters 
 
@@ -1,5 +1,6 @@
 import java.util.*;
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors; 
 
 public class FeedbackManager implements Serializable
@@ -9,6 +10,14 @@ public class FeedbackManager implements Serializable
 
     private final String FILE_NAME = "feedbacks.ser"; 
 
+    // How many entries each top-feedback ranking keeps; larger requests fall back to a full sort
+    public static final int TOP_FEEDBACK_CAPACITY = 100;
+
+    // Running rating aggregates and top-k rankings, rebuilt on load and updated by submitFeedback
+    private transient RatingSummary overallRatings;
+    private transient HashMap<String, RatingSummary> ratingsByDoctor;
+    private transient TopFeedbacks topFeedbacks;
+
     @SuppressWarnings("unchecked")
     public FeedbackManager() 
     {
@@ -37,13 +46,47 @@ public class FeedbackManager implements Serializable
                 // If ID is invalid, skip it and continue the count.
             }
         }
+
+        rebuildSummaries();
+    }
+
+    private void rebuildSummaries()
+    {
+        overallRatings = new RatingSummary();
+        ratingsByDoctor = new HashMap<>();
+        topFeedbacks = new TopFeedbacks(TOP_FEEDBACK_CAPACITY);
+        for (Feedback fb : feedbackList)
+            {
+                addToSummaries(fb);
+            }
+    }
+
+    private void addToSummaries(Feedback fb)
+    {
+        topFeedbacks.add(fb);
+        overallRatings.add(fb.getRating());
+        if (fb.getDoctorName() != null)
+            {
+                ratingsByDoctor.computeIfAbsent(normalizeName(fb.getDoctorName()), k -> new RatingSummary()).add(fb.getRating());
+            }
+    }
+
+    private synchronized ArrayList<Feedback> copyFeedbacks()
+    {
+        return new ArrayList<>(feedbackList);
     }
 
-    public String submitFeedback(String patientName, String doctorName, String serviceName, String feedbackText, double rating) 
+    private static String normalizeName(String name)
+    {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // The message for the patient and the write of feedbacks.ser holding the new entry
+    public synchronized Saved<String> submitFeedback(String patientName, String doctorName, String serviceName, String feedbackText, double rating) 
     {
         if (patientName == null || doctorName == null || serviceName == null || feedbackText == null || rating < 1.0 || rating > 5.0) 
             {
-                return "Feedback submission failed: Invalid or missing input data.";
+                return Saved.rejected("Feedback submission failed: Invalid or missing input data.");
             }
 
         // Generate feedback ID
@@ -52,45 +95,76 @@ public class FeedbackManager implements Serializable
         Feedback fb = new Feedback(feedbackId, patientName, doctorName, serviceName, feedbackText, rating); 
         
         feedbackList.add(fb);
+        addToSummaries(fb);
 
-        // Save after adding
-        Persistence.save(feedbackList, FILE_NAME);
+        // Save after adding (in the background, coalesced with other submissions)
+        CompletableFuture<Void> saved = WriteBehindPersistence.save(this::copyFeedbacks, FILE_NAME);
+        ClinicEventBus.publish(new ClinicEvent.FeedbackSubmitted(fb));
 
-        return "Thank you! Your feedback (" + feedbackId + ") has been recorded.";
+        return new Saved<>("Thank you! Your feedback (" + feedbackId + ") has been recorded.", saved);
     }
     
-    public List<Feedback> getAllFeedbacks()
+    public synchronized List<Feedback> getAllFeedbacks()
     {
         return feedbackList.stream()
-            .sorted((fb1, fb2) -> fb2.getFeedbackId().compareTo(fb1.getFeedbackId())) // most recent will come first
+            .sorted(FeedbackOrdering.MOST_RECENT.comparator()) // most recent will come first
             .collect(Collectors.toList());
     }
-    
-    public double getOverallAverageRating() 
+
+    // The first k feedbacks in the given ordering, served from the bounded rankings when k fits
+    public synchronized List<Feedback> getTopFeedbacks(int k, FeedbackOrdering ordering)
     {
+        if (k <= topFeedbacks.getCapacity())
+            {
+                return topFeedbacks.top(k, ordering);
+            }
         return feedbackList.stream()
-            .mapToDouble(Feedback::getRating)
-            .average()
-            .orElse(0.0);
+            .sorted(ordering.comparator())
+            .limit(k)
+            .collect(Collectors.toList());
+    }
+    
+    public synchronized double getOverallAverageRating() 
+    {
+        return overallRatings.getAverage();
+    }
+
+    public synchronized long getOverallRatingCount()
+    {
+        return overallRatings.getCount();
     }
 
-    public List<Feedback> getFeedbacksForDoctor(String doctorName) 
+    // Ratings per half-star bucket, see RatingSummary.getHistogram
+    public synchronized long[] getOverallRatingDistribution()
+    {
+        return overallRatings.getHistogram();
+    }
+
+    public synchronized List<Feedback> getFeedbacksForDoctor(String doctorName) 
     {
         return feedbackList.stream()
             // KEY FILTER: Only show feedback addressed to the logged-in doctor
             .filter(fb -> fb.getDoctorName() != null && fb.getDoctorName().equalsIgnoreCase(doctorName))
-            .sorted((fb1, fb2) -> fb2.getFeedbackId().compareTo(fb1.getFeedbackId()))
+            .sorted(FeedbackOrdering.MOST_RECENT.comparator())
             .collect(Collectors.toList());
     }
     
-    public double getDoctorAverageRating(String doctorName)
+    public synchronized double getDoctorAverageRating(String doctorName)
     {
-        List<Feedback> filteredFeedback = getFeedbacksForDoctor(doctorName);
-        
-        return filteredFeedback.stream()
-            .mapToDouble(Feedback::getRating)
-            .average()
-            .orElse(0.0);
+        RatingSummary summary = ratingsByDoctor.get(normalizeName(doctorName));
+        return summary == null ? 0.0 : summary.getAverage();
+    }
+
+    public synchronized long getDoctorRatingCount(String doctorName)
+    {
+        RatingSummary summary = ratingsByDoctor.get(normalizeName(doctorName));
+        return summary == null ? 0 : summary.getCount();
+    }
+
+    public synchronized long[] getDoctorRatingDistribution(String doctorName)
+    {
+        RatingSummary summary = ratingsByDoctor.get(normalizeName(doctorName));
+        return summary == null ? new long[RatingSummary.BUCKET_COUNT] : summary.getHistogram();
     }
     
     // Getter for feedback list 
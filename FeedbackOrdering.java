@@ -0,0 +1,23 @@
+import java.util.Comparator;
+
+// Orderings offered by FeedbackManager.getTopFeedbacks; each comparator puts the best match first
+public enum FeedbackOrdering
+{
+    MOST_RECENT(Comparator.comparingLong(Feedback::getSequenceNumber).reversed()),
+    HIGHEST_RATED(Comparator.comparingDouble(Feedback::getRating).reversed()
+        .thenComparing(Comparator.comparingLong(Feedback::getSequenceNumber).reversed())),
+    LOWEST_RATED(Comparator.comparingDouble(Feedback::getRating)
+        .thenComparing(Comparator.comparingLong(Feedback::getSequenceNumber).reversed()));
+
+    private final Comparator<Feedback> comparator;
+
+    FeedbackOrdering(Comparator<Feedback> comparator)
+    {
+        this.comparator = comparator;
+    }
+
+    public Comparator<Feedback> comparator()
+    {
+        return comparator;
+    }
+}
\ No newline at end of file
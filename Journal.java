@@ -0,0 +1,264 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Append-only journal of entity upserts sitting on top of a Persistence snapshot.
+// Each mutation appends one small length-prefixed record instead of rewriting the
+// whole list; once enough records pile up the journal is compacted into a snapshot.
+// Appends are group-committed: records collect in a buffer and WriteBehindPersistence
+// flushes and fsyncs them once per window, however many arrived in it.
+public class Journal<T extends Serializable>
+{
+    private static final int DEFAULT_COMPACT_THRESHOLD = 1000;
+
+    private final String snapshotFile;
+    private final String journalFile;
+    private final Function<T, String> keyOf;
+    private final Supplier<ArrayList<T>> snapshotSource;
+    private final int compactThreshold;
+
+    private FileOutputStream fileOut;
+    private DataOutputStream out;
+    private int recordsSinceSnapshot;
+    private long recordsAppended;
+    // Serializes compactions; held without the journal's own lock while the snapshot is written
+    private final Object compactionLock = new Object();
+
+    // snapshotSource must return a consistent copy of the full list; it is called when compacting
+    public Journal(String snapshotFile, Function<T, String> keyOf, Supplier<ArrayList<T>> snapshotSource)
+    {
+        this(snapshotFile, keyOf, snapshotSource, DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    public Journal(String snapshotFile, Function<T, String> keyOf, Supplier<ArrayList<T>> snapshotSource, int compactThreshold)
+    {
+        this.snapshotFile = snapshotFile;
+        this.journalFile = snapshotFile.replaceFirst("\\.ser$", "") + ".journal";
+        this.keyOf = keyOf;
+        this.snapshotSource = snapshotSource;
+        this.compactThreshold = compactThreshold;
+    }
+
+    // Loads the snapshot, then replays the journal tail on top of it (last write per key wins)
+    @SuppressWarnings("unchecked")
+    public synchronized ArrayList<T> load()
+    {
+        ArrayList<T> snapshot = Persistence.load(snapshotFile);
+        LinkedHashMap<String, T> byKey = new LinkedHashMap<>();
+        for (T entity : snapshot)
+            {
+                byKey.put(keyOf.apply(entity), entity);
+            }
+
+        File file = Persistence.resolve(journalFile);
+        long validLength = 0;
+        int replayed = 0;
+        if (file.exists())
+            {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+                {
+                    long fileLength = file.length();
+                    while (true)
+                        {
+                            int length = in.readInt();
+                            // A torn or garbage length prefix: treat it like a truncated tail
+                            if (length < 0 || length > fileLength - validLength - 4) break;
+                            byte[] payload = new byte[length];
+                            in.readFully(payload);
+                            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload)))
+                            {
+                                T entity = (T) ois.readObject();
+                                byKey.put(keyOf.apply(entity), entity);
+                            }
+                            validLength += 4 + length;
+                            replayed++;
+                        }
+                }
+                catch (EOFException e)
+                {
+                    // End of journal (or a torn final record from a crash mid-append)
+                }
+                catch (IOException | ClassNotFoundException | ClassCastException e)
+                {
+                    System.out.println("Warning: Journal " + journalFile + " has an unreadable record. Replaying up to it.");
+                }
+
+                // Drop any torn tail so new appends start on a record boundary
+                if (validLength < file.length())
+                    {
+                        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+                        {
+                            raf.setLength(validLength);
+                        }
+                        catch (IOException e)
+                        {
+                            System.out.println("Error trimming " + journalFile + ": " + e.getMessage());
+                        }
+                    }
+            }
+
+        recordsSinceSnapshot = replayed;
+        return new ArrayList<>(byKey.values());
+    }
+
+    // Appends one entity's current state; the future completes once the record is on disk.
+    // Compacts into a fresh snapshot (in the background) when the journal grows too long.
+    public synchronized CompletableFuture<Void> record(T entity)
+    {
+        try
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            try (ObjectOutputStream oos = new ObjectOutputStream(bytes))
+            {
+                oos.writeObject(entity);
+            }
+            DataOutputStream stream = openStream();
+            stream.writeInt(bytes.size());
+            bytes.writeTo(stream);
+            recordsSinceSnapshot++;
+            recordsAppended++;
+        }
+        catch (IOException e)
+        {
+            // Fall back to a full snapshot so the change is not lost
+            System.out.println("Error appending to " + journalFile + ": " + e.getMessage());
+            return compactInBackground();
+        }
+
+        if (recordsSinceSnapshot >= compactThreshold)
+            {
+                compactInBackground();
+            }
+        return WriteBehindPersistence.schedule(journalFile, this::sync);
+    }
+
+    // Writes a full snapshot through Persistence and truncates the journal
+    public void compact()
+    {
+        try
+        {
+            compactOrThrow();
+        }
+        catch (IOException e)
+        {
+            System.out.println("Error compacting " + journalFile + ": " + e.getMessage());
+        }
+    }
+
+    private CompletableFuture<Void> compactInBackground()
+    {
+        return WriteBehindPersistence.schedule(snapshotFile, this::compactOrThrow);
+    }
+
+    // The snapshot is taken and written without holding the journal lock: snapshotSource may need
+    // the owner's locks, and owners call record() while holding them. Records appended meanwhile
+    // are kept, and the journal is only cut back once the snapshot holding its records is written.
+    private void compactOrThrow() throws IOException
+    {
+        synchronized (compactionLock)
+        {
+            long markLength;
+            long markRecords;
+            synchronized (this)
+            {
+                if (out != null) out.flush();
+                markLength = Persistence.resolve(journalFile).length();
+                markRecords = recordsAppended;
+            }
+
+            // Owners mutate memory before recording, so this copy holds every record up to the mark
+            Persistence.saveOrThrow(snapshotSource.get(), snapshotFile);
+
+            synchronized (this)
+            {
+                if (out != null) out.flush();
+                byte[] tail = readFrom(markLength);
+                closeStream();
+                replaceJournal(tail);
+                recordsSinceSnapshot = (int) (recordsAppended - markRecords);
+            }
+        }
+    }
+
+    // Same scheme as Persistence.saveOrThrow: the tail goes to a temp file that is forced to disk and
+    // renamed over the journal, so a crash never leaves a journal missing records the snapshot lacks
+    private void replaceJournal(byte[] tail) throws IOException
+    {
+        File target = Persistence.resolve(journalFile).getAbsoluteFile();
+        File temp = File.createTempFile(target.getName() + ".", ".tmp", target.getParentFile());
+        try
+        {
+            try (FileOutputStream rewrite = new FileOutputStream(temp))
+            {
+                rewrite.write(tail);
+                rewrite.getFD().sync();
+            }
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Persistence.forceDirectory(target.getParentFile());
+        }
+        finally
+        {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    private byte[] readFrom(long offset) throws IOException
+    {
+        File file = Persistence.resolve(journalFile);
+        if (!file.exists() || file.length() <= offset) return new byte[0];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+        {
+            byte[] tail = new byte[(int) (raf.length() - offset)];
+            raf.seek(offset);
+            raf.readFully(tail);
+            return tail;
+        }
+    }
+
+    // Group commit: pushes every buffered record to the file and forces it to disk
+    private synchronized void sync() throws IOException
+    {
+        if (out != null)
+            {
+                out.flush();
+                fileOut.getFD().sync();
+            }
+    }
+
+    public synchronized int getPendingRecordCount()
+    {
+        return recordsSinceSnapshot;
+    }
+
+    private DataOutputStream openStream() throws IOException
+    {
+        if (out == null)
+            {
+                fileOut = new FileOutputStream(Persistence.resolve(journalFile), true);
+                out = new DataOutputStream(new BufferedOutputStream(fileOut));
+            }
+        return out;
+    }
+
+    private void closeStream()
+    {
+        if (out != null)
+            {
+                try
+                {
+                    out.close();
+                }
+                catch (IOException e)
+                {
+                    // Nothing left to flush that matters; the snapshot already holds everything
+                }
+                out = null;
+                fileOut = null;
+            }
+    }
+}
\ No newline at end of file
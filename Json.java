@@ -0,0 +1,286 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Minimal JSON for the HTTP API (no third-party library is on the classpath).
+// write accepts Maps, Lists, Strings, Numbers, Booleans and null; parse returns the same types
+// (objects as LinkedHashMap, arrays as ArrayList, numbers as Double). Malformed input throws
+// IllegalArgumentException, which the server reports as 400 Bad Request.
+public final class Json
+{
+    private final String text;
+    private int pos;
+
+    private Json(String text)
+    {
+        this.text = text;
+    }
+
+    // --- Writing ---
+
+    public static String write(Object value)
+    {
+        StringBuilder out = new StringBuilder();
+        write(value, out);
+        return out.toString();
+    }
+
+    private static void write(Object value, StringBuilder out)
+    {
+        if (value == null)
+            {
+                out.append("null");
+            }
+        else if (value instanceof String)
+            {
+                quote((String) value, out);
+            }
+        else if (value instanceof Number || value instanceof Boolean)
+            {
+                out.append(value);
+            }
+        else if (value instanceof Map)
+            {
+                out.append('{');
+                boolean first = true;
+                for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet())
+                    {
+                        if (!first) out.append(',');
+                        first = false;
+                        quote(String.valueOf(e.getKey()), out);
+                        out.append(':');
+                        write(e.getValue(), out);
+                    }
+                out.append('}');
+            }
+        else if (value instanceof List)
+            {
+                out.append('[');
+                boolean first = true;
+                for (Object item : (List<?>) value)
+                    {
+                        if (!first) out.append(',');
+                        first = false;
+                        write(item, out);
+                    }
+                out.append(']');
+            }
+        else
+            {
+                quote(value.toString(), out);
+            }
+    }
+
+    private static void quote(String s, StringBuilder out)
+    {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++)
+            {
+                char c = s.charAt(i);
+                switch (c)
+                {
+                    case '"': out.append("\\\""); break;
+                    case '\\': out.append("\\\\"); break;
+                    case '\n': out.append("\\n"); break;
+                    case '\r': out.append("\\r"); break;
+                    case '\t': out.append("\\t"); break;
+                    default:
+                        if (c < 0x20)
+                            {
+                                out.append(String.format("\\u%04x", (int) c));
+                            }
+                        else
+                            {
+                                out.append(c);
+                            }
+                }
+            }
+        out.append('"');
+    }
+
+    // --- Parsing ---
+
+    public static Object parse(String text)
+    {
+        Json parser = new Json(text);
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.pos != text.length()) throw parser.error("unexpected trailing content");
+        return value;
+    }
+
+    // Parses a request body that must be a JSON object
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(String text)
+    {
+        Object value = parse(text);
+        if (!(value instanceof Map)) throw new IllegalArgumentException("Expected a JSON object.");
+        return (Map<String, Object>) value;
+    }
+
+    private Object readValue()
+    {
+        skipWhitespace();
+        if (pos >= text.length()) throw error("unexpected end of input");
+        char c = text.charAt(pos);
+        switch (c)
+        {
+            case '{': return readObject();
+            case '[': return readArray();
+            case '"': return readString();
+            case 't': return readLiteral("true", Boolean.TRUE);
+            case 'f': return readLiteral("false", Boolean.FALSE);
+            case 'n': return readLiteral("null", null);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) return readNumber();
+                throw error("unexpected character '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> readObject()
+    {
+        Map<String, Object> object = new LinkedHashMap<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == '}')
+            {
+                pos++;
+                return object;
+            }
+        while (true)
+            {
+                skipWhitespace();
+                if (peek() != '"') throw error("expected a field name");
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                object.put(key, readValue());
+                skipWhitespace();
+                if (peek() == ',')
+                    {
+                        pos++;
+                        continue;
+                    }
+                expect('}');
+                return object;
+            }
+    }
+
+    private List<Object> readArray()
+    {
+        List<Object> array = new ArrayList<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == ']')
+            {
+                pos++;
+                return array;
+            }
+        while (true)
+            {
+                array.add(readValue());
+                skipWhitespace();
+                if (peek() == ',')
+                    {
+                        pos++;
+                        continue;
+                    }
+                expect(']');
+                return array;
+            }
+    }
+
+    private String readString()
+    {
+        StringBuilder s = new StringBuilder();
+        pos++;
+        while (pos < text.length())
+            {
+                char c = text.charAt(pos++);
+                if (c == '"') return s.toString();
+                if (c != '\\')
+                    {
+                        s.append(c);
+                        continue;
+                    }
+                if (pos >= text.length()) break;
+                char escape = text.charAt(pos++);
+                switch (escape)
+                {
+                    case '"': s.append('"'); break;
+                    case '\\': s.append('\\'); break;
+                    case '/': s.append('/'); break;
+                    case 'b': s.append('\b'); break;
+                    case 'f': s.append('\f'); break;
+                    case 'n': s.append('\n'); break;
+                    case 'r': s.append('\r'); break;
+                    case 't': s.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) throw error("truncated \\u escape");
+                        try
+                        {
+                            s.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        }
+                        catch (NumberFormatException e)
+                        {
+                            throw error("invalid \\u escape");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        throw error("invalid escape '\\" + escape + "'");
+                }
+            }
+        throw error("unterminated string");
+    }
+
+    private Double readNumber()
+    {
+        int start = pos;
+        while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0)
+            {
+                pos++;
+            }
+        try
+        {
+            return Double.valueOf(text.substring(start, pos));
+        }
+        catch (NumberFormatException e)
+        {
+            throw error("invalid number");
+        }
+    }
+
+    private Object readLiteral(String literal, Object value)
+    {
+        if (!text.startsWith(literal, pos)) throw error("unexpected token");
+        pos += literal.length();
+        return value;
+    }
+
+    private void skipWhitespace()
+    {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos)))
+            {
+                pos++;
+            }
+    }
+
+    private char peek()
+    {
+        if (pos >= text.length()) throw error("unexpected end of input");
+        return text.charAt(pos);
+    }
+
+    private void expect(char c)
+    {
+        if (peek() != c) throw error("expected '" + c + "'");
+        pos++;
+    }
+
+    private IllegalArgumentException error(String message)
+    {
+        return new IllegalArgumentException("Malformed JSON at position " + pos + ": " + message + ".");
+    }
+}
\ No newline at end of file
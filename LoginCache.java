@@ -0,0 +1,90 @@
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// Short-lived memory of successful logins, so re-authenticating with the same password does not
+// pay the PBKDF2 cost again. Entries hold an HMAC of the password under a per-process random key,
+// never the password itself, and are tied to the stored hash, so a password change invalidates them.
+public class LoginCache
+{
+    public static final String TTL_PROPERTY = "dermaheaven.loginCacheSeconds";
+    public static final int DEFAULT_TTL_SECONDS = 300;
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final long ttlNanos;
+    private final Mac mac;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest)
+        {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public LoginCache()
+    {
+        this.ttlNanos = Math.max(0, Integer.getInteger(TTL_PROPERTY, DEFAULT_TTL_SECONDS)) * 1_000_000_000L;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        try
+        {
+            mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        }
+        catch (GeneralSecurityException e)
+        {
+            // HmacSHA256 is required of every Java SE runtime
+            throw new IllegalStateException("HmacSHA256 is not available.", e);
+        }
+    }
+
+    // True if this account logged in with this password recently and its stored hash is unchanged
+    public synchronized boolean isVerified(String account, String storedHash, String password)
+    {
+        if (ttlNanos == 0 || password == null) return false;
+        Entry entry = entries.get(account);
+        if (entry == null) return false;
+        if (System.nanoTime() - entry.verifiedAt > ttlNanos || !entry.storedHash.equals(storedHash))
+            {
+                entries.remove(account);
+                return false;
+            }
+        return MessageDigest.isEqual(entry.passwordMac, digest(password));
+    }
+
+    public synchronized void remember(String account, String storedHash, String password)
+    {
+        if (ttlNanos == 0 || password == null || storedHash == null) return;
+        entries.put(account, new Entry(storedHash, digest(password), System.nanoTime()));
+    }
+
+    public synchronized void forget(String account)
+    {
+        entries.remove(account);
+    }
+
+    private byte[] digest(String password)
+    {
+        return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class Entry
+    {
+        private final String storedHash;
+        private final byte[] passwordMac;
+        private final long verifiedAt;
+
+        Entry(String storedHash, byte[] passwordMac, long verifiedAt)
+        {
+            this.storedHash = storedHash;
+            this.passwordMac = passwordMac;
+            this.verifiedAt = verifiedAt;
+        }
+    }
+}
\ No newline at end of file
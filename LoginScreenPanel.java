@@ -222,8 +222,13 @@ public class LoginScreenPanel extends JPanel
                 return;
             }
         
-        Doctor loggedInDoctor = doctorAccessManager.attemptLogin(doctorName, password);
-        
+        // Password hashing runs off the EDT
+        BackgroundTask.run(this, "Signing in", () -> doctorAccessManager.attemptLogin(doctorName, password),
+            loggedInDoctor -> showDoctorDashboard(doctorName, loggedInDoctor));
+    }
+
+    private void showDoctorDashboard(String doctorName, Doctor loggedInDoctor)
+    {
         if (loggedInDoctor != null) 
             {
                 JOptionPane.showMessageDialog(this, "Login successful! Welcome, Dr. " + doctorName + ".");
@@ -257,9 +262,13 @@ public class LoginScreenPanel extends JPanel
                 return;
             }
 
-        // Refactored PatientManager now returns Patient object on success
-        Patient loggedInPatient = patientManager.attemptLogin(name, password);
-        
+        // Refactored PatientManager now returns Patient object on success (hashing runs off the EDT)
+        BackgroundTask.run(this, "Signing in", () -> patientManager.attemptLogin(name, password),
+            loggedInPatient -> showPatientDashboard(name, loggedInPatient));
+    }
+
+    private void showPatientDashboard(String name, Patient loggedInPatient)
+    {
         if (loggedInPatient != null) 
             {
                 JOptionPane.showMessageDialog(this, "Login successful! Welcome, " + name + ".");
@@ -364,27 +373,35 @@ public class LoginScreenPanel extends JPanel
                         return;
                     }
 
+                int age;
                 try
                 {
-                    int age = Integer.parseInt(ageStr);
-                    // Call the refactored method
-                    Patient newPatient = patientManager.registerPatient(newName, newPassword, contact, email, age, gender);
-
-                    if (newPatient != null)
-                        {
-                            JOptionPane.showMessageDialog(this, "Registration successful! Welcome, " + newName + ". Please log in.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                            patientNameField.setText(newName);
-                            patientPasswordField.setText(newPassword);
-                        }
-                    else
-                        {
-                            JOptionPane.showMessageDialog(this, "Registration failed. Name may be taken.", "Error", JOptionPane.ERROR_MESSAGE);
-                        }
+                    age = Integer.parseInt(ageStr);
                 }
                 catch (NumberFormatException ex)
                 {
                     JOptionPane.showMessageDialog(this, "Invalid age.", "Input Error", JOptionPane.ERROR_MESSAGE);
+                    return;
                 }
+
+                // Call the refactored method off the EDT
+                String patientGender = gender;
+                BackgroundTask.run(this, "Registering patient",
+                    () -> patientManager.registerPatient(newName, newPassword, contact, email, age, patientGender),
+                    Saved::whenSaved,
+                    registration ->
+                    {
+                        if (registration.get() != null)
+                            {
+                                JOptionPane.showMessageDialog(this, "Registration successful! Welcome, " + newName + ". Please log in.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                                patientNameField.setText(newName);
+                                patientPasswordField.setText(newPassword);
+                            }
+                        else
+                            {
+                                JOptionPane.showMessageDialog(this, "Registration failed. Name may be taken.", "Error", JOptionPane.ERROR_MESSAGE);
+                            }
+                    });
             }
     }
     
@@ -447,19 +464,22 @@ public class LoginScreenPanel extends JPanel
                 return;
             }
 
-            String message = feedbackManager.submitFeedback(patientName, doctorName, serviceName, comment, rating);
-            JOptionPane.showMessageDialog(this, message);
+            BackgroundTask.run(this, "Submitting feedback",
+                () -> feedbackManager.submitFeedback(patientName, doctorName, serviceName, comment, rating),
+                Saved::whenSaved,
+                saved -> JOptionPane.showMessageDialog(this, saved.get()));
         }
     }
 
     private void handleViewAllFeedbacks()
     {
-        // 1. Get data from the refactored manager
-        List<Feedback> allFeedbacks = feedbackManager.getAllFeedbacks();
+        // 1. Get data from the refactored manager (only the most recent ones, not the full history)
+        List<Feedback> recentFeedbacks = feedbackManager.getTopFeedbacks(FeedbackManager.TOP_FEEDBACK_CAPACITY, FeedbackOrdering.MOST_RECENT);
+        long reviewCount = feedbackManager.getOverallRatingCount();
         double avgRating = feedbackManager.getOverallAverageRating();
 
         // 2. Format output for a dialog box
-        if (allFeedbacks.isEmpty())
+        if (recentFeedbacks.isEmpty())
             {
                 JOptionPane.showMessageDialog(this, "No feedbacks yet. Be the first to leave one!", "All Feedbacks", JOptionPane.INFORMATION_MESSAGE);
                 return;
@@ -467,11 +487,15 @@ public class LoginScreenPanel extends JPanel
 
         StringBuilder sb = new StringBuilder();
         sb.append(String.format("<html><body><h2>Overall Average Rating: %.2f / 5.0 (from %d reviews)</h2>",
-                                avgRating, allFeedbacks.size()));
+                                avgRating, reviewCount));
+        if (reviewCount > recentFeedbacks.size())
+            {
+                sb.append(String.format("Showing the %d most recent reviews.<br>", recentFeedbacks.size()));
+            }
         sb.append("<hr>");
 
-        // Display all feedbacks
-        for (Feedback fb : allFeedbacks)
+        // Display the most recent feedbacks
+        for (Feedback fb : recentFeedbacks)
             {
                 sb.append(String.format("<b>Rating: %.1f / 5.0</b> | Doctor: %s | Patient: %s<br>", fb.getRating(), fb.getDoctorName(), fb.getPatientName()));
                 sb.append(String.format("Treatment: %s<br>", fb.getServiceName()));
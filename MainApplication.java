@@ -15,25 +15,27 @@ public class MainApplication
     
     public static void main(String[] args) 
     {
+        // Stores load concurrently; appointment history keeps loading after the window is shown
+        StartupOrchestrator startup = new StartupOrchestrator();
         try 
         {
             // Core Data
-            doctorManager = new DoctorManager(); 
-            serviceManager = new ServiceManager();
-            feedbackManager = new FeedbackManager();
+            doctorManager = startup.getDoctorManager(); 
+            serviceManager = startup.getServiceManager();
+            feedbackManager = startup.getFeedbackManager();
             
             // Packages (Depend on ServiceManager)
-            specialPackageManager = new SpecialPackageManager(serviceManager);
-            customPackageManager = new CustomPackageManager(serviceManager);
+            specialPackageManager = startup.getSpecialPackageManager();
+            customPackageManager = startup.getCustomPackageManager();
             
-            // Transactions (Depend on DoctorManager)
-            appointmentManager = new AppointmentManager(doctorManager);
+            // Transactions (Depend on DoctorManager; history is hydrated in the background)
+            appointmentManager = startup.getAppointmentManager();
             
             // Access
             doctorAccessManager = new DoctorAccessManager(appointmentManager, feedbackManager, doctorManager);
             
             // Patient Manager (Depend on all necessary managers)
-            patientManager = new PatientManager(appointmentManager, feedbackManager, doctorManager); 
+            patientManager = startup.getPatientManager(); 
             
         } 
         catch (Exception e) 
@@ -47,6 +49,7 @@ public class MainApplication
         SwingUtilities.invokeLater(() -> 
         {
             createAndShowGUI();
+            startup.logMilestone("login screen shown");
         });
     }
     
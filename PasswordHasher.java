@@ -0,0 +1,107 @@
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+// Salted PBKDF2 password hashing. Stored form: "pbkdf2$<iterations>$<base64 salt>$<base64 hash>".
+// The cost (iteration count) comes from -Ddermaheaven.passwordIterations and is recorded in each
+// hash, so raising it later still verifies old hashes; they are upgraded at the next login.
+public final class PasswordHasher
+{
+    public static final String ITERATIONS_PROPERTY = "dermaheaven.passwordIterations";
+    // OWASP's recommendation for PBKDF2-HMAC-SHA256
+    public static final int DEFAULT_ITERATIONS = 600_000;
+
+    private static final String PREFIX = "pbkdf2$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PasswordHasher()
+    {
+    }
+
+    public static int getConfiguredIterations()
+    {
+        return Math.max(1, Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS));
+    }
+
+    public static String hash(String password)
+    {
+        return hash(password, getConfiguredIterations());
+    }
+
+    public static String hash(String password, int iterations)
+    {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(derive(password, salt, iterations));
+    }
+
+    public static boolean isHashed(String stored)
+    {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    // True when the stored value is plaintext or was hashed at a different cost than configured
+    public static boolean needsRehash(String stored)
+    {
+        if (!isHashed(stored)) return true;
+        String[] parts = stored.split("\\$");
+        try
+        {
+            return Integer.parseInt(parts[1]) != getConfiguredIterations();
+        }
+        catch (RuntimeException e)
+        {
+            return true;
+        }
+    }
+
+    // Checks a password against a stored hash; legacy plaintext values are compared directly
+    public static boolean verify(String password, String stored)
+    {
+        if (password == null || stored == null) return false;
+        if (!isHashed(stored))
+            {
+                return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+            }
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) return false;
+        try
+        {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, derive(password, salt, iterations));
+        }
+        catch (IllegalArgumentException e)
+        {
+            return false;
+        }
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations)
+    {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try
+        {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        }
+        catch (GeneralSecurityException e)
+        {
+            // PBKDF2WithHmacSHA256 is required of every Java SE runtime
+            throw new IllegalStateException(ALGORITHM + " is not available.", e);
+        }
+        finally
+        {
+            spec.clearPassword();
+        }
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.stream.Collectors;
@@ -30,9 +31,10 @@ public class PatientDashboardPanel extends JPanel
     
     // --- Components ---
     private JTabbedPane tabbedPane;
-    private DefaultTableModel appointmentsTableModel;
+    private AppointmentTableModel appointmentsTableModel;
     private JTable appointmentsTable;
     private JSpinner ratingSpinner;
+    private ClinicEventBus.Subscription doctorSubscription;
 
     // --- Constructor ---
     public PatientDashboardPanel(JPanel mainPanelContainer, CardLayout cardLayout, 
@@ -93,16 +95,8 @@ public class PatientDashboardPanel extends JPanel
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBorder(new EmptyBorder(15, 15, 15, 15));
 
-        // Table Model Setup
-        String[] columnNames = {"ID", "Date", "Time", "Doctor", "Item", "Price", "Status"};
-        appointmentsTableModel = new DefaultTableModel(columnNames, 0) 
-        {
-            @Override
-            public boolean isCellEditable(int row, int column) 
-            {
-                return false; // Users can't edit cells directly
-            }
-        };
+        // Table Model Setup (read-only, kept current by the AppointmentManager's change events)
+        appointmentsTableModel = AppointmentTableModel.forPatient(appointmentManager, loggedInPatient.getPatientName());
         appointmentsTable = new JTable(appointmentsTableModel);
         appointmentsTable.setFont(new Font("Monospaced", Font.PLAIN, 12));
         appointmentsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -208,9 +202,7 @@ public class PatientDashboardPanel extends JPanel
                 if (selectedRow != -1) 
                     {
                         String serviceName = (String) table.getValueAt(selectedRow, 0);
-                        Service selectedService = serviceManager.getServiceList().stream()
-                                                .filter(s -> s.getServiceName().equals(serviceName))
-                                                .findFirst().orElse(null);
+                        Service selectedService = serviceManager.searchServiceByName(serviceName);
                         if (selectedService != null) 
                             {
                                 new BookableItemDialog(
@@ -218,17 +210,19 @@ public class PatientDashboardPanel extends JPanel
                                                         selectedService,
                                                         doctorManager,
                                                         (date, time, doctorName, price) ->
-                                                        {
-                                                            String message = appointmentManager.bookAppointment(
+                                                        BackgroundTask.run(this, "Booking appointment",
+                                                            () -> appointmentManager.book(
                                                             loggedInPatient.getPatientName(),
                                                             doctorName,
                                                             selectedService,
                                                             date,
-                                                            time);
-                                                            JOptionPane.showMessageDialog(this, message);
-                                                            refreshAppointmentData();
-                                                            tabbedPane.setSelectedIndex(0);
-                                                        }
+                                                            time),
+                                                            AppointmentResult::whenSaved,
+                                                            result ->
+                                                            {
+                                                                JOptionPane.showMessageDialog(this, result.getMessage());
+                                                                tabbedPane.setSelectedIndex(0);
+                                                            })
                                                         );
                             }
                     } 
@@ -352,17 +346,19 @@ public class PatientDashboardPanel extends JPanel
                                     category,
                                     doctorManager,
                                     (String date, String time, String doctorName, double price) ->
-                                    {
-                                        String message = appointmentManager.bookAppointment(
+                                    BackgroundTask.run(this, "Booking package",
+                                        () -> appointmentManager.book(
                                             loggedInPatient.getPatientName(),
                                             doctorName,
                                             selectedPackage,
                                             date,
-                                            time);
-                                        JOptionPane.showMessageDialog(this, message);
-                                        refreshAppointmentData();
-                                        tabbedPane.setSelectedIndex(0);
-                                    }
+                                            time),
+                                        AppointmentResult::whenSaved,
+                                        result ->
+                                        {
+                                            JOptionPane.showMessageDialog(this, result.getMessage());
+                                            tabbedPane.setSelectedIndex(0);
+                                        })
                                 );
                             }
                     }
@@ -452,6 +448,9 @@ public class PatientDashboardPanel extends JPanel
         
         // Components
         JComboBox<String> doctorComboBox = new JComboBox<>(doctorManager.getDoctorNamesList().toArray(new String[0]));
+        // Doctors who register while this dashboard is open can be reviewed without logging out
+        doctorSubscription = ClinicEventBus.subscribe(ClinicEvent.DoctorRegistered.class,
+            events -> events.forEach(event -> doctorComboBox.addItem(event.getDoctor().getDoctorName())));
         JTextField serviceField = new JTextField(20);
         JTextArea commentArea = new JTextArea(5, 20);
         JScrollPane commentScrollPane = new JScrollPane(commentArea);
@@ -513,31 +512,12 @@ public class PatientDashboardPanel extends JPanel
     // --- Data and Action Handlers ---
 
     /**
-     * Refreshes the Appointments table with the latest data from the AppointmentManager.
+     * Reloads the Appointments table from the AppointmentManager. Bookings, reschedules and
+     * cancellations after that reach the table as single-row updates, so this is only the initial load.
      */
     public void refreshAppointmentData() 
     {
-        appointmentsTableModel.setRowCount(0); // Clear existing data
-        
-        // Get all appointments for the logged-in patient (true = include all statuses)
-        List<Appointment> appts = appointmentManager.getAppointmentsByPatient(loggedInPatient.getPatientName(), true);
-        
-        if (appts != null) 
-            {
-                for (Appointment appt : appts) 
-                    {
-                        appointmentsTableModel.addRow(new Object[]
-                            {
-                                appt.getAppointmentId(), 
-                                appt.getDate(), 
-                                appt.getTime(), 
-                                appt.getDoctorName(), 
-                                appt.getItemName(), 
-                                String.format("%.2f", appt.getPrice()),
-                                appt.getStatus()
-                            });
-                    }
-            }
+        appointmentsTableModel.reload();
     }
 
     private void handleLogout(ActionEvent e) 
@@ -546,6 +526,8 @@ public class PatientDashboardPanel extends JPanel
         cardLayout.show(mainPanelContainer, "LOGIN_SCREEN");
         
         // Clean up the dashboard instance to free resources (optional but recommended)
+        appointmentsTableModel.dispose();
+        doctorSubscription.cancel();
         Component[] components = mainPanelContainer.getComponents();
         for (Component comp : components) 
             {
@@ -604,12 +586,12 @@ public class PatientDashboardPanel extends JPanel
                         return;
                     }
 
-            // Call refactored Manager method
-            String message = appointmentManager.rescheduleAppointment(apptId, newDate, newTime);
-            
-            // Display result and refresh data
-            JOptionPane.showMessageDialog(this, message);
-            refreshAppointmentData();
+            // Call refactored Manager method off the EDT, then display the result;
+            // the table updates itself from the manager's change event
+            BackgroundTask.run(this, "Rescheduling appointment",
+                () -> appointmentManager.reschedule(apptId, newDate, newTime),
+                AppointmentResult::whenSaved,
+                rescheduled -> JOptionPane.showMessageDialog(this, rescheduled.getMessage()));
         }
     }
     
@@ -637,12 +619,12 @@ public class PatientDashboardPanel extends JPanel
             
         if (confirm == JOptionPane.YES_OPTION) 
             {
-                // Call refactored Manager method
-                String message = appointmentManager.cancelAppointment(apptId);
-            
-                // Display result and refresh data
-                JOptionPane.showMessageDialog(this, message);
-                refreshAppointmentData();
+                // Call refactored Manager method off the EDT, then display the result;
+                // the table updates itself from the manager's change event
+                BackgroundTask.run(this, "Cancelling appointment",
+                    () -> appointmentManager.cancel(apptId),
+                    AppointmentResult::whenSaved,
+                    result -> JOptionPane.showMessageDialog(this, result.getMessage()));
             }
     }
     
@@ -663,19 +645,20 @@ public class PatientDashboardPanel extends JPanel
             selectedPackage,
             doctorManager,
             (date, time, doctorName, price) ->
-            {
-                // Lambda function executed upon successful booking details entry
-                String message = appointmentManager.bookAppointment(
+            // Lambda function executed upon successful booking details entry
+            BackgroundTask.run(this, "Booking package",
+                () -> appointmentManager.book(
                     loggedInPatient.getPatientName(),
                     doctorName,
                     selectedPackage,
                     date,
-                    time);
-
-                JOptionPane.showMessageDialog(this, message);
-                refreshAppointmentData(); // Update appointments tab
-                tabbedPane.setSelectedIndex(0); // Switch to appointments tab
-            }
+                    time),
+                AppointmentResult::whenSaved,
+                result ->
+                {
+                    JOptionPane.showMessageDialog(this, result.getMessage());
+                    tabbedPane.setSelectedIndex(0); // Switch to appointments tab
+                })
         );
     }
     
@@ -691,20 +674,24 @@ public class PatientDashboardPanel extends JPanel
                 return;
             }
 
-        // Call the refactored Manager method
-        String message = feedbackManager.submitFeedback(
+        // Call the refactored Manager method off the EDT
+        BackgroundTask.run(this, "Submitting feedback",
+            () -> feedbackManager.submitFeedback(
                                                             loggedInPatient.getPatientName(), 
                                                             doctorName, 
                                                             serviceName, 
                                                             comment, 
                                                             rating
-                                                        );
-        
-        // Display result and clear fields
-        JOptionPane.showMessageDialog(this, message);
-        serviceField.setText("");
-        commentArea.setText("");
-        ratingSpinner.setValue(5.0); // Reset rating
+                                                        ),
+            Saved::whenSaved,
+            saved ->
+            {
+                // Display result and clear fields
+                JOptionPane.showMessageDialog(this, saved.get());
+                serviceField.setText("");
+                commentArea.setText("");
+                ratingSpinner.setValue(5.0); // Reset rating
+            });
     }
     
     // ===============================================
@@ -832,9 +819,7 @@ public class PatientDashboardPanel extends JPanel
                     if (selectedRow != -1) 
                         {
                             String serviceName = (String) table.getValueAt(selectedRow, 0);
-                            Service selectedService = serviceManager.getServiceList().stream()
-                                                    .filter(s -> s.getServiceName().equals(serviceName))
-                                                    .findFirst().orElse(null);
+                            Service selectedService = serviceManager.searchServiceByName(serviceName);
                             if (selectedService != null)
                                 {
                                     if (!selectedServicesModel.contains(selectedService))
@@ -999,9 +984,16 @@ public class PatientDashboardPanel extends JPanel
             // Update the package name for persistence
             currentCustomPackage.setPackageName(packageName.trim()); 
             
-            // Assuming a save method on CustomPackageManager returns the saved package
-            CustomPackage finalPackage = customPackageManager.saveCustomPackage(currentCustomPackage); 
+            // Assuming a save method on CustomPackageManager returns the saved package (saved off the EDT)
+            CustomPackage packageToSave = currentCustomPackage;
+            BackgroundTask.run(this, "Saving custom package",
+                () -> customPackageManager.saveCustomPackage(packageToSave),
+                Saved::whenSaved,
+                saved -> bookSavedCustomPackage(saved.get()));
+        }
 
+        private void bookSavedCustomPackage(CustomPackage finalPackage) 
+        {
             if (finalPackage == null) 
                 {
                     JOptionPane.showMessageDialog(this, "Failed to save the custom package.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -1015,23 +1007,24 @@ public class PatientDashboardPanel extends JPanel
                 finalPackage, // The newly saved package
                 doctorManager,
                 (date, time, doctorName, price) ->
-                {
-                    // Lambda function executed upon successful booking details entry
-                    String message = appointmentManager.bookAppointment(
+                // Lambda function executed upon successful booking details entry
+                BackgroundTask.run(this, "Booking custom package",
+                    () -> appointmentManager.book(
                                                                             loggedInPatient.getPatientName(),
                                                                             doctorName,
                                                                             finalPackage,
                                                                             date,
-                                                                            time);
-
-                    JOptionPane.showMessageDialog(this, message);
-                    parentPanel.refreshAppointmentData(); // Refresh appointments tab on main panel
-                    parentPanel.tabbedPane.setSelectedIndex(0); // Switch to appointments tab
+                                                                            time),
+                    AppointmentResult::whenSaved,
+                    result ->
+                    {
+                        JOptionPane.showMessageDialog(this, result.getMessage());
+                        parentPanel.tabbedPane.setSelectedIndex(0); // Switch to appointments tab
 
-                    // Clear the builder state after booking
-                    selectedServicesModel.clear();
-                    calculatePrice();
-                }
+                        // Clear the builder state after booking
+                        selectedServicesModel.clear();
+                        calculatePrice();
+                    })
             );
         }
     }
@@ -1105,6 +1098,7 @@ public class PatientDashboardPanel extends JPanel
             availabilityArea.setText("Select a doctor to view their available days and times.\nThen enter date/time to check availability.");
 
             JButton checkButton = new JButton("Check Availability");
+            JButton suggestButton = new JButton("Suggest Next Free Slots");
             JButton bookButton = new JButton("Confirm Booking");
             bookButton.setEnabled(false); // Initially disabled
 
@@ -1119,7 +1113,10 @@ public class PatientDashboardPanel extends JPanel
             gbc.gridx = 1; gbc.gridy = 2; panel.add(timeField, gbc);
 
             // Availability Check
-            gbc.gridx = 0; gbc.gridy = 3; gbc.gridwidth = 2; panel.add(checkButton, gbc);
+            JPanel availabilityButtons = new JPanel(new GridLayout(1, 2, 8, 0));
+            availabilityButtons.add(checkButton);
+            availabilityButtons.add(suggestButton);
+            gbc.gridx = 0; gbc.gridy = 3; gbc.gridwidth = 2; panel.add(availabilityButtons, gbc);
             gbc.gridx = 0; gbc.gridy = 4; panel.add(new JScrollPane(availabilityArea), gbc);
 
             // Listener to show doctor's schedule when selected
@@ -1168,19 +1165,26 @@ public class PatientDashboardPanel extends JPanel
                             return;
                         }
                 
-                    // Use the refactored checkAvailability method
-                    if (appointmentManager.checkAvailability(doctor, date, time)) 
-                        {
-                            availabilityArea.setText("✅ Dr. " + doctorName + " IS available on " + date + " at " + time + ".");
-                            bookButton.setEnabled(true);
-                        } 
-                    else 
-                        {
-                            availabilityArea.setText("❌ Dr. " + doctorName + " is NOT available at this time.\nDoctor's Working Days: " + doctor.getWorkingDays());
-                            bookButton.setEnabled(false);
-                        }
+                    // The check takes the doctor's booking lock; run it off the EDT
+                    BackgroundTask.run(checkButton, "Checking availability",
+                        () -> appointmentManager.checkAvailability(doctor, date, time),
+                        available ->
+                            {
+                                if (available)
+                                    {
+                                        availabilityArea.setText("✅ Dr. " + doctorName + " IS available on " + date + " at " + time + ".");
+                                        bookButton.setEnabled(true);
+                                    }
+                                else
+                                    {
+                                        availabilityArea.setText("❌ Dr. " + doctorName + " is NOT available at this time.\nDoctor's Working Days: " + doctor.getWorkingDays() + "\nWorking Hours: " + doctor.getWorkingHours());
+                                        bookButton.setEnabled(false);
+                                    }
+                            });
                 });
             
+            suggestButton.addActionListener(e -> suggestFreeSlots(doctorComboBox, dateField, timeField, availabilityArea, bookButton));
+
             bookButton.addActionListener(e ->
                 {
                     // Final check before calling callback
@@ -1338,6 +1342,7 @@ public class PatientDashboardPanel extends JPanel
             availabilityArea.setText("Select a doctor to view their available days and times.\nThen enter date/time to check availability.");
 
             checkButton = new JButton("Check Availability");
+            JButton suggestButton = new JButton("Suggest Next Free Slots");
             bookButton.setEnabled(false); // Initially disabled
 
             // Labels
@@ -1351,7 +1356,10 @@ public class PatientDashboardPanel extends JPanel
             gbc.gridx = 1; gbc.gridy = 2; panel.add(timeField, gbc);
 
             // Availability Check
-            gbc.gridx = 0; gbc.gridy = 3; gbc.gridwidth = 2; panel.add(checkButton, gbc);
+            JPanel availabilityButtons = new JPanel(new GridLayout(1, 2, 8, 0));
+            availabilityButtons.add(checkButton);
+            availabilityButtons.add(suggestButton);
+            gbc.gridx = 0; gbc.gridy = 3; gbc.gridwidth = 2; panel.add(availabilityButtons, gbc);
             gbc.gridx = 0; gbc.gridy = 4; panel.add(new JScrollPane(availabilityArea), gbc);
 
             // Store doctorComboBox for later use
@@ -1401,19 +1409,26 @@ public class PatientDashboardPanel extends JPanel
                             return;
                         }
 
-                    // Use the refactored checkAvailability method
-                    if (appointmentManager.checkAvailability(doctor, date, time))
-                        {
-                            availabilityArea.setText("✅ Dr. " + doctorName + " IS available on " + date + " at " + time + ".");
-                            bookButton.setEnabled(true);
-                        }
-                    else
-                        {
-                            availabilityArea.setText("❌ Dr. " + doctorName + " is NOT available at this time.\nDoctor's Working Days: " + doctor.getWorkingDays());
-                            bookButton.setEnabled(false);
-                        }
+                    // The check takes the doctor's booking lock; run it off the EDT
+                    BackgroundTask.run(checkButton, "Checking availability",
+                        () -> appointmentManager.checkAvailability(doctor, date, time),
+                        available ->
+                            {
+                                if (available)
+                                    {
+                                        availabilityArea.setText("✅ Dr. " + doctorName + " IS available on " + date + " at " + time + ".");
+                                        bookButton.setEnabled(true);
+                                    }
+                                else
+                                    {
+                                        availabilityArea.setText("❌ Dr. " + doctorName + " is NOT available at this time.\nDoctor's Working Days: " + doctor.getWorkingDays() + "\nWorking Hours: " + doctor.getWorkingHours());
+                                        bookButton.setEnabled(false);
+                                    }
+                            });
                 });
 
+            suggestButton.addActionListener(e -> suggestFreeSlots(doctorComboBox, dateField, timeField, availabilityArea, bookButton));
+
             return panel;
         }
 
@@ -1435,6 +1450,57 @@ public class PatientDashboardPanel extends JPanel
         }
     }
 
+    // Number of suggestions shown and slot length used by the "Suggest Next Free Slots" buttons
+    private static final int SUGGESTED_SLOT_COUNT = 5;
+    private static final int SUGGESTED_SLOT_MINUTES = 30;
+
+    /**
+     * Looks up the earliest free slots across every doctor listed in the dialog, pre-fills
+     * the form with the first one and lists the rest, so patients don't have to guess.
+     */
+    private void suggestFreeSlots(JComboBox<String> doctorComboBox, JTextField dateField, JTextField timeField, JTextArea availabilityArea, JButton bookButton)
+    {
+        List<Doctor> doctors = new ArrayList<>();
+        for (int i = 0; i < doctorComboBox.getItemCount(); i++)
+            {
+                Doctor doctor = doctorManager.getDoctorByName(doctorComboBox.getItemAt(i));
+                if (doctor != null)
+                    {
+                        doctors.add(doctor);
+                    }
+            }
+
+        // The search walks days of occupancy under the doctors' locks; keep it off the EDT
+        BackgroundTask.run(bookButton, "Finding free slots",
+            () -> appointmentManager.findNextAvailableSlots(doctors, LocalDate.now(), SUGGESTED_SLOT_COUNT, SUGGESTED_SLOT_MINUTES),
+            slots -> showSuggestedSlots(slots, doctorComboBox, dateField, timeField, availabilityArea, bookButton));
+    }
+
+    private void showSuggestedSlots(List<AvailableSlot> slots, JComboBox<String> doctorComboBox, JTextField dateField, JTextField timeField, JTextArea availabilityArea, JButton bookButton)
+    {
+        if (slots.isEmpty())
+            {
+                availabilityArea.setText("No free slots found in the coming weeks for the listed doctors.");
+                bookButton.setEnabled(false);
+                return;
+            }
+
+        // Selecting the doctor fires the combo listener, so fill the text area afterwards
+        AvailableSlot first = slots.get(0);
+        doctorComboBox.setSelectedItem(first.getDoctorName());
+        dateField.setText(first.getDate());
+        timeField.setText(first.getTime());
+
+        StringBuilder text = new StringBuilder("Next available slots:\n");
+        for (int i = 0; i < slots.size(); i++)
+            {
+                text.append(i + 1).append(". ").append(slots.get(i)).append("\n");
+            }
+        text.append("\nThe first slot has been filled in. Edit the date/time to pick another one.");
+        availabilityArea.setText(text.toString());
+        bookButton.setEnabled(true);
+    }
+
     // ===============================================
     // --- FUNCTIONAL INTERFACE for Callback ---
     // ===============================================
@@ -1,5 +1,6 @@
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class PatientManager implements Serializable 
@@ -7,6 +8,12 @@ public class PatientManager implements Serializable
     private ArrayList<Patient> patientList; 
     private int patientCounter; 
     private final String FILE_NAME = "patients.ser";
+    private final Journal<Patient> journal = new Journal<>(FILE_NAME, Patient::getPatientId, this::copyPatients);
+
+    // Case-folded name and ID indexes, rebuilt on load and kept in step by registerPatient
+    private HashMap<String, Patient> patientsByName;
+    private HashMap<String, Patient> patientsById;
+    private final LoginCache loginCache = new LoginCache();
 
     private final AppointmentManager appointmentManager;
     private final FeedbackManager feedbackManager;
@@ -19,8 +26,8 @@ public class PatientManager implements Serializable
         this.feedbackManager = feedbackManager;
         this.doctorManager = doctorManager;
 
-        // Load existing data (loads ArrayList<Patient>)
-        ArrayList<?> loadedData = Persistence.load(FILE_NAME);
+        // Load existing data (snapshot plus any journaled registrations since it was taken)
+        ArrayList<?> loadedData = journal.load();
         if (loadedData != null && !loadedData.isEmpty() && loadedData.get(0) instanceof Patient) 
             {
                 this.patientList = (ArrayList<Patient>) loadedData;
@@ -49,38 +56,141 @@ public class PatientManager implements Serializable
                 // Ignore parsing errors
                 }
             }
+
+        rebuildIndexes();
+        migratePlaintextPasswords();
+    }
+
+    // One-time migration: hash any plaintext passwords left from before PBKDF2, then rewrite patients.ser
+    private void migratePlaintextPasswords()
+    {
+        List<Patient> plaintext = patientList.stream()
+            .filter(p -> p.getPassword() != null && !PasswordHasher.isHashed(p.getPassword()))
+            .collect(Collectors.toList());
+        if (plaintext.isEmpty()) return;
+
+        plaintext.parallelStream().forEach(p -> p.setPatientPassword(PasswordHasher.hash(p.getPassword())));
+        journal.compact();
+        System.out.println("Migrated " + plaintext.size() + " patient password(s) in " + FILE_NAME + " to salted PBKDF2 hashes.");
+    }
+
+    private void rebuildIndexes()
+    {
+        patientsByName = new HashMap<>(patientList.size() * 2);
+        patientsById = new HashMap<>(patientList.size() * 2);
+        for (Patient p : patientList)
+            {
+                indexPatient(p);
+            }
+    }
+
+    // First record wins on duplicate names, as the old linear search did
+    private void indexPatient(Patient p)
+    {
+        if (p.getPatientName() != null)
+            {
+                patientsByName.putIfAbsent(foldName(p.getPatientName()), p);
+            }
+        if (p.getPatientId() != null)
+            {
+                patientsById.putIfAbsent(p.getPatientId().trim().toUpperCase(Locale.ROOT), p);
+            }
+    }
+
+    private static String foldName(String name)
+    {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private synchronized ArrayList<Patient> copyPatients()
+    {
+        return new ArrayList<>(patientList);
     }
 
+    // The KDF runs outside the manager lock so that concurrent logins do not queue behind each other
     public Patient attemptLogin(String name, String password) 
     {
-        return patientList.stream()
-            .filter(p -> p.getPatientName().equalsIgnoreCase(name) && p.getPassword().equals(password))
-            .findFirst()
-            .orElse(null);
+        String account = foldName(name);
+        Patient p;
+        synchronized (this)
+        {
+            p = patientsByName.get(account);
+        }
+        if (p == null || password == null) return null;
+
+        String stored = p.getPassword();
+        if (loginCache.isVerified(account, stored, password)) return p;
+        if (!PasswordHasher.verify(password, stored)) return null;
+
+        // Hashed at an older cost setting: upgrade now that the plaintext is at hand
+        if (PasswordHasher.needsRehash(stored))
+            {
+                String upgraded = PasswordHasher.hash(password);
+                synchronized (this)
+                {
+                    if (stored.equals(p.getPassword()))
+                        {
+                            p.setPatientPassword(upgraded);
+                            // Nobody waits on a login's rehash: log a failed save, the old hash still verifies
+                            journal.record(p).exceptionally(e ->
+                                {
+                                    System.out.println("Warning: Upgraded password hash for " + p.getPatientName() + " was not saved: " + e);
+                                    return null;
+                                });
+                        }
+                }
+            }
+        loginCache.remember(account, p.getPassword(), password);
+        return p;
+    }
+
+    public synchronized Patient getPatientById(String patientId)
+    {
+        return patientId == null ? null : patientsById.get(patientId.trim().toUpperCase(Locale.ROOT));
     }
     
-    public Patient registerPatient(String name, String password, String contact, String email, int age, String gender)
+    // The new patient (null if the name is taken or the password missing) and the journal write holding them
+    public Saved<Patient> registerPatient(String name, String password, String contact, String email, int age, String gender)
+    {
+        if (password == null || password.isEmpty())
+            {
+                return Saved.unchanged(null); // Nothing to hash, and no way to log in
+            }
+        if (isPatientRegistered(name))
+            {
+                return Saved.unchanged(null); // Patient name already taken
+            }
+
+        // Hash before taking the lock; only the name check and insert need to be atomic
+        String passwordHash = PasswordHasher.hash(password);
+        return addPatient(name, passwordHash, contact, email, age, gender);
+    }
+
+    private synchronized Saved<Patient> addPatient(String name, String passwordHash, String contact, String email, int age, String gender)
     {
         if (isPatientRegistered(name))
             {
-                return null; // Patient name already taken
+                return Saved.unchanged(null); // Taken while the password was being hashed
             }
 
         String patientId = "P" + String.format("%03d", patientCounter++);
-        Patient newPatient = new Patient(patientId, name, age, gender, contact, email, password);
+        Patient newPatient = new Patient(patientId, name, age, gender, contact, email, passwordHash);
         patientList.add(newPatient);
+        indexPatient(newPatient);
 
-        Persistence.save(patientList, FILE_NAME);
-        return newPatient;
+        // Append just this patient instead of rewriting the whole list
+        CompletableFuture<Void> saved = journal.record(newPatient);
+        ClinicEventBus.publish(new ClinicEvent.PatientRegistered(newPatient));
+        return new Saved<>(newPatient, saved);
     }
 
     // Checks if a patient name is already registered.
-    public boolean isPatientRegistered(String name) 
+    public synchronized boolean isPatientRegistered(String name) 
     {
-        return patientList.stream().anyMatch(p -> p.getPatientName().equalsIgnoreCase(name));
+        return patientsByName.containsKey(foldName(name));
     }
 
-    public String submitFeedback(String patientName, String doctorName, String serviceName, String comment, double rating) 
+    public Saved<String> submitFeedback(String patientName, String doctorName, String serviceName, String comment, double rating) 
     {
         return feedbackManager.submitFeedback(patientName, doctorName, serviceName, comment, rating);
     }
@@ -1,18 +1,44 @@
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.zip.CRC32C;
 
 public class Persistence 
 {
     private static final String DEFAULT_FILE_NAME = "data.ser";
 
+    // Data files live in the working directory unless -Ddermaheaven.dataDir=... points elsewhere
+    // (benchmarks and load tests use this so they never touch the clinic's real .ser files)
+    public static final String DATA_DIR_PROPERTY = "dermaheaven.dataDir";
+
+    // Payload encoding: "binary" (RecordCodecs, the default) or "serialized" (ObjectOutputStream).
+    // Either one loads regardless of the setting; it only decides how the next save is written.
+    public static final String FORMAT_PROPERTY = "dermaheaven.snapshotFormat";
+
+    // Snapshot header: magic "DHSN", payload format, record count, payload length, CRC32C of the payload
+    private static final int MAGIC = 0x4448534E;
+    private static final short FORMAT_SERIALIZED = 1;
+    private static final short FORMAT_BINARY = 2;
+    private static final int HEADER_BYTES = 4 + 2 + 4 + 4 + 4;
+    private static final Object ROTATE_LOCK = new Object();
+
+    public static File resolve(String fileName) 
+    {
+        String dataDir = System.getProperty(DATA_DIR_PROPERTY);
+        return dataDir == null || dataDir.isEmpty() ? new File(fileName) : new File(dataDir, fileName);
+    }
+
     // Generic save method
     public static <T> void save(ArrayList<T> list, String fileName) 
     {
-        try (FileOutputStream fos = new FileOutputStream(fileName);
-            ObjectOutputStream oos = new ObjectOutputStream(fos)) 
+        try 
             {
-                oos.writeObject(list);
+                saveOrThrow(list, fileName);
             } 
         catch (IOException e) 
             {
@@ -20,33 +46,191 @@ public class Persistence
             }
     }
 
-    // Generic load method
-    @SuppressWarnings("unchecked")
-    public static <T> ArrayList<T> load(String fileName) 
+    // Same as save, but reports failure to the caller (used where durability is tracked).
+    // The snapshot goes to a temp file that is forced to disk and then renamed over the old one,
+    // so a crash mid-write never leaves a half-written file; the old one is kept as <file>.prev.
+    public static <T> void saveOrThrow(ArrayList<T> list, String fileName) throws IOException 
     {
-        try (FileInputStream fis = new FileInputStream(fileName);
-            ObjectInputStream ois = new ObjectInputStream(fis)) 
+        // Lists without a registered codec (and empty ones) fall back to Java serialization
+        RecordCodec<T> codec = "serialized".equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY)) ? null : RecordCodecs.forList(list);
+        short format;
+        byte[] body;
+        if (codec != null) 
+            {
+                format = FORMAT_BINARY;
+                body = RecordCodecs.encode(list, codec);
+            } 
+        else 
             {
-                // Ensure the list is not null and is the correct type
-                Object loadedObject = ois.readObject();
-                if (loadedObject instanceof ArrayList) 
+                format = FORMAT_SERIALIZED;
+                ByteArrayOutputStream payload = new ByteArrayOutputStream(8192);
+                try (ObjectOutputStream oos = new ObjectOutputStream(payload)) 
                     {
-                        return (ArrayList<T>) loadedObject;
-                    } 
-                else 
+                        oos.writeObject(list);
+                    }
+                body = payload.toByteArray();
+            }
+        CRC32C crc = new CRC32C();
+        crc.update(body, 0, body.length);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putShort(format).putInt(list.size()).putInt(body.length).putInt((int) crc.getValue());
+        header.flip();
+
+        File target = resolve(fileName).getAbsoluteFile();
+        File temp = File.createTempFile(target.getName() + ".", ".tmp", target.getParentFile());
+        try 
+            {
+                try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE)) 
                     {
-                        System.out.println("Warning: Data in " + fileName + " is not an ArrayList. Starting fresh.");
-                        return new ArrayList<>();
+                        writeFully(channel, header);
+                        writeFully(channel, ByteBuffer.wrap(body));
+                        channel.force(true);
                     }
+
+                synchronized (ROTATE_LOCK) 
+                    {
+                        if (target.exists()) 
+                            {
+                                Files.move(target.toPath(), previousOf(target).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                            }
+                        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                    }
+                forceDirectory(target.getParentFile());
             } 
-        catch (FileNotFoundException e) 
+        finally 
+            {
+                Files.deleteIfExists(temp.toPath());
+            }
+    }
+
+    // Generic load method: validates the checksum and falls back to <file>.prev if the
+    // current snapshot is damaged or missing; files written before the header existed still load
+    public static <T> ArrayList<T> load(String fileName) 
+    {
+        File target = resolve(fileName);
+        File previous = previousOf(target);
+        if (!target.exists() && !previous.exists()) 
             {
                 return new ArrayList<>(); 
+            }
+
+        try 
+            {
+                return read(target);
             } 
         catch (IOException | ClassNotFoundException e) 
             {
-                System.out.println("Error loading " + fileName + ". Data corrupted or incompatible. Starting fresh.");
+                if (target.exists()) 
+                    {
+                        System.out.println("Error loading " + fileName + ": " + e.getMessage());
+                        setAside(target);
+                    }
+            }
+
+        if (!previous.exists()) 
+            {
+                System.out.println("Warning: No previous snapshot of " + fileName + ". Starting fresh.");
                 return new ArrayList<>();
             }
+        try 
+            {
+                ArrayList<T> restored = read(previous);
+                System.out.println("Warning: Restored " + fileName + " from the previous snapshot (" + restored.size() + " record(s)).");
+                return restored;
+            } 
+        catch (IOException | ClassNotFoundException e) 
+            {
+                System.out.println("Error loading " + fileName + ". Data corrupted or incompatible. Starting fresh.");
+            }
+        return new ArrayList<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArrayList<T> read(File file) throws IOException, ClassNotFoundException 
+    {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        int expectedCount = -1;
+        short format = FORMAT_SERIALIZED;
+        if (bytes.length >= 4 && in.getInt(0) == MAGIC) 
+            {
+                if (bytes.length < HEADER_BYTES) throw new IOException("truncated header");
+                in.position(4);
+                format = in.getShort();
+                if (format != FORMAT_SERIALIZED && format != FORMAT_BINARY) throw new IOException("unsupported snapshot format " + format);
+                expectedCount = in.getInt();
+                int length = in.getInt();
+                int checksum = in.getInt();
+                if (length != bytes.length - HEADER_BYTES) throw new IOException("truncated snapshot");
+
+                CRC32C crc = new CRC32C();
+                crc.update(bytes, HEADER_BYTES, length);
+                if ((int) crc.getValue() != checksum) throw new IOException("checksum mismatch");
+            } 
+        else 
+            {
+                // Legacy file: a bare serialized list with no header
+                in.position(0);
+            }
+
+        ArrayList<T> list;
+        if (format == FORMAT_BINARY) 
+            {
+                list = RecordCodecs.decode(bytes, in.position(), bytes.length - in.position());
+            } 
+        else 
+            {
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes, in.position(), bytes.length - in.position()))) 
+                    {
+                        Object loadedObject = ois.readObject();
+                        if (!(loadedObject instanceof ArrayList)) 
+                            {
+                                throw new IOException("data is not an ArrayList");
+                            }
+                        list = (ArrayList<T>) loadedObject;
+                    }
+            }
+        if (expectedCount >= 0 && list.size() != expectedCount) 
+            {
+                throw new IOException("expected " + expectedCount + " records, found " + list.size());
+            }
+        return list;
+    }
+
+    private static File previousOf(File target) 
+    {
+        return new File(target.getPath() + ".prev");
+    }
+
+    // Keeps a damaged snapshot for inspection and so the next save does not rotate it over .prev
+    private static void setAside(File damaged) 
+    {
+        File aside = new File(damaged.getPath() + ".corrupt-" + System.currentTimeMillis());
+        if (damaged.renameTo(aside)) 
+            {
+                System.out.println("Moved the damaged file to " + aside.getName() + ".");
+            }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException 
+    {
+        while (buffer.hasRemaining()) 
+            {
+                channel.write(buffer);
+            }
+    }
+
+    // Makes the renames themselves durable; not every platform can open a directory, so this is best effort
+    static void forceDirectory(File dir) 
+    {
+        try (FileChannel channel = FileChannel.open(dir.toPath(), StandardOpenOption.READ)) 
+            {
+                channel.force(true);
+            } 
+        catch (IOException e) 
+            {
+                // Directories cannot be opened on Windows; the rename is still atomic there
+            }
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+// Running count/sum/histogram of feedback ratings, so averages and distributions are O(1) reads.
+// Ratings run from 1.0 to 5.0 in half-star steps, giving nine histogram buckets.
+public class RatingSummary
+{
+    public static final double MIN_RATING = 1.0;
+    public static final double MAX_RATING = 5.0;
+    public static final int BUCKET_COUNT = 9;
+
+    private long count;
+    private double sum;
+    private final long[] histogram = new long[BUCKET_COUNT];
+
+    public void add(double rating)
+    {
+        count++;
+        sum += rating;
+        histogram[bucketOf(rating)]++;
+    }
+
+    public long getCount()
+    {
+        return count;
+    }
+
+    public double getAverage()
+    {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    // Number of ratings per half-star bucket; index 0 is 1.0 stars, index 8 is 5.0 stars
+    public long[] getHistogram()
+    {
+        return histogram.clone();
+    }
+
+    public static double ratingOfBucket(int bucket)
+    {
+        return MIN_RATING + bucket * 0.5;
+    }
+
+    // Off-step ratings (e.g. from older data) land in the nearest half-star bucket
+    private static int bucketOf(double rating)
+    {
+        int bucket = (int) Math.round((rating - MIN_RATING) * 2);
+        return Math.max(0, Math.min(BUCKET_COUNT - 1, bucket));
+    }
+}
\ No newline at end of file
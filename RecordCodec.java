@@ -0,0 +1,18 @@
+import java.io.IOException;
+
+// Binary encoding of one entity type for Persistence (see RecordCodecs). The schema version is
+// stored in every file; read() receives the version the file was written with, so a codec can keep
+// reading its older layouts after a field is added.
+public interface RecordCodec<T>
+{
+    // Name stored in the file to pick the codec on load; must never change once files exist
+    String getTypeName();
+
+    Class<T> getType();
+
+    int getSchemaVersion();
+
+    void write(T record, RecordWriter out);
+
+    T read(RecordReader in, int schemaVersion) throws IOException;
+}
\ No newline at end of file
@@ -0,0 +1,425 @@
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.StreamCorruptedException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+// Registry of the binary codecs Persistence uses instead of Java serialization. A list is
+// written in binary when every element is exactly a registered type; anything else (and any
+// empty list) still goes through ObjectOutputStream. Payload layout:
+//   type name, schema version, record count, then the records
+// all sharing one string table, so repeated doctor, patient and service names are stored once.
+public final class RecordCodecs
+{
+    private static final HashMap<Class<?>, RecordCodec<?>> byType = new HashMap<>();
+    private static final HashMap<String, RecordCodec<?>> byName = new HashMap<>();
+
+    static
+    {
+        register(new AppointmentCodec());
+        register(new PatientCodec());
+        register(new DoctorCodec());
+        register(new FeedbackCodec());
+        register(new CustomPackageCodec());
+    }
+
+    private RecordCodecs()
+    {
+    }
+
+    public static synchronized void register(RecordCodec<?> codec)
+    {
+        byType.put(codec.getType(), codec);
+        byName.put(codec.getTypeName(), codec);
+    }
+
+    // The codec for the list's element type, or null when the list has to be serialized instead
+    @SuppressWarnings("unchecked")
+    public static synchronized <T> RecordCodec<T> forList(List<T> list)
+    {
+        if (list.isEmpty() || list.get(0) == null) return null;
+        Class<?> type = list.get(0).getClass();
+        RecordCodec<?> codec = byType.get(type);
+        if (codec == null) return null;
+        for (T element : list)
+            {
+                if (element == null || element.getClass() != type) return null;
+            }
+        return (RecordCodec<T>) codec;
+    }
+
+    public static <T> byte[] encode(List<T> list, RecordCodec<T> codec)
+    {
+        RecordWriter out = new RecordWriter(64 + list.size() * 48);
+        out.writeString(codec.getTypeName());
+        out.writeVarInt(codec.getSchemaVersion());
+        out.writeVarInt(list.size());
+        for (T record : list)
+            {
+                codec.write(record, out);
+            }
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ArrayList<T> decode(byte[] bytes, int offset, int length) throws IOException
+    {
+        RecordReader in = new RecordReader(bytes, offset, length);
+        String typeName = in.readString();
+        RecordCodec<?> codec;
+        synchronized (RecordCodecs.class)
+        {
+            codec = byName.get(typeName);
+        }
+        if (codec == null) throw new InvalidObjectException("No codec for record type " + typeName);
+
+        int schemaVersion = in.readVarInt();
+        if (schemaVersion > codec.getSchemaVersion())
+            {
+                throw new InvalidObjectException(typeName + " records use schema " + schemaVersion + ", newer than this version reads (" + codec.getSchemaVersion() + ")");
+            }
+
+        int count = in.readVarInt();
+        ArrayList<Object> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            {
+                list.add(codec.read(in, schemaVersion));
+            }
+        if (in.hasRemaining()) throw new StreamCorruptedException("Unexpected data after " + count + " " + typeName + " records");
+        return (ArrayList<T>) list;
+    }
+
+    // --- Codecs ---
+
+    private static final class AppointmentCodec implements RecordCodec<Appointment>
+    {
+        @Override
+        public String getTypeName()
+        {
+            return "appointment";
+        }
+
+        @Override
+        public Class<Appointment> getType()
+        {
+            return Appointment.class;
+        }
+
+        @Override
+        public int getSchemaVersion()
+        {
+            return 1;
+        }
+
+        // Dates and times are stored typed; unparseable legacy text is kept as a string instead
+        @Override
+        public void write(Appointment a, RecordWriter out)
+        {
+            out.writeString(a.getAppointmentId());
+            out.writeString(a.getPatientName());
+            out.writeString(a.getDoctorName());
+            out.writeString(a.getItemName());
+            out.writeDouble(a.getItemPrice());
+
+            out.writeBoolean(a.getLocalDate() != null);
+            if (a.getLocalDate() != null)
+                {
+                    out.writeSignedVarInt((int) a.getLocalDate().toEpochDay());
+                }
+            else
+                {
+                    out.writeString(a.getDate());
+                }
+
+            out.writeBoolean(a.getLocalTime() != null);
+            if (a.getLocalTime() != null)
+                {
+                    out.writeVarInt(a.getLocalTime().toSecondOfDay());
+                }
+            else
+                {
+                    out.writeString(a.getTime());
+                }
+
+            out.writeString(a.getStatus());
+        }
+
+        @Override
+        public Appointment read(RecordReader in, int schemaVersion) throws IOException
+        {
+            String id = in.readString();
+            String patient = in.readString();
+            String doctor = in.readString();
+            String item = in.readString();
+            double price = in.readDouble();
+            LocalDate date = null;
+            String rawDate = null;
+            if (in.readBoolean())
+                {
+                    date = LocalDate.ofEpochDay(in.readSignedVarInt());
+                }
+            else
+                {
+                    rawDate = in.readString();
+                }
+            LocalTime time = null;
+            String rawTime = null;
+            if (in.readBoolean())
+                {
+                    time = LocalTime.ofSecondOfDay(in.readVarInt());
+                }
+            else
+                {
+                    rawTime = in.readString();
+                }
+            String status = in.readString();
+
+            Appointment a = new Appointment(id, patient, doctor, item, price, date, time);
+            if (date == null) a.setDate(rawDate);
+            if (time == null) a.setTime(rawTime);
+            try
+            {
+                a.setStatus(status);
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new InvalidObjectException("Unknown appointment status: " + status);
+            }
+            return a;
+        }
+    }
+
+    private static final class PatientCodec implements RecordCodec<Patient>
+    {
+        @Override
+        public String getTypeName()
+        {
+            return "patient";
+        }
+
+        @Override
+        public Class<Patient> getType()
+        {
+            return Patient.class;
+        }
+
+        @Override
+        public int getSchemaVersion()
+        {
+            return 1;
+        }
+
+        @Override
+        public void write(Patient p, RecordWriter out)
+        {
+            out.writeString(p.getPatientId());
+            out.writeString(p.getPatientName());
+            out.writeSignedVarInt(p.getPatientAge());
+            out.writeString(p.getPatientGender());
+            out.writeString(p.getPatientPhoneNumber());
+            out.writeString(p.getPatientEmail());
+            out.writeString(p.getPassword());
+        }
+
+        @Override
+        public Patient read(RecordReader in, int schemaVersion) throws IOException
+        {
+            String id = in.readString();
+            String name = in.readString();
+            int age = in.readSignedVarInt();
+            String gender = in.readString();
+            String phone = in.readString();
+            String email = in.readString();
+            String password = in.readString();
+            return new Patient(id, name, age, gender, phone, email, password);
+        }
+    }
+
+    private static final class DoctorCodec implements RecordCodec<Doctor>
+    {
+        @Override
+        public String getTypeName()
+        {
+            return "doctor";
+        }
+
+        @Override
+        public Class<Doctor> getType()
+        {
+            return Doctor.class;
+        }
+
+        @Override
+        public int getSchemaVersion()
+        {
+            return 1;
+        }
+
+        @Override
+        public void write(Doctor d, RecordWriter out)
+        {
+            out.writeString(d.getDoctorId());
+            out.writeString(d.getDoctorName());
+            out.writeString(d.getDoctorSpecialization());
+            out.writeString(d.getWorkingDays());
+            out.writeString(d.getWorkingHours());
+            out.writeString(d.getDoctorContact());
+            out.writeString(d.getPassword());
+            out.writeDouble(d.getDiscountRate());
+            out.writeSignedVarInt(d.getDoctorAge());
+            out.writeString(d.getDoctorGender());
+        }
+
+        @Override
+        public Doctor read(RecordReader in, int schemaVersion) throws IOException
+        {
+            String id = in.readString();
+            String name = in.readString();
+            String specialization = in.readString();
+            String workingDays = in.readString();
+            String workingHours = in.readString();
+            String contact = in.readString();
+            String password = in.readString();
+            double discountRate = in.readDouble();
+            int age = in.readSignedVarInt();
+            String gender = in.readString();
+
+            Doctor d = new Doctor(id, name, specialization, workingDays, workingHours, contact, password, age, gender);
+            d.setDiscountRate(discountRate);
+            return d;
+        }
+    }
+
+    private static final class FeedbackCodec implements RecordCodec<Feedback>
+    {
+        @Override
+        public String getTypeName()
+        {
+            return "feedback";
+        }
+
+        @Override
+        public Class<Feedback> getType()
+        {
+            return Feedback.class;
+        }
+
+        @Override
+        public int getSchemaVersion()
+        {
+            return 1;
+        }
+
+        @Override
+        public void write(Feedback f, RecordWriter out)
+        {
+            out.writeString(f.getFeedbackId());
+            out.writeString(f.getPatientName());
+            out.writeString(f.getDoctorName());
+            out.writeString(f.getServiceName());
+            out.writeString(f.getFeedbackText());
+            out.writeDouble(f.getRating());
+        }
+
+        @Override
+        public Feedback read(RecordReader in, int schemaVersion) throws IOException
+        {
+            String id = in.readString();
+            String patient = in.readString();
+            String doctor = in.readString();
+            String service = in.readString();
+            String text = in.readString();
+            double rating = in.readDouble();
+            return new Feedback(id, patient, doctor, service, text, rating);
+        }
+    }
+
+    private static final class CustomPackageCodec implements RecordCodec<CustomPackage>
+    {
+        @Override
+        public String getTypeName()
+        {
+            return "customPackage";
+        }
+
+        @Override
+        public Class<CustomPackage> getType()
+        {
+            return CustomPackage.class;
+        }
+
+        @Override
+        public int getSchemaVersion()
+        {
+            return 1;
+        }
+
+        // Lists are written as a count, with -1 standing for a null list
+        @Override
+        public void write(CustomPackage c, RecordWriter out)
+        {
+            out.writeString(c.getPackageName());
+
+            ArrayList<Service> services = c.getServiceList();
+            out.writeSignedVarInt(services == null ? -1 : services.size());
+            if (services != null)
+                {
+                    for (Service s : services)
+                        {
+                            out.writeBoolean(s != null);
+                            if (s == null) continue;
+                            out.writeString(s.getServiceId());
+                            out.writeString(s.getServiceName());
+                            out.writeString(s.getServiceCategory());
+                            out.writeDouble(s.getServicePrice());
+                        }
+                }
+
+            ArrayList<Integer> sessions = c.getSessionList();
+            out.writeSignedVarInt(sessions == null ? -1 : sessions.size());
+            if (sessions != null)
+                {
+                    for (Integer n : sessions)
+                        {
+                            out.writeBoolean(n != null);
+                            if (n != null) out.writeSignedVarInt(n);
+                        }
+                }
+        }
+
+        @Override
+        public CustomPackage read(RecordReader in, int schemaVersion) throws IOException
+        {
+            String name = in.readString();
+
+            int serviceCount = in.readSignedVarInt();
+            ArrayList<Service> services = serviceCount < 0 ? null : new ArrayList<>(serviceCount);
+            for (int i = 0; i < serviceCount; i++)
+                {
+                    if (!in.readBoolean())
+                        {
+                            services.add(null);
+                            continue;
+                        }
+                    String id = in.readString();
+                    String serviceName = in.readString();
+                    String category = in.readString();
+                    double price = in.readDouble();
+                    services.add(new Service(id, serviceName, category, price));
+                }
+
+            int sessionCount = in.readSignedVarInt();
+            ArrayList<Integer> sessions = sessionCount < 0 ? null : new ArrayList<>(sessionCount);
+            for (int i = 0; i < sessionCount; i++)
+                {
+                    sessions.add(in.readBoolean() ? in.readSignedVarInt() : null);
+                }
+
+            // Recomputes the grand price from the services, exactly as the original constructor did
+            return new CustomPackage(name, services, sessions);
+        }
+    }
+}
\ No newline at end of file
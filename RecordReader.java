@@ -0,0 +1,95 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+// Input side of the binary record format written by RecordWriter
+public final class RecordReader
+{
+    private final byte[] buffer;
+    private int position;
+    private final int limit;
+    private final ArrayList<String> stringTable = new ArrayList<>();
+
+    public RecordReader(byte[] buffer, int offset, int length)
+    {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    public int readVarInt() throws IOException
+    {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7)
+            {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+        throw new StreamCorruptedException("varint is too long");
+    }
+
+    public int readSignedVarInt() throws IOException
+    {
+        int raw = readVarInt();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public long readLong() throws IOException
+    {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++)
+            {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+        return value;
+    }
+
+    public double readDouble() throws IOException
+    {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    public boolean readBoolean() throws IOException
+    {
+        return readByte() != 0;
+    }
+
+    public String readString() throws IOException
+    {
+        int reference = readVarInt();
+        if (reference == RecordWriter.NULL_STRING) return null;
+        if (reference == RecordWriter.NEW_STRING)
+            {
+                int length = readVarInt();
+                require(length);
+                String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+                stringTable.add(value);
+                return value;
+            }
+
+        int index = reference - RecordWriter.FIRST_REFERENCE;
+        if (index >= stringTable.size()) throw new StreamCorruptedException("string reference " + index + " is not defined yet");
+        return stringTable.get(index);
+    }
+
+    public boolean hasRemaining()
+    {
+        return position < limit;
+    }
+
+    private int readByte() throws IOException
+    {
+        require(1);
+        return buffer[position++];
+    }
+
+    private void require(int bytes) throws IOException
+    {
+        if (bytes < 0 || limit - position < bytes) throw new EOFException("record data ends early");
+    }
+}
\ No newline at end of file
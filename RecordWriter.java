@@ -0,0 +1,102 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+// Output side of the binary record format. Integers are varints, strings are length-prefixed
+// UTF-8, and every distinct string is written once: later occurrences refer back to it by index
+// (see RecordReader for the matching decoder).
+public final class RecordWriter
+{
+    // String references: 0 = null, 1 = new string follows inline, n >= 2 = table entry n - 2
+    static final int NULL_STRING = 0;
+    static final int NEW_STRING = 1;
+    static final int FIRST_REFERENCE = 2;
+
+    private byte[] buffer;
+    private int size;
+    private final HashMap<String, Integer> stringTable = new HashMap<>();
+
+    public RecordWriter(int initialCapacity)
+    {
+        buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public void writeVarInt(int value)
+    {
+        ensure(5);
+        while ((value & ~0x7F) != 0)
+            {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+        buffer[size++] = (byte) value;
+    }
+
+    // Zig-zag encoded so small negative numbers stay short
+    public void writeSignedVarInt(int value)
+    {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public void writeLong(long value)
+    {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8)
+            {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+    }
+
+    public void writeDouble(double value)
+    {
+        writeLong(Double.doubleToLongBits(value));
+    }
+
+    public void writeBoolean(boolean value)
+    {
+        ensure(1);
+        buffer[size++] = (byte) (value ? 1 : 0);
+    }
+
+    public void writeString(String value)
+    {
+        if (value == null)
+            {
+                writeVarInt(NULL_STRING);
+                return;
+            }
+
+        Integer index = stringTable.get(value);
+        if (index != null)
+            {
+                writeVarInt(FIRST_REFERENCE + index);
+                return;
+            }
+
+        stringTable.put(value, stringTable.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(NEW_STRING);
+        writeVarInt(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public byte[] toByteArray()
+    {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensure(int extra)
+    {
+        if (size + extra > buffer.length)
+            {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+    }
+}
\ No newline at end of file
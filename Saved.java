@@ -0,0 +1,53 @@
+import java.util.concurrent.CompletableFuture;
+
+// A manager's answer to a change together with the write that makes it durable. The value is
+// good at once (the change is applied in memory); whenSaved() completes once the change is on
+// disk, or fails with the I/O error, so callers can tell the user their change was not kept.
+// isRejected() tells a refused change (invalid input) from an accepted one without reading the value.
+public final class Saved<T>
+{
+    private static final CompletableFuture<Void> NOTHING_TO_SAVE = CompletableFuture.completedFuture(null);
+
+    private final T value;
+    private final CompletableFuture<Void> whenSaved;
+    private final boolean rejected;
+
+    Saved(T value, CompletableFuture<Void> whenSaved)
+    {
+        this(value, whenSaved, false);
+    }
+
+    private Saved(T value, CompletableFuture<Void> whenSaved, boolean rejected)
+    {
+        this.value = value;
+        this.whenSaved = whenSaved;
+        this.rejected = rejected;
+    }
+
+    // For answers that changed nothing (rejected input, taken names)
+    static <T> Saved<T> unchanged(T value)
+    {
+        return new Saved<>(value, NOTHING_TO_SAVE);
+    }
+
+    // For changes refused because of the input; the value says why
+    static <T> Saved<T> rejected(T value)
+    {
+        return new Saved<>(value, NOTHING_TO_SAVE, true);
+    }
+
+    public T get()
+    {
+        return value;
+    }
+
+    public CompletableFuture<Void> whenSaved()
+    {
+        return whenSaved;
+    }
+
+    public boolean isRejected()
+    {
+        return rejected;
+    }
+}
\ No newline at end of file
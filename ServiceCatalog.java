@@ -0,0 +1,112 @@
+import java.util.*;
+
+// Immutable, indexed snapshot of the service list, built once by ServiceManager.
+// ID and name lookups are hash lookups, categories are pre-bucketed, and a price-sorted
+// index answers price range queries with a binary search.
+public final class ServiceCatalog
+{
+    private final List<Service> services;
+    private final List<String> categories;
+    private final HashMap<String, Service> byId = new HashMap<>();
+    private final HashMap<String, Service> byName = new HashMap<>();
+    private final HashMap<String, List<Service>> byCategory = new HashMap<>();
+    private final Service[] byPrice;
+    private final double[] sortedPrices;
+
+    public ServiceCatalog(List<Service> services, List<String> categories)
+    {
+        this.services = Collections.unmodifiableList(new ArrayList<>(services));
+        this.categories = Collections.unmodifiableList(new ArrayList<>(categories));
+
+        // First entry wins on duplicates, matching the old linear searches
+        for (Service s : this.services)
+            {
+                byId.putIfAbsent(idKey(s.getServiceId()), s);
+                byName.putIfAbsent(s.getServiceName(), s);
+            }
+
+        for (String category : this.categories)
+            {
+                ArrayList<Service> bucket = new ArrayList<>();
+                for (Service s : this.services)
+                    {
+                        if (s.getServiceCategory().equalsIgnoreCase(category))
+                            {
+                                bucket.add(s);
+                            }
+                    }
+                byCategory.put(category, Collections.unmodifiableList(Arrays.asList(bucket.toArray(new Service[0]))));
+            }
+
+        byPrice = this.services.toArray(new Service[0]);
+        Arrays.sort(byPrice, Comparator.comparingDouble(Service::getServicePrice).thenComparing(Service::getServiceId));
+        sortedPrices = new double[byPrice.length];
+        for (int i = 0; i < byPrice.length; i++)
+            {
+                sortedPrices[i] = byPrice[i].getServicePrice();
+            }
+    }
+
+    public List<Service> getServices()
+    {
+        return services;
+    }
+
+    public List<String> getCategories()
+    {
+        return categories;
+    }
+
+    // Case-insensitive; null if there is no such service
+    public Service findById(String serviceId)
+    {
+        return serviceId == null ? null : byId.get(idKey(serviceId));
+    }
+
+    // Exact display name, as shown in the service tables; null if there is no such service
+    public Service findByName(String serviceName)
+    {
+        return serviceName == null ? null : byName.get(serviceName);
+    }
+
+    // Services of one of the known categories (exact category name), empty for anything else
+    public List<Service> getByCategory(String category)
+    {
+        List<Service> bucket = category == null ? null : byCategory.get(category);
+        return bucket == null ? Collections.emptyList() : bucket;
+    }
+
+    // Services priced within [minPrice, maxPrice], cheapest first
+    public List<Service> getByPriceRange(double minPrice, double maxPrice)
+    {
+        if (minPrice > maxPrice) return Collections.emptyList();
+        int from = countBelow(minPrice, false);
+        int to = countBelow(maxPrice, true);
+        return Collections.unmodifiableList(Arrays.asList(byPrice).subList(from, to));
+    }
+
+    // Number of sorted prices below the given price (or at or below it when inclusive)
+    private int countBelow(double price, boolean inclusive)
+    {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high)
+            {
+                int mid = (low + high) >>> 1;
+                if (sortedPrices[mid] < price || (inclusive && sortedPrices[mid] == price))
+                    {
+                        low = mid + 1;
+                    }
+                else
+                    {
+                        high = mid;
+                    }
+            }
+        return low;
+    }
+
+    private static String idKey(String serviceId)
+    {
+        return serviceId.trim().toUpperCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -2,12 +2,15 @@ import java.util.*;
 public class ServiceManager 
 {
     private ArrayList<Service> allServices; 
+    // Indexed snapshot of allServices, built once after loading and replaced by refreshCatalog
+    private volatile ServiceCatalog catalog;
     private final List<String> CATEGORIES = Arrays.asList("Skin", "Laser", "Hair", "PRP", "Body Contouring", "Other");
 
     public ServiceManager() 
     {
         allServices = new ArrayList<>();
         loadServices(); 
+        catalog = new ServiceCatalog(allServices, CATEGORIES);
     }
 
     private void loadServices() 
@@ -118,28 +121,29 @@ public class ServiceManager
     
     public List<String> getServiceCategories() 
     {
-        return Collections.unmodifiableList(CATEGORIES);
+        return catalog.getCategories();
     }
     
     public List<Service> getServicesByCategory(String category) 
     {
-        ArrayList<Service> categoryServices = new ArrayList<>();
-        
-        // Basic validation for the category
-        if (category == null || !CATEGORIES.contains(category)) 
-            {
-                return categoryServices; 
-            }
+        return catalog.getByCategory(category);
+    }
 
-        for(Service s : allServices) 
-        {
-            if(s.getServiceCategory().equalsIgnoreCase(category)) 
-            {
-                categoryServices.add(s);
-            }
-        }
+    // Services priced within [minPrice, maxPrice], cheapest first
+    public List<Service> getServicesByPriceRange(double minPrice, double maxPrice)
+    {
+        return catalog.getByPriceRange(minPrice, maxPrice);
+    }
 
-        return categoryServices;
+    public ServiceCatalog getCatalog()
+    {
+        return catalog;
+    }
+
+    // Rebuilds the catalog after allServices has been changed; caches built on the old one are dropped
+    public void refreshCatalog()
+    {
+        catalog = new ServiceCatalog(allServices, CATEGORIES);
     }
 
     // Getter for all services (for other managers) 
@@ -151,19 +155,18 @@ public class ServiceManager
     // Getter for service list (for GUI)
     public List<Service> getServiceList()
     {
-        return allServices;
+        return catalog.getServices();
     }
 
-    // Search by ID 
+    // Search by ID (case-insensitive)
     public Service searchServiceById(String serviceId) 
     {
-        for (Service s : allServices) 
-        {
-            if (s.getServiceId().equalsIgnoreCase(serviceId)) 
-            {
-                return s;
-            }
-        }
-        return null;
+        return catalog.findById(serviceId);
+    }
+
+    // Search by exact service name, as shown in the service tables
+    public Service searchServiceByName(String serviceName)
+    {
+        return catalog.findByName(serviceName);
     }
 }
\ No newline at end of file
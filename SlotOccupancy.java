@@ -0,0 +1,82 @@
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-doctor, per-day occupancy bitmap. Each day is a BitSet of minute-of-day slots
+// (1440 bits, i.e. 23 longs), with a bit set for every minute an active appointment starts at.
+// Different doctors may be touched concurrently; callers serialize access to any one doctor.
+public class SlotOccupancy
+{
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final ConcurrentHashMap<String, HashMap<LocalDate, BitSet>> occupancy = new ConcurrentHashMap<>();
+
+    public boolean isTaken(String doctorKey, LocalDate date, int minuteOfDay)
+    {
+        BitSet day = getDay(doctorKey, date);
+        return day != null && day.get(minuteOfDay);
+    }
+
+    // True when no active appointment starts inside [minuteOfDay, minuteOfDay + length)
+    public boolean isRangeFree(String doctorKey, LocalDate date, int minuteOfDay, int length)
+    {
+        BitSet day = getDay(doctorKey, date);
+        if (day == null) return true;
+        int next = day.nextSetBit(minuteOfDay);
+        return next < 0 || next >= minuteOfDay + length;
+    }
+
+    public void claim(String doctorKey, LocalDate date, int minuteOfDay)
+    {
+        occupancy.computeIfAbsent(doctorKey, k -> new HashMap<>())
+            .computeIfAbsent(date, k -> new BitSet(MINUTES_PER_DAY))
+            .set(minuteOfDay);
+    }
+
+    public void release(String doctorKey, LocalDate date, int minuteOfDay)
+    {
+        HashMap<LocalDate, BitSet> days = occupancy.get(doctorKey);
+        if (days == null) return;
+        BitSet day = days.get(date);
+        if (day == null) return;
+        day.clear(minuteOfDay);
+        if (day.isEmpty())
+            {
+                days.remove(date);
+            }
+    }
+
+    // Start minutes of every free slot of the given length between fromMinute (inclusive) and toMinute (exclusive)
+    public List<Integer> freeSlots(String doctorKey, LocalDate date, int fromMinute, int toMinute, int slotLength)
+    {
+        List<Integer> free = new ArrayList<>();
+        if (slotLength <= 0) return free;
+
+        BitSet day = getDay(doctorKey, date);
+        for (int start = fromMinute; start + slotLength <= toMinute; start += slotLength)
+            {
+                if (day == null)
+                    {
+                        free.add(start);
+                        continue;
+                    }
+                int next = day.nextSetBit(start);
+                if (next < 0 || next >= start + slotLength)
+                    {
+                        free.add(start);
+                    }
+            }
+        return free;
+    }
+
+    public void clear()
+    {
+        occupancy.clear();
+    }
+
+    private BitSet getDay(String doctorKey, LocalDate date)
+    {
+        HashMap<LocalDate, BitSet> days = occupancy.get(doctorKey);
+        return days == null ? null : days.get(date);
+    }
+}
\ No newline at end of file
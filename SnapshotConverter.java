@@ -0,0 +1,76 @@
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Rewrites existing data files in the chosen snapshot format (run it while the clinic app is closed):
+//
+//   java SnapshotConverter [--format=binary|serialized] [--dataDir=<dir>] [file.ser ...]
+//
+// Without file names it converts the five clinic files. Loading accepts every format (including the
+// original bare ObjectOutputStream files), so this also works in reverse with --format=serialized.
+public class SnapshotConverter
+{
+    private static final List<String> CLINIC_FILES = Arrays.asList(
+        "appointments.ser", "patients.ser", "doctors.ser", "feedbacks.ser", "custom_packages.ser");
+
+    public static void main(String[] args)
+    {
+        String format = "binary";
+        List<String> files = new ArrayList<>();
+        for (String arg : args)
+            {
+                if (arg.startsWith("--format="))
+                    {
+                        format = arg.substring("--format=".length());
+                    }
+                else if (arg.startsWith("--dataDir="))
+                    {
+                        System.setProperty(Persistence.DATA_DIR_PROPERTY, arg.substring("--dataDir=".length()));
+                    }
+                else if (arg.startsWith("--"))
+                    {
+                        System.out.println("Unknown option: " + arg);
+                        return;
+                    }
+                else
+                    {
+                        files.add(arg);
+                    }
+            }
+        if (!format.equals("binary") && !format.equals("serialized"))
+            {
+                System.out.println("Unknown format: " + format + " (expected binary or serialized)");
+                return;
+            }
+        System.setProperty(Persistence.FORMAT_PROPERTY, format);
+        if (files.isEmpty()) files = CLINIC_FILES;
+
+        for (String fileName : files)
+            {
+                convert(fileName, format);
+            }
+    }
+
+    private static void convert(String fileName, String format)
+    {
+        File file = Persistence.resolve(fileName);
+        if (!file.exists())
+            {
+                System.out.println(fileName + ": not found, skipped.");
+                return;
+            }
+
+        long before = file.length();
+        ArrayList<Object> records = Persistence.load(fileName);
+        // An empty result from a non-empty file means it could not be read; never overwrite it with nothing
+        if (records.isEmpty())
+            {
+                System.out.println(fileName + ": no records loaded, left as it is.");
+                return;
+            }
+
+        Persistence.save(records, fileName);
+        System.out.println(String.format("%s: %,d record(s), %,d -> %,d bytes (%s)", fileName, records.size(), before, Persistence.resolve(fileName).length(), format));
+    }
+}
\ No newline at end of file
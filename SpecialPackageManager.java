@@ -4,27 +4,24 @@ public class SpecialPackageManager
 {
     private ServiceManager serviceManager;
 
+    // Packages depend only on the service catalog, so they are built once per catalog snapshot
+    private volatile PackageCache cache;
+
     public SpecialPackageManager(ServiceManager serviceManager)
     {
         this.serviceManager = serviceManager;
     }
 
-    // Generate packages for a specific category using predefined service IDs
+    // Predefined Silver/Golden/Platinum packages for a category (shared instances, do not modify)
     public List<SpecialPackage> getPackagesByCategory(String category)
     {
-        List<String> silverIds = getSilverServiceIds(category);
-        List<String> goldenIds = getGoldenServiceIds(category);
-        List<String> platinumIds = getPlatinumServiceIds(category);
-
-        List<Service> silverServices = getServicesByIds(silverIds);
-        List<Service> goldenServices = getServicesByIds(goldenIds);
-        List<Service> platinumServices = getServicesByIds(platinumIds);
-
-        SpecialPackage silver = new SpecialPackage(category + " Silver Package", silverServices);
-        SpecialPackage golden = new SpecialPackage(category + " Golden Package", goldenServices);
-        SpecialPackage platinum = new SpecialPackage(category + " Platinum Package", platinumServices);
-
-        return Arrays.asList(silver, golden, platinum);
+        List<SpecialPackage> packages = currentCache().byCategory.get(normalize(category));
+        if (packages != null)
+        {
+            return packages;
+        }
+        // Unknown category: same empty packages as before, just not worth caching
+        return buildPackages(category, serviceManager.getCatalog());
     }
 
     // Get all categories
@@ -33,25 +30,62 @@ public class SpecialPackageManager
         return serviceManager.getServiceCategories();
     }
 
-    // For backward compatibility, return empty list
+    // Every predefined package, category by category
     public List<SpecialPackage> getAllPackages()
     {
-        return new ArrayList<>();
+        return currentCache().all;
     }
 
+    // Case-insensitive, e.g. "Skin Golden Package"; null if there is no such package
     public SpecialPackage getSpecialPackageByName(String packageName)
     {
-        // Since packages are now predefined, this method is less useful
-        // But kept for compatibility
-        return null;
+        return currentCache().byName.get(normalize(packageName));
+    }
+
+    private PackageCache currentCache()
+    {
+        ServiceCatalog catalog = serviceManager.getCatalog();
+        PackageCache current = cache;
+        if (current == null || current.catalog != catalog)
+        {
+            synchronized (this)
+            {
+                current = cache;
+                if (current == null || current.catalog != catalog)
+                {
+                    current = new PackageCache(catalog);
+                    for (String category : catalog.getCategories())
+                    {
+                        current.add(category, buildPackages(category, catalog));
+                    }
+                    current.seal();
+                    cache = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private List<SpecialPackage> buildPackages(String category, ServiceCatalog catalog)
+    {
+        SpecialPackage silver = new SpecialPackage(category + " Silver Package", getServicesByIds(getSilverServiceIds(category), catalog));
+        SpecialPackage golden = new SpecialPackage(category + " Golden Package", getServicesByIds(getGoldenServiceIds(category), catalog));
+        SpecialPackage platinum = new SpecialPackage(category + " Platinum Package", getServicesByIds(getPlatinumServiceIds(category), catalog));
+
+        return Collections.unmodifiableList(Arrays.asList(silver, golden, platinum));
+    }
+
+    private static String normalize(String text)
+    {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
     }
 
-    private List<Service> getServicesByIds(List<String> ids)
+    private List<Service> getServicesByIds(List<String> ids, ServiceCatalog catalog)
     {
         List<Service> services = new ArrayList<>();
         for (String id : ids)
         {
-            Service service = serviceManager.searchServiceById(id);
+            Service service = catalog.findById(id);
             if (service != null)
             {
                 services.add(service);
@@ -62,7 +96,7 @@ public class SpecialPackageManager
 
     private List<String> getSilverServiceIds(String category)
     {
-        switch (category.toLowerCase())
+        switch (normalize(category))
         {
             case "skin":
                 return Arrays.asList("S01", "S02", "S10");
@@ -83,7 +117,7 @@ public class SpecialPackageManager
 
     private List<String> getGoldenServiceIds(String category)
     {
-        switch (category.toLowerCase())
+        switch (normalize(category))
         {
             case "skin":
                 return Arrays.asList("S01", "S02", "S03", "S06", "S11");
@@ -104,7 +138,7 @@ public class SpecialPackageManager
 
     private List<String> getPlatinumServiceIds(String category)
     {
-        switch (category.toLowerCase())
+        switch (normalize(category))
         {
             case "skin":
                 return Arrays.asList("S03", "S04", "S06", "S11", "S14", "S15", "S12");
@@ -122,4 +156,33 @@ public class SpecialPackageManager
                 return new ArrayList<>();
         }
     }
+
+    // Packages built from one catalog snapshot; read-only once sealed
+    private static final class PackageCache
+    {
+        private final ServiceCatalog catalog;
+        private final HashMap<String, List<SpecialPackage>> byCategory = new HashMap<>();
+        private final HashMap<String, SpecialPackage> byName = new HashMap<>();
+        private List<SpecialPackage> all = new ArrayList<>();
+
+        PackageCache(ServiceCatalog catalog)
+        {
+            this.catalog = catalog;
+        }
+
+        void add(String category, List<SpecialPackage> packages)
+        {
+            byCategory.put(normalize(category), packages);
+            for (SpecialPackage pkg : packages)
+            {
+                byName.put(normalize(pkg.getPackageName()), pkg);
+                all.add(pkg);
+            }
+        }
+
+        void seal()
+        {
+            all = Collections.unmodifiableList(all);
+        }
+    }
 }
@@ -0,0 +1,155 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Loads the managers' data concurrently on a small pool, following their real dependencies:
+//   doctors, services, feedback      independent of each other
+//   special and custom packages      after services
+//   appointments                     after doctors; the manager exists at once, its history loads in the background
+//   patients                         after doctors and feedback (and the appointment manager instance)
+// The login screen only needs to wait for getters whose stores it uses. Each phase's timing is logged.
+public class StartupOrchestrator
+{
+    private final long startedAt = System.nanoTime();
+    private final ExecutorService pool;
+
+    private final CompletableFuture<DoctorManager> doctors;
+    private final CompletableFuture<ServiceManager> services;
+    private final CompletableFuture<FeedbackManager> feedback;
+    private final CompletableFuture<SpecialPackageManager> specialPackages;
+    private final CompletableFuture<CustomPackageManager> customPackages;
+    private final CompletableFuture<AppointmentManager> appointments;
+    private final CompletableFuture<PatientManager> patients;
+
+    public StartupOrchestrator()
+    {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        pool = Executors.newFixedThreadPool(threads, r ->
+            {
+                Thread t = new Thread(r, "startup-loader-" + threadNumber.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            });
+
+        doctors = CompletableFuture.supplyAsync(() -> timed("doctors", DoctorManager::new), pool);
+        services = CompletableFuture.supplyAsync(() -> timed("services", ServiceManager::new), pool);
+        feedback = CompletableFuture.supplyAsync(() -> timed("feedback", FeedbackManager::new), pool);
+        specialPackages = services.thenApplyAsync(s -> timed("special packages", () -> new SpecialPackageManager(s)), pool);
+        customPackages = services.thenApplyAsync(s -> timed("custom packages", () -> new CustomPackageManager(s)), pool);
+
+        long[] hydrationStart = new long[1];
+        appointments = doctors.thenApply(d ->
+            {
+                hydrationStart[0] = System.nanoTime();
+                return new AppointmentManager(d, pool);
+            });
+        CompletableFuture<Void> history = appointments.thenCompose(AppointmentManager::whenLoaded).whenComplete((ignored, error) ->
+            {
+                if (error != null)
+                    {
+                        System.out.println("Startup: loading appointment history failed: " + rootCause(error));
+                    }
+                else
+                    {
+                        log("appointment history", hydrationStart[0], "background");
+                    }
+            });
+
+        patients = appointments.thenCombineAsync(feedback,
+            (a, f) -> timed("patients", () -> new PatientManager(a, f, doctors.join())), pool);
+
+        // The loader threads are only needed until every phase has finished, successfully or not
+        CompletableFuture.allOf(doctors, services, feedback, specialPackages, customPackages, patients, history)
+            .whenComplete((ignored, error) -> pool.shutdown());
+    }
+
+    public DoctorManager getDoctorManager()
+    {
+        return await(doctors);
+    }
+
+    public ServiceManager getServiceManager()
+    {
+        return await(services);
+    }
+
+    public FeedbackManager getFeedbackManager()
+    {
+        return await(feedback);
+    }
+
+    public SpecialPackageManager getSpecialPackageManager()
+    {
+        return await(specialPackages);
+    }
+
+    public CustomPackageManager getCustomPackageManager()
+    {
+        return await(customPackages);
+    }
+
+    // Available as soon as doctors are loaded; its history may still be loading
+    public AppointmentManager getAppointmentManager()
+    {
+        return await(appointments);
+    }
+
+    public PatientManager getPatientManager()
+    {
+        return await(patients);
+    }
+
+    // Logs a milestone reached outside the orchestrator (e.g. the login screen becoming visible)
+    public void logMilestone(String name)
+    {
+        System.out.println(String.format("Startup: %s at +%d ms", name, elapsedMillis(startedAt)));
+    }
+
+    private <T> T timed(String phase, Supplier<T> loader)
+    {
+        long start = System.nanoTime();
+        T result = loader.get();
+        log(phase, start, Thread.currentThread().getName());
+        return result;
+    }
+
+    private void log(String phase, long start, String thread)
+    {
+        System.out.println(String.format("Startup: %-20s %6d ms  (done at +%d ms, %s)",
+            phase, elapsedMillis(start), elapsedMillis(startedAt), thread));
+    }
+
+    private static long elapsedMillis(long since)
+    {
+        return (System.nanoTime() - since) / 1_000_000;
+    }
+
+    // Rethrows a failed phase's own exception rather than the CompletionException wrapping it
+    private static <T> T await(CompletableFuture<T> phase)
+    {
+        try
+        {
+            return phase.join();
+        }
+        catch (CompletionException e)
+        {
+            Throwable cause = rootCause(e);
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private static Throwable rootCause(Throwable error)
+    {
+        while (error instanceof CompletionException && error.getCause() != null)
+            {
+                error = error.getCause();
+            }
+        return error;
+    }
+}
\ No newline at end of file
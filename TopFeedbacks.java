@@ -0,0 +1,67 @@
+import java.util.*;
+
+// Bounded best-first rankings of feedback, one per FeedbackOrdering. Each ranking is a sorted
+// array of at most `capacity` entries, so adding costs O(capacity) and reading the top k is O(k),
+// independent of how much feedback history exists.
+public class TopFeedbacks
+{
+    private final int capacity;
+    private final EnumMap<FeedbackOrdering, Feedback[]> rankings = new EnumMap<>(FeedbackOrdering.class);
+    private final EnumMap<FeedbackOrdering, Integer> sizes = new EnumMap<>(FeedbackOrdering.class);
+
+    public TopFeedbacks(int capacity)
+    {
+        if (capacity < 1)
+            {
+                throw new IllegalArgumentException("Top feedback capacity must be at least 1.");
+            }
+        this.capacity = capacity;
+        for (FeedbackOrdering ordering : FeedbackOrdering.values())
+            {
+                rankings.put(ordering, new Feedback[capacity]);
+                sizes.put(ordering, 0);
+            }
+    }
+
+    public void add(Feedback fb)
+    {
+        for (FeedbackOrdering ordering : FeedbackOrdering.values())
+            {
+                insert(ordering, fb);
+            }
+    }
+
+    // The best min(k, capacity) entries for the ordering, best first
+    public List<Feedback> top(int k, FeedbackOrdering ordering)
+    {
+        Feedback[] ranking = rankings.get(ordering);
+        int n = Math.min(Math.max(0, k), sizes.get(ordering));
+        return new ArrayList<>(Arrays.asList(ranking).subList(0, n));
+    }
+
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    private void insert(FeedbackOrdering ordering, Feedback fb)
+    {
+        Feedback[] ranking = rankings.get(ordering);
+        int size = sizes.get(ordering);
+        Comparator<Feedback> comparator = ordering.comparator();
+
+        // Full and no better than the current last entry: not in the top `capacity`
+        if (size == capacity && comparator.compare(fb, ranking[size - 1]) >= 0) return;
+
+        int pos = Arrays.binarySearch(ranking, 0, size, fb, comparator);
+        if (pos < 0) pos = -pos - 1;
+
+        int moved = Math.min(size, capacity - 1) - pos;
+        if (moved > 0)
+            {
+                System.arraycopy(ranking, pos, ranking, pos + 1, moved);
+            }
+        ranking[pos] = fb;
+        sizes.put(ordering, Math.min(size + 1, capacity));
+    }
+}
\ No newline at end of file
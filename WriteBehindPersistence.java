@@ -0,0 +1,139 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Write-behind persistence: mutations enqueue a write keyed by file instead of serializing on the
+// caller's (usually the Swing) thread. A single background writer waits out a short window
+// (-Ddermaheaven.writeBehindMillis, default 50) so a burst of changes to one file becomes one
+// write, then runs it. Each caller gets a future that completes once its change is on disk (or
+// fails with the I/O error). Anything still pending is flushed by a JVM shutdown hook.
+public final class WriteBehindPersistence
+{
+    public static final String WINDOW_PROPERTY = "dermaheaven.writeBehindMillis";
+    public static final int DEFAULT_WINDOW_MILLIS = 50;
+
+    @FunctionalInterface
+    public interface Write
+    {
+        void run() throws IOException;
+    }
+
+    private static final class Pending
+    {
+        private Write write;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+    }
+
+    private static final Object QUEUE_LOCK = new Object();
+    // Pending writes per key, in first-enqueued order; a newer write for a key replaces the older one
+    private static final LinkedHashMap<String, Pending> pending = new LinkedHashMap<>();
+    // Held while a write runs, so the writer and the shutdown hook never write the same file at once
+    private static final ReentrantLock WRITE_LOCK = new ReentrantLock();
+    private static final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r ->
+        {
+            Thread t = new Thread(r, "write-behind-persistence");
+            t.setDaemon(true);
+            return t;
+        });
+    private static boolean flushScheduled;
+
+    static
+    {
+        Runtime.getRuntime().addShutdownHook(new Thread(WriteBehindPersistence::drain, "write-behind-shutdown"));
+    }
+
+    private WriteBehindPersistence()
+    {
+    }
+
+    // Saves the list returned by snapshot; the snapshot is taken when the write runs, so it must
+    // return a consistent copy and is called once per coalesced burst
+    public static <T> CompletableFuture<Void> save(Supplier<ArrayList<T>> snapshot, String fileName)
+    {
+        return schedule(fileName, () -> Persistence.saveOrThrow(snapshot.get(), fileName));
+    }
+
+    // Queues a write under a key (normally a file name); pending writes with the same key coalesce
+    public static CompletableFuture<Void> schedule(String key, Write write)
+    {
+        synchronized (QUEUE_LOCK)
+        {
+            Pending entry = pending.get(key);
+            if (entry == null)
+                {
+                    entry = new Pending();
+                    pending.put(key, entry);
+                }
+            entry.write = write;
+
+            if (!flushScheduled)
+                {
+                    flushScheduled = true;
+                    writer.schedule(WriteBehindPersistence::drain, getWindowMillis(), TimeUnit.MILLISECONDS);
+                }
+            return entry.done;
+        }
+    }
+
+    // Runs everything pending now; the future completes when all of it is written
+    public static CompletableFuture<Void> flushAll()
+    {
+        CompletableFuture<?>[] futures;
+        synchronized (QUEUE_LOCK)
+        {
+            futures = pending.values().stream().map(p -> p.done).toArray(CompletableFuture<?>[]::new);
+        }
+        writer.execute(WriteBehindPersistence::drain);
+        return CompletableFuture.allOf(futures);
+    }
+
+    public static int getPendingCount()
+    {
+        synchronized (QUEUE_LOCK)
+        {
+            return pending.size();
+        }
+    }
+
+    private static int getWindowMillis()
+    {
+        return Math.max(0, Integer.getInteger(WINDOW_PROPERTY, DEFAULT_WINDOW_MILLIS));
+    }
+
+    private static void drain()
+    {
+        WRITE_LOCK.lock();
+        try
+        {
+            Map<String, Pending> batch;
+            synchronized (QUEUE_LOCK)
+            {
+                batch = new LinkedHashMap<>(pending);
+                pending.clear();
+                flushScheduled = false;
+            }
+
+            for (Map.Entry<String, Pending> e : batch.entrySet())
+                {
+                    try
+                    {
+                        e.getValue().write.run();
+                        e.getValue().done.complete(null);
+                    }
+                    catch (IOException | RuntimeException ex)
+                    {
+                        System.out.println("Error saving " + e.getKey() + ": " + ex.getMessage());
+                        e.getValue().done.completeExceptionally(ex);
+                    }
+                }
+        }
+        finally
+        {
+            WRITE_LOCK.unlock();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,310 @@
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Stress check for AppointmentManager's booking guarantee: many threads race bookings, reschedules
+// and cancellations over a handful of doctors and days, so most operations fight over the same
+// slots and appointments. Afterwards, in memory and again after reloading snapshot plus journal:
+//   - no (doctor, date, time) holds two BOOKED appointments
+//   - no appointment ID was handed out twice
+//   - the occupancy bitmap agrees with the appointments (a slot is free exactly when nothing BOOKED holds it)
+//   - the reloaded appointments match the in-memory ones field for field
+// Exits non-zero on any violation, so it can gate a build.
+//
+//   mvn -P benchmarks compile exec:exec -Dbench.main=BookingStressCheck -Dbench.args="--threads=16 --operations=5000"
+//
+// Options: --threads=16  --operations=5000 (per thread)  --doctors=3  --days=3  --rounds=3  --seed=42
+public class BookingStressCheck
+{
+    private static final int SLOT_MINUTES = ClinicDataGenerator.SLOT_MINUTES;
+
+    private int threads = 16;
+    private int operationsPerThread = 5000;
+    private int doctorCount = 3;
+    private int days = 3;
+    private int rounds = 3;
+    private long seed = 42;
+
+    private final List<String> violations = new ArrayList<>();
+    // Live BOOKED IDs any thread may act on, so threads also fight over the same appointment
+    private final List<String> sharedIds = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, Doctor> doctorOf = new ConcurrentHashMap<>();
+    private final Map<Doctor, List<Slot>> slotsByDoctor = new HashMap<>();
+
+    // A (doctor, date, time) the doctor works; every operation targets one of these
+    private static final class Slot
+    {
+        private final Doctor doctor;
+        private final String date;
+        private final String time;
+
+        private Slot(Doctor doctor, String date, String time)
+        {
+            this.doctor = doctor;
+            this.date = date;
+            this.time = time;
+        }
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        BookingStressCheck check = new BookingStressCheck();
+        check.parseArgs(args);
+        boolean passed = check.run();
+        System.exit(passed ? 0 : 1);
+    }
+
+    private void parseArgs(String[] args)
+    {
+        for (String arg : args)
+            {
+                for (String option : arg.trim().split("\\s+"))
+                    {
+                        if (option.isEmpty()) continue;
+                        String[] kv = option.split("=", 2);
+                        String value = kv.length > 1 ? kv[1] : "";
+                        switch (kv[0])
+                            {
+                                case "--threads":
+                                    threads = Integer.parseInt(value);
+                                    break;
+                                case "--operations":
+                                    operationsPerThread = Integer.parseInt(value);
+                                    break;
+                                case "--doctors":
+                                    doctorCount = Integer.parseInt(value);
+                                    break;
+                                case "--days":
+                                    days = Integer.parseInt(value);
+                                    break;
+                                case "--rounds":
+                                    rounds = Integer.parseInt(value);
+                                    break;
+                                case "--seed":
+                                    seed = Long.parseLong(value);
+                                    break;
+                                default:
+                                    throw new IllegalArgumentException("Unknown option: " + option);
+                            }
+                    }
+            }
+    }
+
+    private boolean run() throws Exception
+    {
+        File dataDir = Files.createTempDirectory("dermaheaven-stress-").toFile();
+        System.setProperty(Persistence.DATA_DIR_PROPERTY, dataDir.getPath());
+        // A cheap hash: the check is about bookings, not logins
+        System.setProperty(PasswordHasher.ITERATIONS_PROPERTY, "1000");
+        new ClinicDataGenerator(seed, doctorCount, 10, 0, 0, 0, null, 1.0).writeAll();
+
+        DoctorManager doctorManager = new DoctorManager();
+        AppointmentManager appointmentManager = new AppointmentManager(doctorManager);
+        List<Service> services = new ServiceManager().getAllServices();
+        List<Slot> slots = workingSlots(appointmentManager, doctorManager.getAllDoctors());
+        System.out.println(String.format("Stress check: %d threads x %d operations x %d rounds over %d slots (%d doctors, %d days) in %s",
+            threads, operationsPerThread, rounds, slots.size(), doctorCount, days, dataDir));
+        if (slots.isEmpty())
+            {
+                System.out.println("FAIL: the generated doctors have no working slots in the window");
+                return false;
+            }
+
+        Set<String> issuedIds = ConcurrentHashMap.newKeySet();
+        for (int round = 1; round <= rounds && violations.isEmpty(); round++)
+            {
+                int[] counts = race(appointmentManager, services, slots, issuedIds, round);
+                System.out.println(String.format("Round %d: %d booked, %d rescheduled, %d cancelled, %d lost races",
+                    round, counts[0], counts[1], counts[2], counts[3]));
+                verify("round " + round + " (in memory)", appointmentManager, slots);
+            }
+
+        // Everything journaled must come back the same from snapshot plus journal
+        WriteBehindPersistence.flushAll().get(30, TimeUnit.SECONDS);
+        AppointmentManager reloaded = new AppointmentManager(new DoctorManager());
+        verify("after reload", reloaded, slots);
+        compare(appointmentManager.getAllAppointments(), reloaded.getAllAppointments());
+
+        if (violations.isEmpty())
+            {
+                System.out.println("PASS: no double bookings, no repeated IDs, occupancy consistent, reload identical");
+                return true;
+            }
+        System.out.println("FAIL: " + violations.size() + " violation(s)");
+        violations.stream().limit(20).forEach(v -> System.out.println("  " + v));
+        return false;
+    }
+
+    // Every 30-minute slot the doctors work over the next few days (starting tomorrow)
+    private List<Slot> workingSlots(AppointmentManager appointmentManager, List<Doctor> doctors)
+    {
+        List<Slot> slots = new ArrayList<>();
+        LocalDate first = LocalDate.now().plusDays(1);
+        for (Doctor doctor : doctors)
+            {
+                int found = 0;
+                for (LocalDate date = first; found < days && date.isBefore(first.plusDays(14)); date = date.plusDays(1))
+                    {
+                        String day = date.format(Appointment.DATE_FORMAT);
+                        List<String> free = appointmentManager.getFreeSlots(doctor, day, SLOT_MINUTES);
+                        if (free.isEmpty()) continue;
+                        found++;
+                        for (String time : free)
+                            {
+                                Slot slot = new Slot(doctor, day, time);
+                                slots.add(slot);
+                                slotsByDoctor.computeIfAbsent(doctor, d -> new ArrayList<>()).add(slot);
+                            }
+                    }
+            }
+        return slots;
+    }
+
+    // Returns {booked, rescheduled, cancelled, lost races}
+    private int[] race(AppointmentManager appointmentManager, List<Service> services, List<Slot> slots, Set<String> issuedIds, int round) throws Exception
+    {
+        AtomicInteger[] counts = {new AtomicInteger(), new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++)
+            {
+                SplittableRandom random = new SplittableRandom(seed * 1_000_003L + round * 1009L + t);
+                String patient = ClinicDataGenerator.patientName(t);
+                futures.add(pool.submit(() ->
+                    {
+                        start.await();
+                        for (int i = 0; i < operationsPerThread; i++)
+                            {
+                                Slot slot = slots.get(random.nextInt(slots.size()));
+                                int pick = random.nextInt(100);
+                                String id = pick < 50 ? null : randomSharedId(random);
+                                AppointmentResult result;
+                                if (id == null)
+                                    {
+                                        Service service = services.get(random.nextInt(services.size()));
+                                        result = appointmentManager.book(patient, slot.doctor.getDoctorName(), service, slot.date, slot.time);
+                                        if (result.isSuccess())
+                                            {
+                                                counts[0].incrementAndGet();
+                                                if (!issuedIds.add(result.getAppointmentId()))
+                                                    {
+                                                        fail("appointment ID " + result.getAppointmentId() + " issued twice");
+                                                    }
+                                                doctorOf.put(result.getAppointmentId(), slot.doctor);
+                                                sharedIds.add(result.getAppointmentId());
+                                            }
+                                    }
+                                else if (pick < 80)
+                                    {
+                                        // Reschedules stay with the same doctor, so pick a slot of theirs
+                                        List<Slot> own = slotsByDoctor.get(doctorOf.get(id));
+                                        Slot target = own.get(random.nextInt(own.size()));
+                                        result = appointmentManager.reschedule(id, target.date, target.time);
+                                        if (result.isSuccess()) counts[1].incrementAndGet();
+                                    }
+                                else
+                                    {
+                                        result = appointmentManager.cancel(id);
+                                        if (result.isSuccess())
+                                            {
+                                                counts[2].incrementAndGet();
+                                                sharedIds.remove(id);
+                                            }
+                                    }
+                                if (result.getOutcome() == AppointmentResult.Outcome.SLOT_UNAVAILABLE
+                                    || result.getOutcome() == AppointmentResult.Outcome.NOT_BOOKED)
+                                    {
+                                        counts[3].incrementAndGet();
+                                    }
+                                else if (!result.isSuccess())
+                                    {
+                                        fail("unexpected result " + result);
+                                    }
+                            }
+                        return null;
+                    }));
+            }
+        start.countDown();
+        for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        pool.shutdown();
+        return new int[] {counts[0].get(), counts[1].get(), counts[2].get(), counts[3].get()};
+    }
+
+    // Null (meaning: book instead) while nothing is booked
+    private String randomSharedId(SplittableRandom random)
+    {
+        synchronized (sharedIds)
+            {
+                return sharedIds.isEmpty() ? null : sharedIds.get(random.nextInt(sharedIds.size()));
+            }
+    }
+
+    private void verify(String stage, AppointmentManager appointmentManager, List<Slot> slots)
+    {
+        Map<String, String> holders = new HashMap<>();
+        Set<String> ids = new HashSet<>();
+        for (Appointment appt : appointmentManager.getAllAppointments())
+            {
+                if (!ids.add(appt.getAppointmentId()))
+                    {
+                        fail(stage + ": appointment ID " + appt.getAppointmentId() + " appears twice");
+                    }
+                if (appt.getAppointmentStatus() != AppointmentStatus.BOOKED) continue;
+                String key = appt.getDoctorName().toLowerCase(Locale.ROOT) + " " + appt.getDate() + " " + appt.getTime();
+                String other = holders.put(key, appt.getAppointmentId());
+                if (other != null)
+                    {
+                        fail(stage + ": " + key + " double booked by " + other + " and " + appt.getAppointmentId());
+                    }
+            }
+
+        for (Slot slot : slots)
+            {
+                String key = slot.doctor.getDoctorName().toLowerCase(Locale.ROOT) + " " + slot.date + " " + slot.time;
+                boolean held = holders.containsKey(key);
+                boolean available = appointmentManager.checkAvailability(slot.doctor, slot.date, slot.time);
+                if (held == available)
+                    {
+                        fail(stage + ": " + key + (held ? " is BOOKED but shows as free" : " is free but shows as taken"));
+                    }
+            }
+    }
+
+    private void compare(List<Appointment> expected, List<Appointment> actual)
+    {
+        Map<String, String> reloaded = new HashMap<>();
+        for (Appointment appt : actual)
+            {
+                reloaded.put(appt.getAppointmentId(), describe(appt));
+            }
+        if (expected.size() != actual.size())
+            {
+                fail("after reload: " + actual.size() + " appointments, expected " + expected.size());
+            }
+        for (Appointment appt : expected)
+            {
+                String got = reloaded.get(appt.getAppointmentId());
+                if (!describe(appt).equals(got))
+                    {
+                        fail("after reload: " + appt.getAppointmentId() + " is " + got + ", expected " + describe(appt));
+                    }
+            }
+    }
+
+    private static String describe(Appointment appt)
+    {
+        return appt.getDoctorName() + " " + appt.getPatientName() + " " + appt.getDate() + " " + appt.getTime() + " " + appt.getStatus();
+    }
+
+    private synchronized void fail(String violation)
+    {
+        violations.add(violation);
+    }
+}
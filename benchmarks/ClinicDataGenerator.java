@@ -0,0 +1,485 @@
+import java.io.File;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+// Deterministic synthetic clinic data for benchmarks, load tests and startup measurements.
+// The same seed and sizes always produce the same records. Doctors and services are picked
+// with a Zipf distribution, so a few popular doctors carry most of the bookings as in a real clinic.
+//
+//   mvn -P benchmarks compile exec:exec -Dbench.main=ClinicDataGenerator -Dbench.args="--out=data-1m --appointments=1000000"
+//
+// Options: --out=<dir>  --seed=42  --appointments=N  --doctors=N  --patients=N  --feedbacks=N
+//          --customPackages=N  --start=d-M-yyyy (default: window centred on the anchor)  --skew=1.0
+//          --anchor=d-M-yyyy (default 1-1-2025; pass today's date for data a live clinic can book around)
+// Every patient logs in with PATIENT_PASSWORD and every doctor with DOCTOR_PASSWORD. Each role shares
+// one PBKDF2 hash (hashing millions of passwords individually would take hours); real data never does.
+public class ClinicDataGenerator
+{
+    public static final String PATIENT_PASSWORD = "patient123";
+    public static final String DOCTOR_PASSWORD = "doctor123";
+    public static final int SLOT_MINUTES = 30;
+    // Share of the clinic's slot capacity the generated bookings should take up
+    private static final double WINDOW_FILL = 0.75;
+    // A fixed "today", so the same options give the same dates on every run
+    public static final LocalDate DEFAULT_ANCHOR_DATE = LocalDate.of(2025, 1, 1);
+
+    private static final String[] FIRST_NAMES = {
+        "Ayesha", "Fatima", "Zainab", "Maryam", "Hira", "Sana", "Mahnoor", "Iqra", "Amna", "Noor",
+        "Ali", "Ahmed", "Hamza", "Bilal", "Usman", "Omar", "Hassan", "Saad", "Danish", "Faisal",
+        "Sara", "Laiba", "Areeba", "Kiran", "Rabia", "Imran", "Kashif", "Zeeshan", "Adeel", "Tariq" };
+    private static final String[] LAST_NAMES = {
+        "Khan", "Ahmed", "Malik", "Qureshi", "Siddiqui", "Sheikh", "Butt", "Chaudhry", "Raza", "Javed",
+        "Iqbal", "Hussain", "Abbasi", "Mirza", "Baig", "Rehman", "Aslam", "Nawaz", "Shah", "Zafar" };
+    private static final String[] SPECIALIZATIONS = {
+        "Dermatologist", "Cosmetic Dermatologist", "Trichologist", "Laser Specialist", "Aesthetic Physician" };
+    private static final String[] WORKING_DAYS = {
+        "Monday to Friday", "Monday, Wednesday, Friday", "Tuesday, Thursday, Saturday",
+        "Tuesday to Saturday", "Wednesday to Sunday", "Saturday, Sunday", "Monday to Saturday" };
+    private static final String[] WORKING_HOURS = {
+        "09:00 to 14:00", "9:00am to 1:00pm", "10:00 to 18:00", "14:00 to 20:00", "4:00pm to 8:00pm", "11:00 to 19:00" };
+    private static final String[] FEEDBACK_TEXTS = {
+        "Very professional and caring.", "Good results after the first session.", "Clinic was clean, staff friendly.",
+        "Had to wait longer than expected.", "Treatment worked but felt rushed.", "Excellent explanation of the procedure.",
+        "Not satisfied with the outcome.", "Would recommend to friends and family." };
+
+    private final long seed;
+    private final int doctorCount;
+    private final int patientCount;
+    private final int appointmentCount;
+    private final int feedbackCount;
+    private final int customPackageCount;
+    private final double skew;
+    private final LocalDate anchorDate;
+    // Null until generateAppointments picks a window centred on anchorDate, unless given explicitly
+    private LocalDate startDate;
+
+    private final List<Service> services = new ServiceManager().getAllServices();
+    private LocalDate lastAppointmentDate;
+
+    public ClinicDataGenerator(long seed, int doctorCount, int patientCount, int appointmentCount,
+        int feedbackCount, int customPackageCount, LocalDate startDate, double skew)
+    {
+        this(seed, doctorCount, patientCount, appointmentCount, feedbackCount, customPackageCount, startDate, skew, DEFAULT_ANCHOR_DATE);
+    }
+
+    // anchorDate stands in for today when placing the booking window
+    public ClinicDataGenerator(long seed, int doctorCount, int patientCount, int appointmentCount,
+        int feedbackCount, int customPackageCount, LocalDate startDate, double skew, LocalDate anchorDate)
+    {
+        this.seed = seed;
+        this.doctorCount = Math.max(1, doctorCount);
+        this.patientCount = Math.max(1, patientCount);
+        this.appointmentCount = Math.max(0, appointmentCount);
+        this.feedbackCount = Math.max(0, feedbackCount);
+        this.customPackageCount = Math.max(0, customPackageCount);
+        this.startDate = startDate;
+        this.skew = skew;
+        this.anchorDate = anchorDate == null ? DEFAULT_ANCHOR_DATE : anchorDate;
+    }
+
+    // Sizes everything else from the appointment count; bookings straddle DEFAULT_ANCHOR_DATE
+    public static ClinicDataGenerator forAppointments(long seed, int appointmentCount)
+    {
+        return forAppointments(seed, appointmentCount, DEFAULT_ANCHOR_DATE);
+    }
+
+    // As above with bookings straddling anchorDate; load tests against a running clinic pass today
+    public static ClinicDataGenerator forAppointments(long seed, int appointmentCount, LocalDate anchorDate)
+    {
+        return new ClinicDataGenerator(seed,
+            Math.max(10, Math.min(500, appointmentCount / 2000)),
+            Math.max(10, appointmentCount / 4),
+            appointmentCount,
+            appointmentCount / 5,
+            Math.max(5, Math.min(10_000, appointmentCount / 100)),
+            null, 1.0, anchorDate);
+    }
+
+    // Writes every collection through Persistence into the current data directory
+    public void writeAll()
+    {
+        ArrayList<Doctor> doctors = generateDoctors();
+        Persistence.save(doctors, "doctors.ser");
+        Persistence.save(generatePatients(), "patients.ser");
+
+        ArrayList<CustomPackage> packages = generateCustomPackages();
+        Persistence.save(packages, "custom_packages.ser");
+
+        ArrayList<Appointment> appointments = generateAppointments(doctors, packages);
+        Persistence.save(appointments, "appointments.ser");
+        Persistence.save(generateFeedbacks(appointments), "feedbacks.ser");
+    }
+
+    public ArrayList<Doctor> generateDoctors()
+    {
+        SplittableRandom random = new SplittableRandom(seed);
+        String passwordHash = PasswordHasher.hash(DOCTOR_PASSWORD);
+        ArrayList<Doctor> doctors = new ArrayList<>(doctorCount);
+        for (int d = 0; d < doctorCount; d++)
+            {
+                Doctor doctor = new Doctor(String.format("D%03d", d + 1), doctorName(d),
+                    SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)],
+                    WORKING_DAYS[random.nextInt(WORKING_DAYS.length)],
+                    WORKING_HOURS[random.nextInt(WORKING_HOURS.length)],
+                    String.format("03%02d-%07d", random.nextInt(50), random.nextInt(10_000_000)),
+                    passwordHash, 30 + random.nextInt(30), random.nextBoolean() ? "Female" : "Male");
+                doctor.setDiscountRate(random.nextInt(4) * 0.05);
+                doctors.add(doctor);
+            }
+        return doctors;
+    }
+
+    public ArrayList<Patient> generatePatients()
+    {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        String passwordHash = PasswordHasher.hash(PATIENT_PASSWORD);
+        ArrayList<Patient> patients = new ArrayList<>(patientCount);
+        for (int p = 0; p < patientCount; p++)
+            {
+                String name = patientName(p);
+                patients.add(new Patient(String.format("P%03d", p + 1), name, 16 + random.nextInt(55),
+                    random.nextInt(3) == 0 ? "Male" : "Female",
+                    String.format("03%02d-%07d", random.nextInt(50), random.nextInt(10_000_000)),
+                    name.toLowerCase(Locale.ROOT).replace(' ', '.') + "@example.com", passwordHash));
+            }
+        return patients;
+    }
+
+    public ArrayList<CustomPackage> generateCustomPackages()
+    {
+        SplittableRandom random = new SplittableRandom(seed + 2);
+        ZipfSampler servicePicker = new ZipfSampler(services.size(), skew);
+        ArrayList<CustomPackage> packages = new ArrayList<>(customPackageCount);
+        for (int c = 0; c < customPackageCount; c++)
+            {
+                int size = 2 + random.nextInt(3);
+                LinkedHashSet<Service> chosen = new LinkedHashSet<>();
+                while (chosen.size() < size)
+                    {
+                        chosen.add(services.get(servicePicker.sample(random)));
+                    }
+                packages.add(new CustomPackage("Custom Package " + (c + 1), new ArrayList<>(chosen)));
+            }
+        return packages;
+    }
+
+    // Each appointment goes to a Zipf-chosen doctor at that doctor's next working slot, so no two
+    // active appointments collide. Slots are skipped now and then to leave realistic gaps. Bookings
+    // stay inside a window sized to the clinic's capacity: once a popular doctor is fully booked
+    // up to its end, the overflow goes to the next doctor down the popularity ranking.
+    public ArrayList<Appointment> generateAppointments(List<Doctor> doctors, List<CustomPackage> packages)
+    {
+        SplittableRandom random = new SplittableRandom(seed + 3);
+        ZipfSampler doctorPicker = new ZipfSampler(doctors.size(), skew);
+        ZipfSampler servicePicker = new ZipfSampler(services.size(), skew);
+        long weeklySlots = 0;
+        for (Doctor doctor : doctors)
+            {
+                weeklySlots += slotsPerDay(doctor.getSchedule()) * doctor.getSchedule().getWorkingDays().size();
+            }
+        int windowDays = (int) Math.max(1, Math.ceil(appointmentCount * 1.2 / WINDOW_FILL / Math.max(1, weeklySlots) * 7));
+        if (startDate == null)
+            {
+                startDate = anchorDate.minusDays(windowDays / 2);
+            }
+        LocalDate windowEnd = startDate.plusDays(windowDays);
+        lastAppointmentDate = startDate;
+
+        SlotCursor[] cursors = new SlotCursor[doctors.size()];
+        boolean[] full = new boolean[doctors.size()];
+        int fullCount = 0;
+        for (int d = 0; d < doctors.size(); d++)
+            {
+                cursors[d] = new SlotCursor(doctors.get(d).getSchedule(), startDate);
+            }
+
+        ArrayList<Appointment> appointments = new ArrayList<>(appointmentCount);
+        for (int a = 0; a < appointmentCount; a++)
+            {
+                int d = doctorPicker.sample(random);
+                SlotCursor cursor;
+                while (true)
+                    {
+                        if (fullCount == doctors.size())
+                            {
+                                // Everyone is booked up: stretch the window by a week
+                                windowEnd = windowEnd.plusDays(7);
+                                Arrays.fill(full, false);
+                                fullCount = 0;
+                            }
+                        if (full[d])
+                            {
+                                d = (d + 1) % doctors.size();
+                                continue;
+                            }
+                        cursor = cursors[d];
+                        cursor.advance(random.nextInt(5) == 0 ? 2 : 1);
+                        if (!cursor.date.isAfter(windowEnd)) break;
+                        full[d] = true;
+                        fullCount++;
+                    }
+                Doctor doctor = doctors.get(d);
+
+                String itemName;
+                double price;
+                if (!packages.isEmpty() && random.nextInt(10) == 0)
+                    {
+                        CustomPackage pkg = packages.get(random.nextInt(packages.size()));
+                        itemName = pkg.getPackageName();
+                        price = pkg.getPackageGrandPrice() * (1 - doctor.getDiscountRate());
+                    }
+                else
+                    {
+                        Service service = services.get(servicePicker.sample(random));
+                        itemName = service.getServiceName();
+                        price = service.getServicePrice();
+                    }
+
+                Appointment appt = new Appointment(String.format("A%04d", a + 1), patientName(random.nextInt(patientCount)),
+                    doctor.getDoctorName(), itemName, price, cursor.date, LocalTime.of(cursor.minute / 60, cursor.minute % 60));
+
+                // Appointments before the anchor are mostly completed; later ones are booked or rescheduled
+                int roll = random.nextInt(100);
+                if (cursor.date.isBefore(anchorDate))
+                    {
+                        appt.setStatus(roll < 85 ? AppointmentStatus.COMPLETED : AppointmentStatus.CANCELLED);
+                    }
+                else
+                    {
+                        appt.setStatus(roll < 90 ? AppointmentStatus.BOOKED : roll < 95 ? AppointmentStatus.RESCHEDULED : AppointmentStatus.CANCELLED);
+                    }
+                appointments.add(appt);
+
+                if (cursor.date.isAfter(lastAppointmentDate))
+                    {
+                        lastAppointmentDate = cursor.date;
+                    }
+            }
+        return appointments;
+    }
+
+    // Feedback is left on completed appointments; each doctor has a typical rating that reviews scatter around
+    public ArrayList<Feedback> generateFeedbacks(List<Appointment> appointments)
+    {
+        SplittableRandom random = new SplittableRandom(seed + 4);
+        ArrayList<Appointment> completed = new ArrayList<>();
+        for (Appointment appt : appointments)
+            {
+                if (appt.getAppointmentStatus() == AppointmentStatus.COMPLETED)
+                    {
+                        completed.add(appt);
+                    }
+            }
+
+        ArrayList<Feedback> feedbacks = new ArrayList<>(Math.min(feedbackCount, completed.size()));
+        if (completed.isEmpty()) return feedbacks;
+
+        HashMap<String, Double> typicalRating = new HashMap<>();
+        for (int f = 0; f < feedbackCount; f++)
+            {
+                Appointment appt = completed.get(random.nextInt(completed.size()));
+                double base = typicalRating.computeIfAbsent(appt.getDoctorName(), k -> 2.5 + random.nextDouble() * 2.5);
+                double rating = Math.max(1, Math.min(5, Math.round(base + random.nextDouble() * 2 - 1)));
+                feedbacks.add(new Feedback(String.format("F%03d", f + 1), appt.getPatientName(), appt.getDoctorName(),
+                    appt.getItemName(), FEEDBACK_TEXTS[random.nextInt(FEEDBACK_TEXTS.length)], rating));
+            }
+        return feedbacks;
+    }
+
+    // Latest date holding a generated appointment; valid after generateAppointments
+    public LocalDate getLastAppointmentDate()
+    {
+        return lastAppointmentDate;
+    }
+
+    // First day of the booking window; valid after generateAppointments
+    public LocalDate getStartDate()
+    {
+        return startDate;
+    }
+
+    public int getPatientCount()
+    {
+        return patientCount;
+    }
+
+    private static int slotsPerDay(DoctorSchedule schedule)
+    {
+        int slots = 0;
+        for (int r = 0; r < schedule.getRangeCount(); r++)
+            {
+                slots += (schedule.getRangeEnd(r) - schedule.getRangeStart(r)) / SLOT_MINUTES;
+            }
+        return slots;
+    }
+
+    // Names are unique within doctors and within patients, since both log in by name
+    public static String doctorName(int index)
+    {
+        return uniqueName(index);
+    }
+
+    public static String patientName(int index)
+    {
+        return uniqueName(index);
+    }
+
+    private static String uniqueName(int n)
+    {
+        int combos = FIRST_NAMES.length * LAST_NAMES.length;
+        String name = FIRST_NAMES[n % FIRST_NAMES.length] + " " + LAST_NAMES[(n / FIRST_NAMES.length) % LAST_NAMES.length];
+        return n < combos ? name : name + " " + (n / combos + 1);
+    }
+
+    // --- Command line ---
+
+    public static void main(String[] args)
+    {
+        String out = "generated-data";
+        long seed = 42;
+        int appointments = 100_000;
+        Integer doctors = null, patients = null, feedbacks = null, customPackages = null;
+        LocalDate start = null;
+        LocalDate anchor = DEFAULT_ANCHOR_DATE;
+        double skew = 1.0;
+
+        for (String arg : args)
+            {
+                for (String option : arg.trim().split("\\s+"))
+                    {
+                        if (option.isEmpty()) continue;
+                        String[] kv = option.split("=", 2);
+                        String value = kv.length > 1 ? kv[1] : "";
+                        switch (kv[0])
+                            {
+                                case "--out": out = value; break;
+                                case "--seed": seed = Long.parseLong(value); break;
+                                case "--appointments": appointments = Integer.parseInt(value); break;
+                                case "--doctors": doctors = Integer.parseInt(value); break;
+                                case "--patients": patients = Integer.parseInt(value); break;
+                                case "--feedbacks": feedbacks = Integer.parseInt(value); break;
+                                case "--customPackages": customPackages = Integer.parseInt(value); break;
+                                case "--start": start = LocalDate.parse(value, Appointment.DATE_FORMAT); break;
+                                case "--anchor": anchor = LocalDate.parse(value, Appointment.DATE_FORMAT); break;
+                                case "--skew": skew = Double.parseDouble(value); break;
+                                default:
+                                    System.out.println("Unknown option: " + option);
+                                    return;
+                            }
+                    }
+            }
+
+        ClinicDataGenerator defaults = forAppointments(seed, appointments);
+        ClinicDataGenerator generator = new ClinicDataGenerator(seed,
+            doctors != null ? doctors : defaults.doctorCount,
+            patients != null ? patients : defaults.patientCount,
+            appointments,
+            feedbacks != null ? feedbacks : defaults.feedbackCount,
+            customPackages != null ? customPackages : defaults.customPackageCount,
+            start, skew, anchor);
+
+        File dir = new File(out);
+        if (!dir.isDirectory() && !dir.mkdirs())
+            {
+                System.out.println("Error: Cannot create output directory " + dir.getAbsolutePath());
+                return;
+            }
+        System.setProperty(Persistence.DATA_DIR_PROPERTY, dir.getPath());
+
+        long started = System.nanoTime();
+        generator.writeAll();
+        System.out.println(String.format("Generated %d doctors, %d patients, %d appointments (%s to %s), %d feedbacks and %d custom packages in %s (%.1f s)",
+            generator.doctorCount, generator.patientCount, generator.appointmentCount,
+            generator.startDate.format(Appointment.DATE_FORMAT), generator.lastAppointmentDate.format(Appointment.DATE_FORMAT),
+            generator.feedbackCount, generator.customPackageCount, dir.getAbsolutePath(), (System.nanoTime() - started) / 1e9));
+    }
+
+    // Walks one doctor's working slots forward in time
+    private static final class SlotCursor
+    {
+        private final DoctorSchedule schedule;
+        private LocalDate date;
+        private int range;
+        private int minute;
+        private boolean started;
+
+        SlotCursor(DoctorSchedule schedule, LocalDate startDate)
+        {
+            this.schedule = schedule;
+            this.date = startDate.minusDays(1);
+        }
+
+        void advance(int slots)
+        {
+            for (int i = 0; i < slots; i++)
+                {
+                    if (!started)
+                        {
+                            started = true;
+                            nextWorkingDay();
+                            range = 0;
+                            minute = schedule.getRangeStart(0);
+                        }
+                    else
+                        {
+                            minute += SLOT_MINUTES;
+                        }
+
+                    // Roll over into the next working range, or the next working day
+                    while (minute + SLOT_MINUTES > schedule.getRangeEnd(range))
+                        {
+                            if (range + 1 < schedule.getRangeCount())
+                                {
+                                    range++;
+                                }
+                            else
+                                {
+                                    nextWorkingDay();
+                                    range = 0;
+                                }
+                            minute = schedule.getRangeStart(range);
+                        }
+                }
+        }
+
+        private void nextWorkingDay()
+        {
+            Set<DayOfWeek> days = schedule.getWorkingDays();
+            do
+                {
+                    date = date.plusDays(1);
+                }
+            while (!days.isEmpty() && !days.contains(date.getDayOfWeek()));
+        }
+    }
+
+    // Zipf(s) over ranks 0..n-1 via a precomputed CDF; rank 0 is the most popular
+    private static final class ZipfSampler
+    {
+        private final double[] cdf;
+
+        ZipfSampler(int n, double s)
+        {
+            cdf = new double[n];
+            double total = 0;
+            for (int k = 0; k < n; k++)
+                {
+                    total += 1.0 / Math.pow(k + 1, s);
+                    cdf[k] = total;
+                }
+            for (int k = 0; k < n; k++)
+                {
+                    cdf[k] /= total;
+                }
+        }
+
+        int sample(SplittableRandom random)
+        {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            int rank = index >= 0 ? index : -index - 1;
+            return Math.min(rank, cdf.length - 1);
+        }
+    }
+}
\ No newline at end of file
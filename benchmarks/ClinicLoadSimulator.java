@@ -0,0 +1,374 @@
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+// Simulates a busy clinic day in-process: receptionist and patient threads calling the managers
+// directly with a realistic mix of logins, catalog browsing, availability checks, bookings,
+// reschedules, cancellations and feedback, on a generated dataset.
+//
+//   mvn -P benchmarks compile exec:exec -Dbench.main=ClinicLoadSimulator -Dbench.args="--threads=32 --duration=30"
+//
+// Options: --threads=32  --duration=30 (seconds)  --warmup=5 (seconds, not reported)
+//          --appointments=100000 (size of the generated dataset)  --seed=42
+//          --rate=0 (total operations per second; 0 = each thread goes as fast as it can)
+//          --passwordCost=<PBKDF2 iterations> (default: the configured cost; logins that miss the login
+//          cache pay it in full, so at the default cost they take most of the CPU)
+//          --mix=login:10,browse:25,availability:25,book:20,reschedule:8,cancel:7,feedback:5
+//          --distribution (also print each operation's full percentile distribution, .hgrm format)
+// With --rate, latency is measured from when each operation was due to start rather than when it
+// did, so a stall also counts against the operations queued up behind it (no coordinated omission).
+// A booking or reschedule that loses its slot to another thread is a conflict, not an error;
+// errors are exceptions and results the simulated user would not expect (a failed login).
+public class ClinicLoadSimulator
+{
+    private static final int SLOT_MINUTES = ClinicDataGenerator.SLOT_MINUTES;
+    // Bookings and reschedules aim for a day within this many days of today
+    private static final int BOOKING_HORIZON_DAYS = 14;
+    private static final String[] FEEDBACK_TEXTS = {
+        "Quick and friendly.", "Explained everything clearly.", "Had to wait a while.", "Great results." };
+
+    private enum Operation { LOGIN, BROWSE, AVAILABILITY, BOOK, RESCHEDULE, CANCEL, FEEDBACK }
+
+    private enum Outcome { OK, CONFLICT, ERROR }
+
+    private int threads = 32;
+    private int durationSeconds = 30;
+    private int warmupSeconds = 5;
+    private int appointments = 100_000;
+    private long seed = 42;
+    private double rate;
+    private int passwordCost = PasswordHasher.getConfiguredIterations();
+    private boolean distribution;
+    private final int[] mix = {10, 25, 25, 20, 8, 7, 5};
+
+    private AppointmentManager appointmentManager;
+    private DoctorManager doctorManager;
+    private PatientManager patientManager;
+    private ServiceManager serviceManager;
+    private SpecialPackageManager specialPackageManager;
+    private FeedbackManager feedbackManager;
+    private List<Doctor> doctors;
+    private List<Service> services;
+    private List<String> categories;
+    private int patientCount;
+
+    // One per thread per phase, merged for the report
+    private static final class ThreadResults
+    {
+        private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+        private final long[][] outcomes = new long[Operation.values().length][Outcome.values().length];
+        // {appointment ID, doctor name} of this thread's bookings still BOOKED, oldest first
+        private final ArrayDeque<String[]> ownBookings = new ArrayDeque<>();
+        private String firstError;
+
+        private ThreadResults()
+        {
+            for (int i = 0; i < latencies.length; i++)
+                {
+                    latencies[i] = new LatencyHistogram();
+                }
+        }
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        ClinicLoadSimulator simulator = new ClinicLoadSimulator();
+        simulator.parseArgs(args);
+        simulator.run();
+    }
+
+    private void parseArgs(String[] args)
+    {
+        for (String arg : args)
+            {
+                for (String option : arg.trim().split("\\s+"))
+                    {
+                        if (option.isEmpty()) continue;
+                        String[] kv = option.split("=", 2);
+                        String value = kv.length > 1 ? kv[1] : "";
+                        switch (kv[0])
+                            {
+                                case "--threads":
+                                    threads = Integer.parseInt(value);
+                                    break;
+                                case "--duration":
+                                    durationSeconds = Integer.parseInt(value);
+                                    break;
+                                case "--warmup":
+                                    warmupSeconds = Integer.parseInt(value);
+                                    break;
+                                case "--appointments":
+                                    appointments = Integer.parseInt(value);
+                                    break;
+                                case "--seed":
+                                    seed = Long.parseLong(value);
+                                    break;
+                                case "--rate":
+                                    rate = Double.parseDouble(value);
+                                    break;
+                                case "--passwordCost":
+                                    passwordCost = Integer.parseInt(value);
+                                    break;
+                                case "--mix":
+                                    parseMix(value);
+                                    break;
+                                case "--distribution":
+                                    distribution = true;
+                                    break;
+                                default:
+                                    throw new IllegalArgumentException("Unknown option: " + option);
+                            }
+                    }
+            }
+    }
+
+    // Operations left out of --mix get weight 0
+    private void parseMix(String value)
+    {
+        Arrays.fill(mix, 0);
+        for (String entry : value.split(","))
+            {
+                String[] kv = entry.split(":", 2);
+                Operation op = Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT));
+                mix[op.ordinal()] = Integer.parseInt(kv[1].trim());
+            }
+        if (Arrays.stream(mix).sum() <= 0) throw new IllegalArgumentException("--mix needs at least one positive weight");
+    }
+
+    private void run() throws Exception
+    {
+        File dataDir = Files.createTempDirectory("dermaheaven-load-").toFile();
+        System.setProperty(Persistence.DATA_DIR_PROPERTY, dataDir.getPath());
+        System.setProperty(PasswordHasher.ITERATIONS_PROPERTY, String.valueOf(passwordCost));
+        ClinicDataGenerator generator = ClinicDataGenerator.forAppointments(seed, appointments, LocalDate.now());
+        generator.writeAll();
+        patientCount = generator.getPatientCount();
+        System.out.println("Generated " + appointments + " appointments in " + dataDir);
+
+        StartupOrchestrator startup = new StartupOrchestrator();
+        appointmentManager = startup.getAppointmentManager();
+        doctorManager = startup.getDoctorManager();
+        patientManager = startup.getPatientManager();
+        serviceManager = startup.getServiceManager();
+        specialPackageManager = startup.getSpecialPackageManager();
+        feedbackManager = startup.getFeedbackManager();
+        appointmentManager.whenLoaded().join();
+
+        doctors = new ArrayList<>(doctorManager.getAllDoctors());
+        services = new ArrayList<>(serviceManager.getAllServices());
+        categories = serviceManager.getServiceCategories();
+
+        System.out.println(String.format(Locale.ROOT, "Simulating %d threads, %s, password cost %d, %d s warmup, %d s measured",
+            threads, rate > 0 ? String.format(Locale.ROOT, "%.0f ops/s", rate) : "unthrottled", passwordCost, warmupSeconds, durationSeconds));
+        runPhase(0, warmupSeconds);
+        List<ThreadResults> results = runPhase(1, durationSeconds);
+        report(results);
+    }
+
+    // phase numbers the run (0 warmup, 1 measured) so each gets its own, repeatable random streams
+    private List<ThreadResults> runPhase(int phase, int seconds) throws Exception
+    {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<ThreadResults>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++)
+            {
+                int threadIndex = t;
+                futures.add(pool.submit(() -> runThread(phase, threadIndex, start, deadline)));
+            }
+        List<ThreadResults> results = new ArrayList<>();
+        for (Future<ThreadResults> future : futures)
+            {
+                results.add(future.get());
+            }
+        pool.shutdown();
+        return results;
+    }
+
+    private ThreadResults runThread(int phase, int threadIndex, long start, long deadline)
+    {
+        ThreadResults results = new ThreadResults();
+        // From the options only (never the clock), so the same --seed replays the same operation sequence
+        SplittableRandom random = new SplittableRandom(seed * 1_000_003L + phase * 1009L + threadIndex);
+        int totalWeight = Arrays.stream(mix).sum();
+        // Open loop: thread t owns every threads-th tick of the schedule, starting at tick t
+        long interval = rate > 0 ? (long) (1e9 * threads / rate) : 0;
+        long due = start + (rate > 0 ? (long) (1e9 * threadIndex / rate) : 0);
+
+        while (true)
+            {
+                if (interval > 0)
+                    {
+                        long wait = due - System.nanoTime();
+                        if (wait > 0) LockSupport.parkNanos(wait);
+                    }
+                long begin = interval > 0 ? due : System.nanoTime();
+                if (begin >= deadline) break;
+
+                Operation op = pick(random, totalWeight);
+                // Nothing of this thread's own to change yet: a patient books first
+                if ((op == Operation.RESCHEDULE || op == Operation.CANCEL) && results.ownBookings.isEmpty()) op = Operation.BOOK;
+                Outcome outcome;
+                try
+                {
+                    outcome = perform(op, random, results);
+                }
+                catch (RuntimeException e)
+                {
+                    outcome = Outcome.ERROR;
+                    if (results.firstError == null) results.firstError = op + ": " + e;
+                }
+                long end = System.nanoTime();
+                results.latencies[op.ordinal()].record(end - begin);
+                results.outcomes[op.ordinal()][outcome.ordinal()]++;
+                due += interval;
+            }
+        return results;
+    }
+
+    private Operation pick(SplittableRandom random, int totalWeight)
+    {
+        int r = random.nextInt(totalWeight);
+        for (Operation op : Operation.values())
+            {
+                r -= mix[op.ordinal()];
+                if (r < 0) return op;
+            }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private Outcome perform(Operation op, SplittableRandom random, ThreadResults results)
+    {
+        String patient = ClinicDataGenerator.patientName(random.nextInt(patientCount));
+        Doctor doctor = doctors.get(random.nextInt(doctors.size()));
+        switch (op)
+        {
+            case LOGIN:
+                // One in five logins is a doctor starting a shift
+                if (random.nextInt(5) == 0)
+                    {
+                        return doctorManager.authenticate(doctor.getDoctorName(), ClinicDataGenerator.DOCTOR_PASSWORD) != null ? Outcome.OK : Outcome.ERROR;
+                    }
+                return patientManager.attemptLogin(patient, ClinicDataGenerator.PATIENT_PASSWORD) != null ? Outcome.OK : Outcome.ERROR;
+            case BROWSE:
+                serviceManager.getServicesByCategory(categories.get(random.nextInt(categories.size())));
+                specialPackageManager.getAllPackages();
+                feedbackManager.getDoctorAverageRating(doctor.getDoctorName());
+                return Outcome.OK;
+            case AVAILABILITY:
+                appointmentManager.findNextAvailableSlots(doctor, LocalDate.now().plusDays(random.nextInt(BOOKING_HORIZON_DAYS)), 5, SLOT_MINUTES);
+                return Outcome.OK;
+            case BOOK:
+                return book(patient, doctor, random, results);
+            case RESCHEDULE:
+                {
+                    String[] booking = results.ownBookings.pollFirst();
+                    results.ownBookings.addLast(booking);
+                    AvailableSlot slot = nextSlot(doctorManager.getDoctorByName(booking[1]), random);
+                    if (slot == null) return Outcome.CONFLICT;
+                    return classify(appointmentManager.reschedule(booking[0], slot.getDate(), slot.getTime()));
+                }
+            case CANCEL:
+                {
+                    return appointmentManager.cancel(results.ownBookings.pollFirst()[0]).isSuccess() ? Outcome.OK : Outcome.ERROR;
+                }
+            case FEEDBACK:
+                {
+                    Service service = services.get(random.nextInt(services.size()));
+                    Saved<String> submission = feedbackManager.submitFeedback(patient, doctor.getDoctorName(), service.getServiceName(),
+                        FEEDBACK_TEXTS[random.nextInt(FEEDBACK_TEXTS.length)], 1 + random.nextInt(5));
+                    return submission.isRejected() ? Outcome.ERROR : Outcome.OK;
+                }
+            default:
+                throw new IllegalStateException("Unknown operation " + op);
+        }
+    }
+
+    // Books the first free slot found; another thread may take it between the search and the booking
+    private Outcome book(String patient, Doctor doctor, SplittableRandom random, ThreadResults results)
+    {
+        AvailableSlot slot = nextSlot(doctor, random);
+        if (slot == null) return Outcome.CONFLICT;
+        Service service = services.get(random.nextInt(services.size()));
+        AppointmentResult result = appointmentManager.book(patient, doctor.getDoctorName(), service, slot.getDate(), slot.getTime());
+        if (!result.isSuccess()) return classify(result);
+
+        results.ownBookings.addLast(new String[] {result.getAppointmentId(), doctor.getDoctorName()});
+        return Outcome.OK;
+    }
+
+    // Losing a slot found free a moment ago is the expected race; any other failure is an error
+    private static Outcome classify(AppointmentResult result)
+    {
+        if (result.isSuccess()) return Outcome.OK;
+        return result.getOutcome() == AppointmentResult.Outcome.SLOT_UNAVAILABLE ? Outcome.CONFLICT : Outcome.ERROR;
+    }
+
+    private AvailableSlot nextSlot(Doctor doctor, SplittableRandom random)
+    {
+        LocalDate from = LocalDate.now().plusDays(random.nextInt(BOOKING_HORIZON_DAYS));
+        List<AvailableSlot> slots = appointmentManager.findNextAvailableSlots(doctor, from, 1, SLOT_MINUTES);
+        return slots.isEmpty() ? null : slots.get(0);
+    }
+
+    private void report(List<ThreadResults> results)
+    {
+        Operation[] ops = Operation.values();
+        LatencyHistogram all = new LatencyHistogram();
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-13s %9s %9s %9s %9s %9s %9s %9s %9s",
+            "operation", "count", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "conflict", "error"));
+        long conflicts = 0;
+        long errors = 0;
+        for (Operation op : ops)
+            {
+                LatencyHistogram merged = new LatencyHistogram();
+                long[] outcomes = new long[Outcome.values().length];
+                for (ThreadResults r : results)
+                    {
+                        merged.add(r.latencies[op.ordinal()]);
+                        for (int o = 0; o < outcomes.length; o++)
+                            {
+                                outcomes[o] += r.outcomes[op.ordinal()][o];
+                            }
+                    }
+                all.add(merged);
+                conflicts += outcomes[Outcome.CONFLICT.ordinal()];
+                errors += outcomes[Outcome.ERROR.ordinal()];
+                long count = merged.getTotalCount();
+                if (count == 0) continue;
+                System.out.println(String.format(Locale.ROOT, "%-13s %9d %9.0f %9.3f %9.3f %9.3f %9.3f %8.2f%% %8.2f%%",
+                    op.name().toLowerCase(Locale.ROOT), count, count / (double) durationSeconds,
+                    merged.getValueAtPercentile(50) / 1e6, merged.getValueAtPercentile(99) / 1e6,
+                    merged.getValueAtPercentile(99.9) / 1e6, merged.getMax() / 1e6,
+                    100.0 * outcomes[Outcome.CONFLICT.ordinal()] / count, 100.0 * outcomes[Outcome.ERROR.ordinal()] / count));
+                if (distribution)
+                    {
+                        System.out.println();
+                        System.out.println("# " + op.name().toLowerCase(Locale.ROOT));
+                        merged.printPercentileDistribution(System.out);
+                        System.out.println();
+                    }
+            }
+
+        long total = all.getTotalCount();
+        System.out.println(String.format(Locale.ROOT, "%-13s %9d %9.0f %9.3f %9.3f %9.3f %9.3f %8.2f%% %8.2f%%",
+            "all", total, total / (double) durationSeconds,
+            all.getValueAtPercentile(50) / 1e6, all.getValueAtPercentile(99) / 1e6,
+            all.getValueAtPercentile(99.9) / 1e6, all.getMax() / 1e6,
+            total == 0 ? 0 : 100.0 * conflicts / total, total == 0 ? 0 : 100.0 * errors / total));
+
+        for (ThreadResults r : results)
+            {
+                if (r.firstError != null)
+                    {
+                        System.out.println("First error: " + r.firstError);
+                        break;
+                    }
+            }
+    }
+}
\ No newline at end of file
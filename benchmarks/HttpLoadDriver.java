@@ -0,0 +1,315 @@
+import java.io.File;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Load test for the ClinicHttpServer API: many concurrent clients running a front-desk mix of
+// appointment lookups, slot searches and bookings as fast as the server answers them.
+//
+//   mvn -P benchmarks compile exec:exec -Dbench.main=HttpLoadDriver -Dbench.args="--connections=64 --duration=30"
+//
+// Options: --connections=64  --duration=30 (seconds)  --warmup=5 (seconds, not reported)
+//          --appointments=100000 (size of the generated dataset)  --seed=42
+//          --url=http://host:port (test a running server instead of starting one in-process on a generated dataset)
+//          --apiKey=KEY (that server's staff key; bookings and appointment lists go through the front desk)
+// The mix is 50% GET appointments by patient, 25% GET slots for one doctor, 15% POST a booking into the
+// first returned slot (clients race for the same slots, so 409 answers are expected) and 10% GET doctors.
+public class HttpLoadDriver
+{
+    private static final String[] ENDPOINTS = {"appointments by patient", "slots", "book", "doctors"};
+
+    private int connections = 64;
+    private int durationSeconds = 30;
+    private int warmupSeconds = 5;
+    private int appointments = 100_000;
+    private long seed = 42;
+    private String url;
+    private String apiKey;
+
+    private int patientCount;
+    private final List<String> doctorNames = new ArrayList<>();
+    private final List<String> serviceIds = new ArrayList<>();
+    private HttpClient client;
+
+    // Per-client results, merged after the run
+    private static final class Recorder
+    {
+        private final LatencyHistogram[] latencies = new LatencyHistogram[ENDPOINTS.length];
+        private final TreeMap<Integer, Integer> statusCounts = new TreeMap<>();
+        private int errors;
+
+        private Recorder()
+        {
+            for (int i = 0; i < ENDPOINTS.length; i++)
+                {
+                    latencies[i] = new LatencyHistogram();
+                }
+        }
+
+        private void record(int endpoint, long nanos, int status)
+        {
+            latencies[endpoint].record(nanos);
+            statusCounts.merge(status, 1, Integer::sum);
+        }
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        HttpLoadDriver driver = new HttpLoadDriver();
+        driver.parseArgs(args);
+        driver.run();
+    }
+
+    private void parseArgs(String[] args)
+    {
+        for (String arg : args)
+            {
+                for (String option : arg.trim().split("\\s+"))
+                    {
+                        if (option.isEmpty()) continue;
+                        String[] kv = option.split("=", 2);
+                        String value = kv.length > 1 ? kv[1] : "";
+                        switch (kv[0])
+                            {
+                                case "--connections":
+                                    connections = Integer.parseInt(value);
+                                    break;
+                                case "--duration":
+                                    durationSeconds = Integer.parseInt(value);
+                                    break;
+                                case "--warmup":
+                                    warmupSeconds = Integer.parseInt(value);
+                                    break;
+                                case "--appointments":
+                                    appointments = Integer.parseInt(value);
+                                    break;
+                                case "--seed":
+                                    seed = Long.parseLong(value);
+                                    break;
+                                case "--apiKey":
+                                    apiKey = value;
+                                    break;
+                                case "--url":
+                                    url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                                    break;
+                                default:
+                                    throw new IllegalArgumentException("Unknown option: " + option);
+                            }
+                    }
+            }
+    }
+
+    private void run() throws Exception
+    {
+        ClinicHttpServer server = null;
+        if (url == null)
+            {
+                server = startInProcessServer();
+                url = "http://127.0.0.1:" + server.getPort();
+            }
+
+        ExecutorService clientPool = Executors.newFixedThreadPool(Math.max(4, connections / 4));
+        client = HttpClient.newBuilder()
+            .executor(clientPool)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        try
+        {
+            loadReferenceData();
+            System.out.println(String.format("Load test against %s: %d connections, %d s warmup, %d s measured",
+                url, connections, warmupSeconds, durationSeconds));
+
+            runPhase(warmupSeconds);
+            List<Recorder> recorders = runPhase(durationSeconds);
+            report(recorders);
+        }
+        finally
+        {
+            clientPool.shutdown();
+            if (server != null) server.stop(0);
+        }
+    }
+
+    private ClinicHttpServer startInProcessServer() throws Exception
+    {
+        File dataDir = Files.createTempDirectory("dermaheaven-http-").toFile();
+        System.setProperty(Persistence.DATA_DIR_PROPERTY, dataDir.getPath());
+        ClinicDataGenerator generator = ClinicDataGenerator.forAppointments(seed, appointments, LocalDate.now());
+        generator.writeAll();
+        patientCount = generator.getPatientCount();
+        System.out.println("Generated " + appointments + " appointments in " + dataDir);
+
+        // Bookings go through as the front desk: per-patient Basic logins would measure the password KDF instead
+        if (apiKey == null) apiKey = UUID.randomUUID().toString();
+        StartupOrchestrator startup = new StartupOrchestrator();
+        ClinicHttpServer server = new ClinicHttpServer(startup.getAppointmentManager(), startup.getDoctorManager(),
+            startup.getPatientManager(), startup.getServiceManager(), startup.getFeedbackManager(),
+            "127.0.0.1", 0, ClinicHttpServer.DEFAULT_MAX_IN_FLIGHT, ClinicHttpServer.DEFAULT_POOL_THREADS, apiKey);
+        server.start();
+        startup.getAppointmentManager().whenLoaded().join();
+        System.out.println("Server on port " + server.getPort() + " (" + server.getExecutorDescription() + ")");
+        return server;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadReferenceData() throws Exception
+    {
+        for (Object doctor : (List<Object>) Json.parse(get("/api/doctors").body()))
+            {
+                doctorNames.add((String) ((Map<String, Object>) doctor).get("name"));
+            }
+        for (Object service : (List<Object>) Json.parse(get("/api/services").body()))
+            {
+                serviceIds.add((String) ((Map<String, Object>) service).get("id"));
+            }
+        if (doctorNames.isEmpty() || serviceIds.isEmpty()) throw new IllegalStateException("Server has no doctors or services.");
+        if (apiKey == null) throw new IllegalStateException("Give the server's staff key with --apiKey to book against it.");
+        // Against an external server, patients are assumed to come from ClinicDataGenerator with the same seed
+        if (patientCount == 0) patientCount = ClinicDataGenerator.forAppointments(seed, appointments).getPatientCount();
+    }
+
+    private List<Recorder> runPhase(int seconds) throws Exception
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicBoolean failed = new AtomicBoolean();
+        ExecutorService clients = Executors.newFixedThreadPool(connections);
+        List<Future<Recorder>> futures = new ArrayList<>();
+        for (int c = 0; c < connections; c++)
+            {
+                long clientSeed = seed * 31 + c;
+                futures.add(clients.submit(() -> runClient(new SplittableRandom(clientSeed), deadline, failed)));
+            }
+        List<Recorder> recorders = new ArrayList<>();
+        for (Future<Recorder> future : futures)
+            {
+                recorders.add(future.get());
+            }
+        clients.shutdown();
+        return recorders;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Recorder runClient(SplittableRandom random, long deadline, AtomicBoolean failed)
+    {
+        Recorder recorder = new Recorder();
+        String today = LocalDate.now().format(Appointment.DATE_FORMAT);
+        while (System.nanoTime() < deadline && !failed.get())
+            {
+                int pick = random.nextInt(100);
+                String patient = ClinicDataGenerator.patientName(random.nextInt(patientCount));
+                String doctor = doctorNames.get(random.nextInt(doctorNames.size()));
+                long start = System.nanoTime();
+                try
+                {
+                    if (pick < 50)
+                        {
+                            HttpResponse<String> response = get("/api/appointments?patient=" + encode(patient));
+                            recorder.record(0, System.nanoTime() - start, response.statusCode());
+                        }
+                    else if (pick < 75)
+                        {
+                            HttpResponse<String> response = get("/api/slots?doctor=" + encode(doctor) + "&from=" + today + "&count=5");
+                            recorder.record(1, System.nanoTime() - start, response.statusCode());
+                        }
+                    else if (pick < 90)
+                        {
+                            HttpResponse<String> slots = get("/api/slots?doctor=" + encode(doctor) + "&from=" + today + "&count=1");
+                            List<Object> free = slots.statusCode() == 200 ? (List<Object>) Json.parse(slots.body()) : Collections.emptyList();
+                            if (free.isEmpty()) continue;
+                            Map<String, Object> slot = (Map<String, Object>) free.get(0);
+
+                            Map<String, Object> booking = new LinkedHashMap<>();
+                            booking.put("patient", patient);
+                            booking.put("doctor", doctor);
+                            booking.put("service", serviceIds.get(random.nextInt(serviceIds.size())));
+                            booking.put("date", slot.get("date"));
+                            booking.put("time", slot.get("time"));
+                            start = System.nanoTime();
+                            HttpResponse<String> response = post("/api/appointments", Json.write(booking));
+                            recorder.record(2, System.nanoTime() - start, response.statusCode());
+                        }
+                    else
+                        {
+                            HttpResponse<String> response = get("/api/doctors");
+                            recorder.record(3, System.nanoTime() - start, response.statusCode());
+                        }
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                catch (Exception e)
+                {
+                    recorder.errors++;
+                    if (recorder.errors == 1) System.out.println("Request failed: " + e);
+                    // The server is gone or refusing connections; stop the run rather than spin
+                    if (recorder.errors > 100) failed.set(true);
+                }
+            }
+        return recorder;
+    }
+
+    private void report(List<Recorder> recorders)
+    {
+        TreeMap<Integer, Integer> statusCounts = new TreeMap<>();
+        int errors = 0;
+        long total = 0;
+        System.out.println();
+        System.out.println(String.format("%-26s %10s %10s %10s %10s %10s", "endpoint", "requests", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (int e = 0; e < ENDPOINTS.length; e++)
+            {
+                LatencyHistogram merged = new LatencyHistogram();
+                for (Recorder r : recorders)
+                    {
+                        merged.add(r.latencies[e]);
+                    }
+                long count = merged.getTotalCount();
+                total += count;
+                if (count == 0) continue;
+                System.out.println(String.format("%-26s %10d %10.2f %10.2f %10.2f %10.2f", ENDPOINTS[e], count,
+                    merged.getValueAtPercentile(50) / 1e6, merged.getValueAtPercentile(99) / 1e6,
+                    merged.getValueAtPercentile(99.9) / 1e6, merged.getMax() / 1e6));
+            }
+        for (Recorder r : recorders)
+            {
+                errors += r.errors;
+                r.statusCounts.forEach((status, count) -> statusCounts.merge(status, count, Integer::sum));
+            }
+        System.out.println();
+        System.out.println(String.format("Throughput: %.0f requests/s over %d s", total / (double) durationSeconds, durationSeconds));
+        System.out.println("Status codes: " + statusCounts + (errors > 0 ? ", transport errors: " + errors : ""));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception
+    {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url + path)).GET();
+        // Appointment lists are not public; the public routes simply ignore the key
+        if (apiKey != null) request.header("X-Api-Key", apiKey);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception
+    {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + path))
+            .header("Content-Type", "application/json")
+            .header("X-Api-Key", apiKey)
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String encode(String value)
+    {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
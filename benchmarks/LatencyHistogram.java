@@ -0,0 +1,152 @@
+import java.io.PrintStream;
+import java.util.Locale;
+
+// Small HdrHistogram-style latency recorder. HdrHistogram itself is not on the classpath and the
+// project has no third-party dependencies, so this keeps its layout: log-linear buckets with two
+// significant decimal digits (every value is held to within 1%), fixed memory however many values
+// are recorded, and add() to merge per-thread histograms after a run. Values are nanoseconds;
+// anything above an hour is counted as an hour. Not thread-safe: give each thread its own and merge.
+public final class LatencyHistogram
+{
+    // 2^8 sub-buckets: bucket width is at most 1/128 of its values, i.e. 2 significant digits
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final long HIGHEST_TRACKABLE = 3_600_000_000_000L;
+
+    private final long[] counts;
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+    private double sum;
+    private double sumOfSquares;
+
+    public LatencyHistogram()
+    {
+        counts = new long[indexOf(HIGHEST_TRACKABLE) + 1];
+    }
+
+    public void record(long nanos)
+    {
+        long value = Math.max(0, Math.min(nanos, HIGHEST_TRACKABLE));
+        counts[indexOf(value)]++;
+        totalCount++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        sum += value;
+        sumOfSquares += (double) value * value;
+    }
+
+    public void add(LatencyHistogram other)
+    {
+        for (int i = 0; i < counts.length; i++)
+            {
+                counts[i] += other.counts[i];
+            }
+        totalCount += other.totalCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        sum += other.sum;
+        sumOfSquares += other.sumOfSquares;
+    }
+
+    public long getTotalCount()
+    {
+        return totalCount;
+    }
+
+    public long getMax()
+    {
+        return max;
+    }
+
+    public double getMean()
+    {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    public double getStdDeviation()
+    {
+        if (totalCount == 0) return 0;
+        double mean = getMean();
+        return Math.sqrt(Math.max(0, sumOfSquares / totalCount - mean * mean));
+    }
+
+    // The value at or below which the given percentage (0-100) of recorded values fall. Like
+    // HdrHistogram this is the highest value equivalent to the bucket that reaches the percentile.
+    public long getValueAtPercentile(double percentile)
+    {
+        if (totalCount == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++)
+            {
+                seen += counts[i];
+                if (seen >= target) return Math.min(max, highestEquivalentValue(i));
+            }
+        return max;
+    }
+
+    // Percentile distribution in HdrHistogram's .hgrm text format (values in milliseconds), so the
+    // output can be fed to HdrHistogram's plotter. Five ticks per halving of the distance to 100%.
+    public void printPercentileDistribution(PrintStream out)
+    {
+        out.println(String.format(Locale.ROOT, "%12s %14s %10s %14s%n", "Value", "Percentile", "TotalCount", "1/(1-Percentile)"));
+        if (totalCount > 0)
+            {
+                double percentile = 0;
+                double halfDistance = 50;
+                while (true)
+                    {
+                        long value = getValueAtPercentile(percentile);
+                        long countAtValue = countAtOrBelow(value);
+                        double fraction = percentile / 100.0;
+                        if (countAtValue >= totalCount)
+                            {
+                                out.println(String.format(Locale.ROOT, "%12.3f %2.12f %10d", max / 1e6, 1.0, totalCount));
+                                break;
+                            }
+                        out.println(String.format(Locale.ROOT, "%12.3f %2.12f %10d %14.2f",
+                            value / 1e6, fraction, countAtValue, 1 / (1 - fraction)));
+                        percentile += halfDistance / 5;
+                        if (percentile >= 100 - halfDistance) halfDistance /= 2;
+                    }
+            }
+        out.println(String.format(Locale.ROOT, "#[Mean    = %12.3f, StdDeviation   = %12.3f]", getMean() / 1e6, getStdDeviation() / 1e6));
+        out.println(String.format(Locale.ROOT, "#[Max     = %12.3f, Total count    = %12d]", max / 1e6, totalCount));
+        out.println(String.format(Locale.ROOT, "#[Buckets = %12d, SubBuckets     = %12d]", bucketCount(), SUB_BUCKET_COUNT));
+    }
+
+    private long countAtOrBelow(long value)
+    {
+        long seen = 0;
+        int last = indexOf(value);
+        for (int i = 0; i <= last; i++)
+            {
+                seen += counts[i];
+            }
+        return seen;
+    }
+
+    // Values below SUB_BUCKET_COUNT map one to one; above that, each doubling of the value gets
+    // SUB_BUCKET_HALF_COUNT slots, each twice as wide as in the doubling before
+    private static int indexOf(long value)
+    {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    private static long highestEquivalentValue(int index)
+    {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long subBucket = index - (long) shift * SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private int bucketCount()
+    {
+        return (counts.length - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+    }
+}
\ No newline at end of file
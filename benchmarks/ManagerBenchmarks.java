@@ -0,0 +1,308 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.regex.Pattern;
+
+// Benchmarks for the manager hot paths on synthetic datasets.
+//
+//   mvn -P benchmarks compile exec:exec -Dbench.args="--sizes=1000,100000,1000000"
+//
+// Options: --sizes=1000,100000,1000000  --costs=10000,100000,310000,600000 (PBKDF2 iterations)
+//          --warmup=3  --iterations=5  --iterationMillis=1000
+//          --only=<regex matched against benchmark names>
+// Datasets come from ClinicDataGenerator and are written to a temporary data directory, never to the clinic's own .ser files.
+public class ManagerBenchmarks
+{
+    private static final int SLOT_MINUTES = ClinicDataGenerator.SLOT_MINUTES;
+    // Availability probes cover 08:00 to 20:00, wider than any generated shift
+    private static final int PROBE_FIRST_MINUTE = 8 * 60;
+    private static final int PROBE_SLOTS = 24;
+    // Distinct accounts cycled through by the login cost benchmarks
+    private static final int LOGIN_ACCOUNTS = 20;
+    private static final String[] SNAPSHOT_FORMATS = {"serialized", "binary"};
+
+    private int[] sizes = {1_000, 100_000, 1_000_000};
+    private int[] costs = {10_000, 100_000, 310_000, PasswordHasher.DEFAULT_ITERATIONS};
+    private int warmup = 3;
+    private int iterations = 5;
+    private long iterationMillis = 1000;
+    private Pattern only = Pattern.compile(".*");
+
+    public static void main(String[] args) throws Exception
+    {
+        ManagerBenchmarks benchmarks = new ManagerBenchmarks();
+        benchmarks.parseArgs(args);
+        benchmarks.runAll();
+    }
+
+    private void parseArgs(String[] args)
+    {
+        for (String arg : args)
+            {
+                for (String option : arg.trim().split("\\s+"))
+                    {
+                        if (option.isEmpty()) continue;
+                        String[] kv = option.split("=", 2);
+                        String value = kv.length > 1 ? kv[1] : "";
+                        switch (kv[0])
+                            {
+                                case "--sizes":
+                                    sizes = Arrays.stream(value.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+                                    break;
+                                case "--costs":
+                                    costs = Arrays.stream(value.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+                                    break;
+                                case "--warmup":
+                                    warmup = Integer.parseInt(value);
+                                    break;
+                                case "--iterations":
+                                    iterations = Integer.parseInt(value);
+                                    break;
+                                case "--iterationMillis":
+                                    iterationMillis = Long.parseLong(value);
+                                    break;
+                                case "--only":
+                                    only = Pattern.compile(value);
+                                    break;
+                                default:
+                                    throw new IllegalArgumentException("Unknown option: " + option);
+                            }
+                    }
+            }
+    }
+
+    private void runAll() throws Exception
+    {
+        MicroBenchmark bench = new MicroBenchmark(warmup, iterations, iterationMillis);
+        MicroBenchmark.printHeader();
+
+        // The service catalog is fixed, so it is measured once rather than per dataset size
+        ServiceManager serviceManager = new ServiceManager();
+        List<Service> services = serviceManager.getAllServices();
+        SplittableRandom serviceRandom = new SplittableRandom(7);
+        run(bench, "ServiceManager.searchServiceById", "-",
+            () -> serviceManager.searchServiceById(services.get(serviceRandom.nextInt(services.size())).getServiceId()));
+
+        for (int cost : costs)
+            {
+                runLoginCost(bench, cost);
+            }
+
+        for (int size : sizes)
+            {
+                runDataset(bench, size);
+            }
+    }
+
+    // Login throughput at one PBKDF2 cost, with and without the verified-login cache
+    private void runLoginCost(MicroBenchmark bench, int cost) throws Exception
+    {
+        if (!only.matcher("PatientManager.attemptLogin").find()) return;
+
+        File dataDir = Files.createTempDirectory("dermaheaven-bench-").toFile();
+        String previousDataDir = System.getProperty(Persistence.DATA_DIR_PROPERTY);
+        String previousCost = System.getProperty(PasswordHasher.ITERATIONS_PROPERTY);
+        String previousTtl = System.getProperty(LoginCache.TTL_PROPERTY);
+        System.setProperty(Persistence.DATA_DIR_PROPERTY, dataDir.getPath());
+        System.setProperty(PasswordHasher.ITERATIONS_PROPERTY, String.valueOf(cost));
+        try
+        {
+            DoctorManager doctorManager = new DoctorManager();
+            AppointmentManager appointmentManager = new AppointmentManager(doctorManager);
+            FeedbackManager feedbackManager = new FeedbackManager();
+
+            // Cache disabled: every login pays the KDF
+            System.setProperty(LoginCache.TTL_PROPERTY, "0");
+            PatientManager uncached = new PatientManager(appointmentManager, feedbackManager, doctorManager);
+            for (int p = 0; p < LOGIN_ACCOUNTS; p++)
+                {
+                    uncached.registerPatient(ClinicDataGenerator.patientName(p), ClinicDataGenerator.PATIENT_PASSWORD, "0300-0000000", "bench@example.com", 30, "Female");
+                }
+            int[] next = {0};
+            bench.runThroughput("PatientManager.attemptLogin (uncached)", String.valueOf(cost),
+                () -> uncached.attemptLogin(ClinicDataGenerator.patientName(next[0]++ % LOGIN_ACCOUNTS), ClinicDataGenerator.PATIENT_PASSWORD));
+
+            // Cache enabled: repeated logins by the same accounts skip the KDF
+            System.clearProperty(LoginCache.TTL_PROPERTY);
+            PatientManager cached = new PatientManager(appointmentManager, feedbackManager, doctorManager);
+            for (int p = 0; p < LOGIN_ACCOUNTS; p++)
+                {
+                    cached.attemptLogin(ClinicDataGenerator.patientName(p), ClinicDataGenerator.PATIENT_PASSWORD);
+                }
+            bench.runThroughput("PatientManager.attemptLogin (cached)", String.valueOf(cost),
+                () -> cached.attemptLogin(ClinicDataGenerator.patientName(next[0]++ % LOGIN_ACCOUNTS), ClinicDataGenerator.PATIENT_PASSWORD));
+        }
+        finally
+        {
+            restoreProperty(Persistence.DATA_DIR_PROPERTY, previousDataDir);
+            restoreProperty(PasswordHasher.ITERATIONS_PROPERTY, previousCost);
+            restoreProperty(LoginCache.TTL_PROPERTY, previousTtl);
+            deleteRecursively(dataDir);
+        }
+    }
+
+    private static void restoreProperty(String key, String previous)
+    {
+        if (previous == null)
+            {
+                System.clearProperty(key);
+            }
+        else
+            {
+                System.setProperty(key, previous);
+            }
+    }
+
+    private void run(MicroBenchmark bench, String name, String param, MicroBenchmark.Operation operation) throws Exception
+    {
+        if (only.matcher(name).find())
+            {
+                bench.run(name, param, operation);
+            }
+    }
+
+    private void runDataset(MicroBenchmark bench, int size) throws Exception
+    {
+        File dataDir = Files.createTempDirectory("dermaheaven-bench-").toFile();
+        String previousDataDir = System.getProperty(Persistence.DATA_DIR_PROPERTY);
+        String previousFormat = System.getProperty(Persistence.FORMAT_PROPERTY);
+        System.setProperty(Persistence.DATA_DIR_PROPERTY, dataDir.getPath());
+        try
+        {
+            ClinicDataGenerator generator = ClinicDataGenerator.forAppointments(42, size);
+            generator.writeAll();
+
+            DoctorManager doctorManager = new DoctorManager();
+            AppointmentManager appointmentManager = new AppointmentManager(doctorManager);
+            FeedbackManager feedbackManager = new FeedbackManager();
+            PatientManager patientManager = new PatientManager(appointmentManager, feedbackManager, doctorManager);
+            ServiceManager serviceManager = new ServiceManager();
+
+            List<Doctor> doctors = doctorManager.getAllDoctors();
+            LocalDate firstDay = generator.getStartDate();
+            int bookedDays = (int) ChronoUnit.DAYS.between(firstDay, generator.getLastAppointmentDate()) + 1;
+            String param = String.valueOf(size);
+            SplittableRandom random = new SplittableRandom(42);
+
+            // Random probes across the generated range, so both taken and free slots are hit
+            run(bench, "AppointmentManager.checkAvailability", param, () ->
+                {
+                    Doctor doctor = doctors.get(random.nextInt(doctors.size()));
+                    String date = firstDay.plusDays(random.nextInt(bookedDays)).format(Appointment.DATE_FORMAT);
+                    return appointmentManager.checkAvailability(doctor, date, slotTime(PROBE_FIRST_MINUTE + SLOT_MINUTES * random.nextInt(PROBE_SLOTS)));
+                });
+
+            // Books strictly new slots, after the generated range, so every call succeeds
+            BookingCursor cursor = new BookingCursor(doctors, generator.getLastAppointmentDate().plusDays(1));
+            Service bookedService = serviceManager.searchServiceById("S01");
+            run(bench, "AppointmentManager.book", param, () ->
+                {
+                    cursor.advance();
+                    return appointmentManager.book("Bench Patient", cursor.doctor.getDoctorName(), bookedService,
+                        cursor.date.format(Appointment.DATE_FORMAT), slotTime(cursor.minute));
+                });
+
+            run(bench, "AppointmentManager.getAppointmentsByDoctor", param,
+                () -> appointmentManager.getAppointmentsByDoctor(doctors.get(random.nextInt(doctors.size())).getDoctorName(), true));
+
+            run(bench, "PatientManager.attemptLogin", param,
+                () -> patientManager.attemptLogin(ClinicDataGenerator.patientName(random.nextInt(generator.getPatientCount())), ClinicDataGenerator.PATIENT_PASSWORD));
+
+            run(bench, "FeedbackManager.getAllFeedbacks", param, feedbackManager::getAllFeedbacks);
+
+            run(bench, "FeedbackManager.getDoctorAverageRating", param,
+                () -> feedbackManager.getDoctorAverageRating(doctors.get(random.nextInt(doctors.size())).getDoctorName()));
+
+            // The same appointments through Java serialization and through the binary codecs
+            ArrayList<Appointment> appointments = new ArrayList<>(appointmentManager.getAllAppointments());
+            for (String format : SNAPSHOT_FORMATS)
+                {
+                    System.setProperty(Persistence.FORMAT_PROPERTY, format);
+                    String file = "bench_roundtrip_" + format + ".ser";
+                    run(bench, "Persistence.save (" + format + ")", param, () ->
+                        {
+                            Persistence.save(appointments, file);
+                            return appointments;
+                        });
+
+                    Persistence.save(appointments, file);
+                    run(bench, "Persistence.load (" + format + ")", param, () -> Persistence.load(file));
+                }
+        }
+        finally
+        {
+            restoreProperty(Persistence.DATA_DIR_PROPERTY, previousDataDir);
+            restoreProperty(Persistence.FORMAT_PROPERTY, previousFormat);
+            deleteRecursively(dataDir);
+        }
+    }
+
+    private static String slotTime(int minute)
+    {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+
+    private static void deleteRecursively(File file) throws IOException
+    {
+        File[] children = file.listFiles();
+        if (children != null)
+            {
+                for (File child : children)
+                    {
+                        deleteRecursively(child);
+                    }
+            }
+        Files.deleteIfExists(file.toPath());
+    }
+
+    // Visits every working slot of every doctor, day by day, from a start date onwards
+    private static final class BookingCursor
+    {
+        private final List<Doctor> doctors;
+        private LocalDate date;
+        private int doctorIndex = -1;
+        private int range;
+        private Doctor doctor;
+        private int minute;
+
+        BookingCursor(List<Doctor> doctors, LocalDate startDate)
+        {
+            this.doctors = doctors;
+            this.date = startDate;
+        }
+
+        void advance()
+        {
+            if (doctor != null)
+                {
+                    minute += SLOT_MINUTES;
+                    if (minute + SLOT_MINUTES <= doctor.getSchedule().getRangeEnd(range)) return;
+                    if (++range < doctor.getSchedule().getRangeCount())
+                        {
+                            minute = doctor.getSchedule().getRangeStart(range);
+                            return;
+                        }
+                }
+
+            // Next doctor working on this date, moving on to the following day when all are done
+            while (true)
+                {
+                    if (++doctorIndex == doctors.size())
+                        {
+                            doctorIndex = 0;
+                            date = date.plusDays(1);
+                        }
+                    doctor = doctors.get(doctorIndex);
+                    if (doctor.getSchedule().worksOn(date.getDayOfWeek()))
+                        {
+                            range = 0;
+                            minute = doctor.getSchedule().getRangeStart(0);
+                            return;
+                        }
+                }
+        }
+    }
+}
\ No newline at end of file
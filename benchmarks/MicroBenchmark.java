@@ -0,0 +1,105 @@
+import java.util.Locale;
+
+// Small JMH-style measurement loop. JMH itself cannot be used here because it refuses
+// benchmark classes in the default package, which is where every clinic class lives.
+// Each benchmark gets warmup iterations, then timed measurement iterations; the score is the
+// mean time per operation (or operations per second) with a 99.9% confidence interval, in JMH's
+// table layout.
+public final class MicroBenchmark
+{
+    @FunctionalInterface
+    public interface Operation
+    {
+        Object run() throws Exception;
+    }
+
+    // Results are written here so the JIT cannot discard the measured work
+    private static volatile Object sink;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+
+    public MicroBenchmark(int warmupIterations, int measurementIterations, long iterationMillis)
+    {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    public static void printHeader()
+    {
+        System.out.println(String.format(Locale.ROOT, "%-50s %9s  %5s  %3s  %16s    %12s  %5s",
+            "Benchmark", "(param)", "Mode", "Cnt", "Score", "Error", "Units"));
+    }
+
+    // Average time per operation (JMH Mode.AverageTime)
+    public void run(String name, String param, Operation operation) throws Exception
+    {
+        report(name, param, "avgt", measure(operation), "ns/op");
+    }
+
+    // Operations per second (JMH Mode.Throughput)
+    public void runThroughput(String name, String param, Operation operation) throws Exception
+    {
+        double[] scores = measure(operation);
+        for (int i = 0; i < scores.length; i++)
+            {
+                scores[i] = 1e9 / scores[i];
+            }
+        report(name, param, "thrpt", scores, "ops/s");
+    }
+
+    // Warmup, then one ns/op score per measurement iteration
+    private double[] measure(Operation operation) throws Exception
+    {
+        for (int i = 0; i < warmupIterations; i++)
+            {
+                iteration(operation);
+            }
+
+        double[] scores = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++)
+            {
+                scores[i] = iteration(operation);
+            }
+        return scores;
+    }
+
+    private static void report(String name, String param, String mode, double[] scores, String unit)
+    {
+        double mean = 0;
+        for (double score : scores)
+            {
+                mean += score;
+            }
+        mean /= scores.length;
+
+        double variance = 0;
+        for (double score : scores)
+            {
+                variance += (score - mean) * (score - mean);
+            }
+        double error = scores.length > 1 ? 3.291 * Math.sqrt(variance / (scores.length - 1)) / Math.sqrt(scores.length) : Double.NaN;
+
+        System.out.println(String.format(Locale.ROOT, "%-50s %9s  %5s  %3d  %16.3f +- %12.3f  %5s",
+            name, param, mode, scores.length, mean, error, unit));
+    }
+
+    // Runs the operation until the iteration time is used up (at least once); returns ns/op
+    private double iteration(Operation operation) throws Exception
+    {
+        long start = System.nanoTime();
+        long deadline = start + iterationNanos;
+        long ops = 0;
+        long now;
+        do
+            {
+                sink = operation.run();
+                ops++;
+                now = System.nanoTime();
+            }
+        while (now < deadline);
+        return (double) (now - start) / ops;
+    }
+}
\ No newline at end of file